@@ -0,0 +1,58 @@
+// Test de charge de l'API clients (k6 : https://k6.io).
+//
+// Comparaison threads de plateforme / threads virtuels : lancer l'application une fois avec
+// spring.threads.virtual.enabled=false, une fois avec true (Java 21), puis dans chaque cas :
+//   k6 run -e BASE_URL=http://localhost:8081 load-tests/clients.js
+// et comparer les débits (http_reqs), latences (http_req_duration p95/p99) et taux de 503
+// (status_503). La base doit contenir au moins MAX_ID clients.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const MAX_ID = parseInt(__ENV.MAX_ID || '100000', 10);
+const PAGE_SIZE = 100;
+
+const status503 = new Counter('status_503');
+
+export const options = {
+    scenarios: {
+        lectures: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '1m', target: 1000 },
+                { duration: '1m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.05'],
+        http_req_duration: ['p(95)<500'],
+    },
+};
+
+function randomId() {
+    return 1 + Math.floor(Math.random() * MAX_ID);
+}
+
+export default function () {
+    const roll = Math.random();
+    let res;
+    if (roll < 0.6) {
+        // Lecture unitaire : cache en cas de succès, sinon une requête par clé primaire.
+        res = http.get(`${BASE_URL}/v1/api/clients/${randomId()}`, { tags: { name: 'client' } });
+    } else if (roll < 0.9) {
+        // Page par curseur : toujours une requête en base.
+        res = http.get(`${BASE_URL}/v1/api/clients?after=${randomId()}&size=${PAGE_SIZE}`,
+            { tags: { name: 'page' } });
+    } else {
+        res = http.get(`${BASE_URL}/v1/api/clients/average-salary-by-profession`, { tags: { name: 'average' } });
+    }
+    if (res.status === 503) {
+        status503.add(1);
+    }
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
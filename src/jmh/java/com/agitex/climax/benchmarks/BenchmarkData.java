@@ -0,0 +1,70 @@
+package com.agitex.climax.benchmarks;
+
+import com.agitex.climax.dtos.ClientDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jeux de données communs aux benchmarks.
+ */
+final class BenchmarkData {
+
+    static final String[] PROFESSIONS = {"informaticien", "comptable", "medecin", "enseignant", "boulanger"};
+
+    private static final int AGE_BASE = 20;
+    private static final int AGE_RANGE = 50;
+    private static final int SALARY_BASE = 1000;
+    private static final int SALARY_RANGE = 9000;
+    private static final int CENTS = 100;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param count le nombre de clients
+     * @return des clients sans identifiant, tels que lus dans un fichier d'import
+     */
+    static List<ClientDTO> clients(final int count) {
+        List<ClientDTO> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            clients.add(new ClientDTO(null, "Nom" + i, "Prenom" + i, PROFESSIONS[i % PROFESSIONS.length],
+                    AGE_BASE + i % AGE_RANGE, BigDecimal.valueOf((long) SALARY_BASE * CENTS + i % SALARY_RANGE, 2)));
+        }
+        return clients;
+    }
+
+    /**
+     * @param clients les clients
+     * @return leur représentation CSV ({@code nom,prenom,age,profession,salaire})
+     */
+    static String csv(final List<ClientDTO> clients) {
+        StringBuilder sb = new StringBuilder();
+        for (ClientDTO c : clients) {
+            sb.append(c.getNom()).append(',').append(c.getPrenom()).append(',').append(c.getAge()).append(',')
+                    .append(c.getProfession()).append(',').append(c.getSalaire().toPlainString()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param clients les clients
+     * @return les seuls champs d'un fichier d'import JSON ou XML, prêts à être sérialisés
+     */
+    static List<Map<String, Object>> records(final List<ClientDTO> clients) {
+        List<Map<String, Object>> records = new ArrayList<>(clients.size());
+        for (ClientDTO c : clients) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("nom", c.getNom());
+            record.put("prenom", c.getPrenom());
+            record.put("age", c.getAge());
+            record.put("profession", c.getProfession());
+            record.put("salaire", c.getSalaire());
+            records.add(record);
+        }
+        return records;
+    }
+}
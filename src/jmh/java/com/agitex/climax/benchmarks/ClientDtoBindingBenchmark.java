@@ -0,0 +1,73 @@
+package com.agitex.climax.benchmarks;
+
+import com.agitex.climax.dtos.ClientDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Désérialisation de listes de {@link ClientDTO} en JSON et en XML : liaison de la liste entière
+ * comparée à la lecture élément par élément utilisée par l'import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientDtoBindingBenchmark {
+
+    private static final TypeReference<List<ClientDTO>> CLIENT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10000"})
+    private int clients;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final XmlMapper xmlMapper = new XmlMapper();
+    private byte[] json;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<ClientDTO> data = BenchmarkData.clients(clients);
+        json = jsonMapper.writeValueAsBytes(BenchmarkData.records(data));
+        xml = xmlMapper.writer().withRootName("root").writeValueAsBytes(BenchmarkData.records(data));
+    }
+
+    @Benchmark
+    public List<ClientDTO> jsonList() throws IOException {
+        return jsonMapper.readValue(json, CLIENT_LIST);
+    }
+
+    @Benchmark
+    public void jsonStreaming(final Blackhole blackhole) throws IOException {
+        try (MappingIterator<ClientDTO> it = jsonMapper.readerFor(ClientDTO.class).readValues(json)) {
+            while (it.hasNext()) {
+                blackhole.consume(it.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ClientDTO> xmlList() throws IOException {
+        return xmlMapper.readValue(xml, CLIENT_LIST);
+    }
+}
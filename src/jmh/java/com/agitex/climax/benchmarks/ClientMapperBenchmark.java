@@ -0,0 +1,51 @@
+package com.agitex.climax.benchmarks;
+
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.mapper.ClientMapper;
+import com.agitex.climax.mapper.ClientMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions MapStruct {@link ClientMapper#toDto(Client)} et {@link ClientMapper#toEntity(ClientDTO)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMapperBenchmark {
+
+    private final ClientMapper mapper = new ClientMapperImpl();
+    private ClientDTO dto;
+    private Client entity;
+
+    @Setup
+    public void setUp() {
+        dto = BenchmarkData.clients(1).get(0);
+        dto.setId(1L);
+        entity = mapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public ClientDTO toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public Client toEntity() {
+        return mapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,134 @@
+package com.agitex.climax.benchmarks;
+
+import com.agitex.climax.ClimaxApplication;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.dtos.ProfessionSalaireDTO;
+import com.agitex.climax.dtos.ProfessionSalaryTotals;
+import com.agitex.climax.mapper.ClientMapper;
+import com.agitex.climax.repositories.ClientRepository;
+import com.agitex.climax.services.ClientService;
+import com.agitex.climax.services.SalaryAggregate;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes de {@link ClientService} sur une base PostgreSQL embarquée contenant {@code clients} clients.
+ * <p>
+ * Le contexte Spring complet (sans serveur web) est démarré sur cette base ; le schéma est créé par
+ * les migrations Flyway puis rempli par une seule instruction SQL, avant le calcul des totaux de salaires.
+ * Les lectures par vues ({@link ClientView}) se comparent au chemin entité + mapper ({@code *Entities}) ;
+ * lancer avec {@code -prof gc} pour l'allocation par opération.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientServiceBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000"})
+    private int clients;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private ClientRepository clientRepository;
+    private ClientMapper clientMapper;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(ClimaxApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        context.getBean(JdbcTemplate.class).update("INSERT INTO clients (id, nom, prenom, age, profession, salaire,"
+                + " created_by, created_date, last_modified_by, last_modified_date, deleted)"
+                + " SELECT i, 'Nom' || i, 'Prenom' || i, 20 + i % 50, (ARRAY['informaticien', 'comptable',"
+                + " 'medecin', 'enseignant', 'boulanger'])[1 + i % 5], 1000 + (i % 9000) / 100.0,"
+                + " 'system', now(), 'system', now(), false FROM generate_series(1, ?) AS i", clients);
+        context.getBean(SalaryAggregate.class).rebuild();
+        clientService = context.getBean(ClientService.class);
+        clientRepository = context.getBean(ClientRepository.class);
+        clientMapper = context.getBean(ClientMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<ClientView> findAll() {
+        return clientService.findAll();
+    }
+
+    /**
+     * Référence : entités gérées puis copiées en {@link ClientDTO} par le mapper, comme avant les vues.
+     *
+     * @return les clients
+     */
+    @Benchmark
+    public List<ClientDTO> findAllEntities() {
+        return readOnly.execute(status -> clientMapper.toDto(clientRepository.findAllByDeletedFalse()));
+    }
+
+    @Benchmark
+    public Slice<ClientView> findPage() {
+        return clientService.findPage((long) clients / 2, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void streamAll(final Blackhole blackhole) {
+        clientService.streamAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<ProfessionSalaireDTO> averageSalaireByProfession() {
+        return clientService.averageSalaireByProfession();
+    }
+
+    /**
+     * Référence : le calcul complet par {@code GROUP BY}, que {@link #averageSalaireByProfession()} évite.
+     *
+     * @return les totaux par profession
+     */
+    @Benchmark
+    public List<ProfessionSalaryTotals> salaryTotalsQuery() {
+        return clientRepository.findSalaryTotalsByProfession();
+    }
+}
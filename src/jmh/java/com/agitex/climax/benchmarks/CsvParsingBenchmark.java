@@ -0,0 +1,103 @@
+package com.agitex.climax.benchmarks;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.utils.ClientCsvParser;
+import com.agitex.climax.utils.Constant;
+import com.agitex.climax.utils.CsvTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analyse d'un fichier CSV de clients : découpage historique ({@code String.split}, {@code trim},
+ * {@code Double.parseDouble}) comparé au {@link CsvTokenizer}.
+ * <p>
+ * Lancement : {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CsvParsingBenchmark -prof gc"} ;
+ * le profileur {@code gc} donne les octets alloués par opération.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    private static final String[] PROFESSIONS = {"informaticien", "comptable", "medecin", "enseignant"};
+
+    @Param({"10000"})
+    private int lines;
+
+    private byte[] content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("Nom").append(i).append(", Prenom").append(i).append(", ").append(20 + i % 50)
+                    .append(", ").append(PROFESSIONS[i % PROFESSIONS.length])
+                    .append(", ").append(1000 + i % 9000).append('.').append(i % 100).append('\n');
+        }
+        content = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void legacySplit(final Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split(",");
+                if (data.length >= Constant.LENGTH_INDEX) {
+                    blackhole.consume(createClientFromCsvData(data));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(final Blackhole blackhole) throws IOException {
+        ClientCsvParser parser = new ClientCsvParser();
+        CsvTokenizer.readLines(new ByteArrayInputStream(content),
+                (buffer, start, end) -> blackhole.consume(parser.parse(buffer, start, end)));
+    }
+
+    /**
+     * Conversion telle qu'elle était faite avant l'introduction du {@link CsvTokenizer}.
+     */
+    private static Client createClientFromCsvData(final String[] data) {
+        Client client = new Client();
+        client.setNom(data[Constant.NOM_INDEX]);
+        client.setPrenom(data[Constant.PRENOM_INDEX]);
+        String ageStr = data[Constant.AGE_INDEX].trim();
+        if (!ageStr.isEmpty()) {
+            client.setAge(Integer.parseInt(ageStr));
+        }
+        String profession = data[Constant.PROFESSION_INDEX].trim();
+        if (!profession.isEmpty()) {
+            client.setProfession(profession);
+        }
+        String salaireStr = data[Constant.SALAIRE_INDEX].trim();
+        if (!salaireStr.isEmpty()) {
+            client.setSalaire(BigDecimal.valueOf(Double.parseDouble(salaireStr)));
+        }
+        return client;
+    }
+}
@@ -0,0 +1,97 @@
+package com.agitex.climax.benchmarks;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ImportReportDTO;
+import com.agitex.climax.enums.ImportMode;
+import com.agitex.climax.repositories.ClientRepository;
+import com.agitex.climax.services.ClientCache;
+import com.agitex.climax.services.ClientEventOutbox;
+import com.agitex.climax.services.ClientUpsertLoader;
+import com.agitex.climax.services.FichierService;
+import com.agitex.climax.services.ImportMetrics;
+import com.agitex.climax.services.ImportProgress;
+import com.agitex.climax.services.ParallelCsvParser;
+import com.agitex.climax.services.SalaryAggregate;
+import com.agitex.climax.utils.NaturalKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture d'un fichier d'import par {@link FichierService}, pour chaque format, la persistance étant
+ * neutralisée : seuls la lecture, la conversion et la constitution des lots sont mesurées.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileImportBenchmark {
+
+    @Param({"csv", "json", "xml"})
+    private String format;
+
+    @Param({"10000"})
+    private int clients;
+
+    private byte[] content;
+    private ParallelCsvParser parallelCsvParser;
+    private FichierService fichierService;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<ClientDTO> data = BenchmarkData.clients(clients);
+        content = switch (format) {
+            case "csv" -> BenchmarkData.csv(data).getBytes(StandardCharsets.UTF_8);
+            case "json" -> new ObjectMapper().writeValueAsBytes(BenchmarkData.records(data));
+            case "xml" -> new XmlMapper().writer().withRootName("root")
+                    .writeValueAsBytes(BenchmarkData.records(data));
+            default -> throw new IllegalArgumentException(format);
+        };
+        ClientRepository repository = Mockito.mock(ClientRepository.class);
+        ImportProperties properties = new ImportProperties();
+        parallelCsvParser = new ParallelCsvParser(properties);
+        ClientUpsertLoader upsertLoader = Mockito.mock(ClientUpsertLoader.class);
+        Mockito.when(upsertLoader.absent(Mockito.anyList())).thenAnswer(AdditionalAnswers.returnsFirstArg());
+        fichierService = new FichierService(repository, properties, Mockito.mock(EntityManager.class), null,
+                upsertLoader, parallelCsvParser,
+                new SalaryAggregate(repository, Mockito.mock(PlatformTransactionManager.class)),
+                new ImportMetrics(new SimpleMeterRegistry()), Mockito.mock(ClientEventOutbox.class),
+                Mockito.mock(ClientCache.class), new NaturalKey(properties.getNaturalKey()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelCsvParser.shutdown();
+    }
+
+    @Benchmark
+    public ImportReportDTO importFile() throws IOException {
+        return fichierService.importFile("clients." + format, new ByteArrayInputStream(content),
+                ImportMode.STANDARD, new ImportProgress());
+    }
+}
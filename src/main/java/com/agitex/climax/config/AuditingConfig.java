@@ -0,0 +1,29 @@
+package com.agitex.climax.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+
+/**
+ * Classe de configuration de l'audit JPA : les dates et auteurs de création et de modification des entités
+ * sont renseignés par {@link org.springframework.data.jpa.domain.support.AuditingEntityListener} à chaque
+ * écriture, et font donc foi pour la synchronisation incrémentale ({@code GET /clients/changes}).
+ */
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditorAware")
+public class AuditingConfig {
+
+    /**
+     * Auteur des modifications, l'application n'ayant pas d'utilisateurs authentifiés ; les imports JDBC
+     * écrivent le même auteur.
+     *
+     * @return l'auteur courant
+     */
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        return () -> Optional.of("system");
+    }
+}
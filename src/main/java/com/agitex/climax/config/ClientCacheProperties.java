@@ -0,0 +1,25 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriétés du cache de lecture des clients (préfixe {@code climax.cache.client}).
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.cache.client")
+public class ClientCacheProperties {
+
+    /**
+     * Nombre maximal de clients conservés ; au-delà les entrées les moins utiles sont évincées.
+     */
+    private long maximumSize = Constant.DEFAULT_CLIENT_CACHE_SIZE;
+
+    /**
+     * Durée de vie d'une entrée après son chargement.
+     */
+    private Duration timeToLive = Duration.ofMinutes(Constant.DEFAULT_CLIENT_CACHE_TTL_MINUTES);
+}
@@ -0,0 +1,26 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriétés de la synchronisation incrémentale des clients (préfixe {@code climax.changes}).
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.changes")
+public class ClientChangesProperties {
+
+    /**
+     * Marge retranchée au filigrane renvoyé, en deçà du début de la plus ancienne transaction d'écriture en
+     * cours. Les dates de modification sont prises sur l'horloge de la JVM qui écrit, avant l'écriture, alors
+     * que l'horizon est lu sur celle de la base ({@code now()}, {@code xact_start}). La marge doit donc couvrir
+     * le retard de l'horloge de chaque instance sur celle de la base, plus le délai entre la date et la
+     * première écriture de la transaction : une modification datée avant un filigrane déjà renvoyé n'est
+     * jamais transmise. Une horloge en avance ne fait que retarder la transmission. Les horloges des
+     * instances et de la base doivent être synchronisées (NTP) bien en deçà de la marge.
+     */
+    private Duration safetyMargin = Duration.ofSeconds(Constant.DEFAULT_CHANGES_SAFETY_MARGIN_SECONDS);
+}
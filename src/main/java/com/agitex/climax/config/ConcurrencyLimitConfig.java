@@ -0,0 +1,105 @@
+package com.agitex.climax.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe de configuration de la limitation des requêtes API traitées simultanément, active avec les threads
+ * virtuels seulement : avec des threads de plateforme, le pool de Tomcat borne déjà ce nombre.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnExpression("${climax.concurrency.max-in-flight:1} > 0")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Lectures du flux des modifications : {@code /clients/events} et {@code /clients/events/stream}.
+     */
+    static final String EVENTS_PATH = "/v1/api/clients/events";
+
+    /**
+     * Téléchargements de tous les clients, en NDJSON ou dans un format d'import.
+     */
+    static final List<String> EXPORT_PATHS = List.of("/v1/api/clients/stream", "/v1/api/clients/export");
+
+    /**
+     * Envois de fichiers à importer, bornés par la file des imports.
+     */
+    static final List<String> UPLOAD_PATHS = List.of("/v1/api/clients/upload-save-clients",
+            "/v1/api/clients/upload-batch");
+
+    /**
+     * Enregistrement du filtre de limitation sur les endpoints de l'API, hors flux des modifications,
+     * téléchargements et envois de fichiers.
+     *
+     * @param properties    la configuration de la limitation
+     * @param meterRegistry le registre des métriques
+     * @return l'enregistrement du filtre
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            final ConcurrencyLimitProperties properties, final MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter("api", properties.getMaxInFlight(), properties.getAcquireTimeout(),
+                        apiExcludedPaths(), meterRegistry));
+        registration.addUrlPatterns("/v1/api/*");
+        return registration;
+    }
+
+    /**
+     * Enregistrement du filtre de limitation des téléchargements, qui tiennent chacun une connexion pendant
+     * toute la réponse.
+     *
+     * @param properties    la configuration de la limitation
+     * @param meterRegistry le registre des métriques
+     * @return l'enregistrement du filtre
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> exportLimitFilter(
+            final ConcurrencyLimitProperties properties, final MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter("exports", properties.getMaxExports(),
+                        properties.getAcquireTimeout(), List.of(), meterRegistry));
+        registration.setUrlPatterns(EXPORT_PATHS);
+        return registration;
+    }
+
+    /**
+     * Enregistrement du filtre de limitation des lectures du flux des modifications.
+     *
+     * @param properties    la configuration de la limitation
+     * @param meterRegistry le registre des métriques
+     * @return l'enregistrement du filtre
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> eventConsumerLimitFilter(
+            final ConcurrencyLimitProperties properties, final MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter("events", properties.getMaxEventConsumers(),
+                        properties.getAcquireTimeout(), List.of(), meterRegistry));
+        registration.addUrlPatterns(EVENTS_PATH, EVENTS_PATH + "/stream");
+        return registration;
+    }
+
+    /**
+     * Chemins exclus de la limite des requêtes API : lectures du flux des modifications, limitées à part,
+     * téléchargements, limités à part, et envois de fichiers, dont la durée dépend du client.
+     *
+     * @return les préfixes des chemins exclus
+     */
+    static List<String> apiExcludedPaths() {
+        List<String> paths = new ArrayList<>();
+        paths.add(EVENTS_PATH);
+        paths.addAll(EXPORT_PATHS);
+        paths.addAll(UPLOAD_PATHS);
+        return paths;
+    }
+}
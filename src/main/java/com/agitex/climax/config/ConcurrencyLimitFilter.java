@@ -0,0 +1,141 @@
+package com.agitex.climax.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limite le nombre de requêtes API traitées simultanément.
+ * <p>
+ * Avec des threads de plateforme, le pool de Tomcat borne déjà ce nombre ; avec des threads virtuels
+ * il n'y a plus de borne, et un afflux de requêtes se traduirait par autant d'attentes sur le pool de
+ * connexions JDBC, puis par des expirations en cascade. Au-delà de {@code climax.concurrency.max-in-flight}
+ * requêtes, une nouvelle requête attend une place au plus {@code climax.concurrency.acquire-timeout},
+ * puis reçoit une réponse 503 avec un en-tête {@code Retry-After}. Une requête asynchrone (export en flux)
+ * conserve sa place jusqu'à la fin de la réponse.
+ * <p>
+ * Les lectures du flux des modifications, en attente la plupart du temps, occuperaient ainsi leur place
+ * pendant toute l'attente : elles sont exclues de cette limite et bornées par la leur. De même pour les
+ * téléchargements de tous les clients, longs ; les envois de fichiers, dont la durée dépend du débit du
+ * client et non de la base, sont exclus et bornés par la file des imports.
+ */
+@Slf4j
+public final class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final List<String> excludedPaths;
+    private final Counter rejected;
+
+    /**
+     * Instantiates a new Concurrency limit filter.
+     *
+     * @param limit          the limit name, tagging its metrics
+     * @param maxInFlight    the maximum number of requests in progress
+     * @param acquireTimeout the maximum wait for a free place
+     * @param excludedPaths  the path prefixes of the requests left out of this limit
+     * @param meterRegistry  the registry receiving the in-flight gauge and the rejection counter
+     */
+    public ConcurrencyLimitFilter(final String limit, final int maxInFlight, final Duration acquireTimeout,
+                                  final List<String> excludedPaths, final MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.excludedPaths = List.copyOf(excludedPaths);
+        Gauge.builder("climax.http.in.flight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Requêtes API en cours de traitement")
+                .tag("limit", limit)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("climax.http.rejected")
+                .description("Requêtes API refusées faute de place (503)")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.increment();
+            log.warn("Requête refusée, trop de requêtes en cours : {} {}", request.getMethod(),
+                    request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Trop de requêtes en cours");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Libère la place d'une requête asynchrone à la fin de sa réponse.
+     *
+     * @param release la libération de la place
+     */
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriétés de la limitation des requêtes API traitées simultanément (préfixe {@code climax.concurrency}),
+ * appliquée avec les threads virtuels seulement.
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Nombre maximal de requêtes API en cours de traitement, par défaut la taille du pool de connexions ;
+     * 0 désactive la limitation.
+     */
+    private int maxInFlight = Constant.DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
+    /**
+     * Nombre maximal de lectures du flux des modifications (attente longue et Server-Sent Events) ouvertes
+     * simultanément, décomptées à part : en attente, elles ne tiennent ni thread ni connexion.
+     */
+    private int maxEventConsumers = Constant.DEFAULT_MAX_EVENT_CONSUMERS;
+
+    /**
+     * Nombre maximal de téléchargements de tous les clients ({@code /clients/stream}, {@code /clients/export})
+     * simultanés, décomptés à part : chacun tient une connexion jusqu'à la fin de la réponse.
+     */
+    private int maxExports = Constant.DEFAULT_MAX_EXPORTS;
+
+    /**
+     * Attente maximale d'une place libre avant de répondre 503.
+     */
+    private Duration acquireTimeout = Duration.ofMillis(Constant.DEFAULT_ACQUIRE_TIMEOUT_MS);
+}
@@ -0,0 +1,46 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriétés du flux des événements clients (préfixe {@code climax.events}).
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.events")
+public class EventFeedProperties {
+
+    /**
+     * Nombre maximal d'événements renvoyés par lecture (attente longue ou message SSE).
+     */
+    private int maxBatchSize = Constant.DEFAULT_EVENT_BATCH_SIZE;
+
+    /**
+     * Attente maximale d'une lecture en attente longue sans nouvel événement.
+     */
+    private Duration maxWait = Duration.ofSeconds(Constant.DEFAULT_EVENT_MAX_WAIT_SECONDS);
+
+    /**
+     * Intervalle de relecture des flux en attente. Les écritures de cette instance réveillent les lecteurs dès
+     * leur validation ; la relecture périodique couvre celles des autres instances.
+     */
+    private Duration recheckInterval = Duration.ofSeconds(1);
+
+    /**
+     * Durée d'une connexion SSE, au terme de laquelle le client se reconnecte avec {@code Last-Event-ID}.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(Constant.DEFAULT_EVENT_STREAM_TIMEOUT_MINUTES);
+
+    /**
+     * Durée de conservation des événements ; un consommateur arrêté plus longtemps doit refaire un export.
+     */
+    private Duration retention = Duration.ofDays(Constant.DEFAULT_EVENT_RETENTION_DAYS);
+
+    /**
+     * Intervalle de la purge des événements expirés.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
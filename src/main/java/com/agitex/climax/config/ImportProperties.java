@@ -0,0 +1,124 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.enums.ClientField;
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Propriétés de configuration de l'import des fichiers clients (préfixe {@code climax.import}).
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.import")
+public class ImportProperties {
+
+    /**
+     * Nombre de clients persistés par lot JDBC avant flush et vidage du contexte de persistance.
+     */
+    private int batchSize = Constant.DEFAULT_BATCH_SIZE;
+
+    /**
+     * Nombre de clients envoyés par commande {@code COPY} en mode {@code COPY}.
+     */
+    private int copyChunkSize = Constant.DEFAULT_COPY_CHUNK_SIZE;
+
+    /**
+     * Nombre maximal d'imports exécutés simultanément.
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * Nombre maximal d'imports en attente d'un worker ; au-delà les dépôts sont refusés (503).
+     */
+    private int queueCapacity = Constant.DEFAULT_IMPORT_QUEUE_CAPACITY;
+
+    /**
+     * Répertoire de dépôt des fichiers en attente d'import (répertoire temporaire du système par défaut).
+     */
+    private String spoolDirectory;
+
+    /**
+     * Durée pendant laquelle une tâche terminée reste consultable.
+     */
+    private Duration jobRetention = Duration.ofHours(1);
+
+    /**
+     * Nombre de threads d'analyse parallèle des fichiers CSV/TXT (0 : nombre de cœurs disponibles).
+     */
+    private int parserThreads;
+
+    /**
+     * Taille de fichier CSV/TXT à partir de laquelle l'analyse est parallélisée.
+     */
+    private DataSize parallelThreshold = DataSize.ofMegabytes(Constant.DEFAULT_PARALLEL_THRESHOLD_MB);
+
+    /**
+     * Taille des plages d'octets analysées par chaque tâche parallèle.
+     */
+    private DataSize parallelRangeSize = DataSize.ofMegabytes(Constant.DEFAULT_PARALLEL_RANGE_MB);
+
+    /**
+     * Nombre maximal de fichiers d'un dépôt multiple ou d'une archive importés simultanément, tous imports
+     * confondus ; chacun occupe une connexion le temps de sa transaction.
+     */
+    private int shardParallelism = Constant.DEFAULT_SHARD_PARALLELISM;
+
+    /**
+     * Taille jusqu'à laquelle un fichier d'une archive {@code tar.gz} est lu en mémoire pour être importé en
+     * parallèle de la suite de l'archive ; un fichier plus gros est importé au fil de la décompression.
+     */
+    private DataSize maxBufferedEntrySize = DataSize.ofMegabytes(Constant.DEFAULT_MAX_BUFFERED_ENTRY_MB);
+
+    /**
+     * Champs composant la clé naturelle des imports en mode {@code UPSERT} (tous les champs : empreinte
+     * du contenu).
+     */
+    private List<ClientField> naturalKey = List.of(ClientField.NOM, ClientField.PRENOM, ClientField.PROFESSION);
+
+    /**
+     * Règles de validité des clients importés et traitement des lignes rejetées.
+     */
+    private Validation validation = new Validation();
+
+    /**
+     * Propriétés de validation des imports (préfixe {@code climax.import.validation}).
+     */
+    @Data
+    public static final class Validation {
+
+        /**
+         * Âge minimal d'un client importé.
+         */
+        private int ageMin;
+
+        /**
+         * Âge maximal d'un client importé.
+         */
+        private int ageMax = Constant.DEFAULT_MAX_AGE;
+
+        /**
+         * Salaire minimal d'un client importé.
+         */
+        private BigDecimal salaireMin = BigDecimal.ZERO;
+
+        /**
+         * Champs obligatoires : un client dont l'un d'eux est absent ou blanc est rejeté.
+         */
+        private List<ClientField> requiredFields = List.of(ClientField.NOM, ClientField.PRENOM);
+
+        /**
+         * Nombre de rejets journalisés par import ; les suivants ne figurent que dans le rapport des rejets.
+         */
+        private int loggedRejections = Constant.DEFAULT_LOGGED_REJECTIONS;
+
+        /**
+         * Nombre de rejets écrits dans le rapport d'un import ; les suivants sont seulement décomptés.
+         */
+        private int maxReportedRejections = Constant.DEFAULT_MAX_REPORTED_REJECTIONS;
+    }
+}
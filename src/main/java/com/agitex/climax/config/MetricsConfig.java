@@ -0,0 +1,24 @@
+package com.agitex.climax.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Classe de configuration des métriques applicatives.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aspect mesurant les méthodes et classes annotées {@code @Timed}.
+     *
+     * @param meterRegistry le registre des métriques
+     * @return l'aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
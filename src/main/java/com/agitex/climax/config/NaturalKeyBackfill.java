@@ -0,0 +1,132 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.utils.NaturalKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Migration Flyway (version 6) renseignant la clé naturelle des clients écrits avant qu'elle ne soit calculée
+ * à chaque écriture : la clé dépend des champs configurés et de leur normalisation, elle est donc calculée par
+ * {@link NaturalKey} plutôt qu'en SQL.
+ * <p>
+ * Les clés sont d'abord calculées dans une table temporaire, en parcourant les clients par curseur, puis
+ * attribuées en une seule commande. Parmi des clients existants de même clé, seul le premier (non supprimé
+ * de préférence, puis de plus petit identifiant) la reçoit : les autres, doublons antérieurs à la contrainte,
+ * restent sans clé et ne sont reconnus par aucun import ; leur modification est refusée tant qu'elle ne les
+ * distingue pas du premier. Une clé déjà attribuée par un import {@code UPSERT} est conservée.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public final class NaturalKeyBackfill implements JavaMigration {
+
+    private static final MigrationVersion VERSION = MigrationVersion.fromVersion("6");
+
+    private static final String CREATE_SQL = "CREATE TEMPORARY TABLE client_natural_keys "
+            + "(id BIGINT NOT NULL, natural_key UUID NOT NULL, deleted BOOLEAN NOT NULL) ON COMMIT DROP";
+
+    private static final String SELECT_SQL = "SELECT id, nom, prenom, age, profession, salaire, deleted "
+            + "FROM clients WHERE natural_key IS NULL";
+
+    private static final String INSERT_SQL = "INSERT INTO client_natural_keys (id, natural_key, deleted) "
+            + "SELECT * FROM unnest(?::bigint[], ?::uuid[], ?::boolean[])";
+
+    private static final String ASSIGN_SQL = "UPDATE clients c SET natural_key = k.natural_key "
+            + "FROM (SELECT DISTINCT ON (natural_key) id, natural_key FROM client_natural_keys "
+            + "ORDER BY natural_key, deleted, id) k "
+            + "WHERE c.id = k.id AND NOT EXISTS (SELECT 1 FROM clients o WHERE o.natural_key = k.natural_key)";
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final NaturalKey naturalKey;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getDescription() {
+        return "client natural keys";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(final Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long computed = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_SQL);
+        }
+        try (Statement select = connection.createStatement();
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            select.setFetchSize(BATCH_SIZE);
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery(SELECT_SQL)) {
+                while (rs.next()) {
+                    Client client = new Client();
+                    client.setNom(rs.getString("nom"));
+                    client.setPrenom(rs.getString("prenom"));
+                    client.setAge(rs.getObject("age", Integer.class));
+                    client.setProfession(rs.getString("profession"));
+                    client.setSalaire(rs.getBigDecimal("salaire"));
+                    rows.add(new Object[]{rs.getLong("id"), naturalKey.of(client), rs.getBoolean("deleted")});
+                    if (rows.size() == BATCH_SIZE) {
+                        computed += insert(connection, insert, rows);
+                    }
+                }
+            }
+            computed += insert(connection, insert, rows);
+        }
+        int assigned;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE client_natural_keys");
+            assigned = statement.executeUpdate(ASSIGN_SQL);
+        }
+        log.info("Clé naturelle renseignée pour {} clients sur {} ({} doublons laissés sans clé)", assigned,
+                computed, computed - assigned);
+    }
+
+    private static int insert(final Connection connection, final PreparedStatement insert,
+                              final List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = new Long[rows.size()];
+        UUID[] keys = new UUID[rows.size()];
+        Boolean[] deleted = new Boolean[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = (Long) rows.get(i)[0];
+            keys[i] = (UUID) rows.get(i)[1];
+            deleted[i] = (Boolean) rows.get(i)[2];
+        }
+        int column = 1;
+        insert.setArray(column++, connection.createArrayOf("bigint", ids));
+        insert.setArray(column++, connection.createArrayOf("uuid", keys));
+        insert.setArray(column, connection.createArrayOf("boolean", deleted));
+        int inserted = insert.executeUpdate();
+        rows.clear();
+        return inserted;
+    }
+}
@@ -0,0 +1,37 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.NaturalKey;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Classe de configuration de la clé naturelle des clients ({@code climax.import.natural-key}), calculée à
+ * chaque écriture d'un client.
+ */
+@Configuration
+public class NaturalKeyConfig {
+
+    /**
+     * Calcul de la clé naturelle sur les champs configurés.
+     *
+     * @param importProperties les propriétés d'import, qui portent les champs de la clé
+     * @return le calcul de la clé
+     */
+    @Bean
+    public NaturalKey naturalKey(final ImportProperties importProperties) {
+        return new NaturalKey(importProperties.getNaturalKey());
+    }
+
+    /**
+     * Migration renseignant la clé naturelle des clients existants, exécutée par Flyway à la suite des
+     * migrations SQL.
+     *
+     * @param naturalKey le calcul de la clé
+     * @return la migration
+     */
+    @Bean
+    public JavaMigration naturalKeyBackfill(final NaturalKey naturalKey) {
+        return new NaturalKeyBackfill(naturalKey);
+    }
+}
@@ -0,0 +1,95 @@
+package com.agitex.climax.config;
+
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Classe de configuration des réplicas en lecture ({@code climax.replicas}).
+ * <p>
+ * La source de données configurée par Spring Boot ({@code spring.datasource}) reste la base principale ; quand
+ * des réplicas sont déclarés, elle est enveloppée dans une {@link ReplicaRoutingDataSource}, derrière un proxy
+ * qui n'obtient la connexion réelle qu'à la première requête, une fois la transaction (et son caractère en
+ * lecture seule) établie.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<DataSource> dataSource;
+
+    /**
+     * Instantiates a new Read replica config.
+     *
+     * @param dataSource the application data source, resolved lazily
+     */
+    public ReadReplicaConfig(final ObjectProvider<DataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Enveloppe la source de données principale lorsque des réplicas sont déclarés.
+     *
+     * @param replicaProperties les propriétés des réplicas
+     * @param meterRegistry     le registre des métriques des pools de réplicas
+     * @return le post-processeur
+     */
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourcePostProcessor(
+            final ObjectProvider<ReplicaProperties> replicaProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (!(bean instanceof DataSource primary) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                ReplicaProperties properties = replicaProperties.getObject();
+                if (properties.getEndpoints().isEmpty()) {
+                    return bean;
+                }
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                return new ReadReplicaDataSource(new ReplicaRoutingDataSource(primary, properties,
+                        registry != null ? new MicrometerMetricsTrackerFactory(registry) : null));
+            }
+        };
+    }
+
+    /**
+     * Mesure périodiquement le retard des réplicas.
+     */
+    @Scheduled(initialDelayString = "${climax.replicas.check-interval:PT5S}",
+            fixedDelayString = "${climax.replicas.check-interval:PT5S}")
+    public void checkReplicas() {
+        if (dataSource.getIfAvailable() instanceof ReadReplicaDataSource replicas) {
+            replicas.routing.checkReplicas();
+        }
+    }
+
+    /**
+     * Source de données de l'application lorsque des réplicas sont déclarés ; sa fermeture ferme la base
+     * principale et les réplicas.
+     */
+    static final class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        ReadReplicaDataSource(final ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws Exception {
+            routing.close();
+        }
+    }
+}
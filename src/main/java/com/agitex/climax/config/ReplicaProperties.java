@@ -0,0 +1,65 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriétés des réplicas en lecture de la base (préfixe {@code climax.replicas}). Sans réplica déclaré, toutes
+ * les requêtes vont à la base principale ({@code spring.datasource}).
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.replicas")
+public class ReplicaProperties {
+
+    /**
+     * Réplicas, utilisés à tour de rôle par les transactions en lecture seule.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    /**
+     * Retard de réplication toléré ; un réplica plus en retard est écarté jusqu'à ce qu'il ait rattrapé.
+     */
+    private Duration maxLag = Duration.ofSeconds(Constant.DEFAULT_REPLICA_MAX_LAG_SECONDS);
+
+    /**
+     * Intervalle de la mesure du retard de réplication de chaque réplica.
+     */
+    private Duration checkInterval = Duration.ofSeconds(Constant.DEFAULT_REPLICA_CHECK_INTERVAL_SECONDS);
+
+    /**
+     * Nombre maximal de connexions du pool de chaque réplica.
+     */
+    private int poolSize = Constant.DEFAULT_REPLICA_POOL_SIZE;
+
+    /**
+     * Délai d'obtention d'une connexion d'un réplica, au-delà duquel la base principale est utilisée.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(Constant.DEFAULT_REPLICA_CONNECTION_TIMEOUT_SECONDS);
+
+    /**
+     * Connexion à un réplica ; identifiant et mot de passe reprennent par défaut ceux de la base principale.
+     */
+    @Data
+    public static class Endpoint {
+
+        /**
+         * URL JDBC du réplica.
+         */
+        private String url;
+
+        /**
+         * Identifiant de connexion.
+         */
+        private String username;
+
+        /**
+         * Mot de passe.
+         */
+        private String password;
+    }
+}
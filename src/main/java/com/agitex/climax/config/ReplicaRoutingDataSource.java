@@ -0,0 +1,197 @@
+package com.agitex.climax.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Source de données répartissant les connexions entre la base principale et ses réplicas en lecture.
+ * <p>
+ * Une connexion demandée dans une transaction en lecture seule ({@code @Transactional(readOnly = true)}) est
+ * prise, à tour de rôle, sur un réplica disponible ; toute autre connexion l'est sur la base principale. Le
+ * choix n'est correct que si la connexion est obtenue après le début de la transaction : cette source est
+ * donc toujours placée derrière un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * Un réplica injoignable, ou dont le retard mesuré par {@link #checkReplicas()} dépasse le retard toléré, est
+ * écarté jusqu'à la mesure suivante ; sans réplica disponible, la lecture se fait sur la base principale.
+ */
+@Slf4j
+public final class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Retard de réplication en secondes : nul sur une base qui n'est pas en réplication, ou qui a rejoué tout
+     * ce qu'elle a reçu ; sinon ancienneté de la dernière transaction rejouée.
+     */
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final double MILLIS_PER_SECOND = 1000;
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Crée les pools de connexions des réplicas.
+     *
+     * @param primary        la base principale
+     * @param properties     les propriétés des réplicas
+     * @param metricsTracker le suivi des métriques des pools, ou {@code null}
+     */
+    public ReplicaRoutingDataSource(final DataSource primary, final ReplicaProperties properties,
+                                    final MetricsTrackerFactory metricsTracker) {
+        this.primary = primary;
+        this.maxLag = properties.getMaxLag();
+        this.replicas = new ArrayList<>(properties.getEndpoints().size());
+        for (ReplicaProperties.Endpoint endpoint : properties.getEndpoints()) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("climax-replica-" + replicas.size());
+            config.setJdbcUrl(endpoint.getUrl());
+            config.setUsername(endpoint.getUsername() != null ? endpoint.getUsername()
+                    : primary instanceof HikariDataSource hikari ? hikari.getUsername() : null);
+            config.setPassword(endpoint.getPassword() != null ? endpoint.getPassword()
+                    : primary instanceof HikariDataSource hikari ? hikari.getPassword() : null);
+            config.setMaximumPoolSize(properties.getPoolSize());
+            config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            // Un réplica arrêté au démarrage ne doit pas empêcher l'application de démarrer.
+            config.setInitializationFailTimeout(-1);
+            if (metricsTracker != null) {
+                config.setMetricsTrackerFactory(metricsTracker);
+            }
+            replicas.add(new Replica(endpoint.getUrl(), new HikariDataSource(config)));
+        }
+    }
+
+    /**
+     * Exécute un traitement dont les lectures doivent voir les dernières écritures validées : ses transactions
+     * en lecture seule utilisent la base principale plutôt qu'un réplica.
+     *
+     * @param action le traitement
+     * @param <T>    le type du résultat
+     * @return le résultat du traitement
+     */
+    public static <T> T onPrimary(final Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_ONLY.get() != null) {
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                try {
+                    return replica.pool.getConnection();
+                } catch (SQLException e) {
+                    markUnavailable(replica, e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Mesure le retard de chaque réplica, l'écartant s'il dépasse le retard toléré ou ne répond pas, et le
+     * réintégrant dans le cas contraire.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(maxLag.toSeconds(), 1));
+                try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                    rs.next();
+                    double lag = rs.getDouble(1);
+                    if (lag * MILLIS_PER_SECOND > maxLag.toMillis()) {
+                        markUnavailable(replica, "retard de " + lag + " s");
+                    } else if (!replica.available) {
+                        replica.available = true;
+                        log.info("Réplica {} de nouveau utilisé", replica.url);
+                    }
+                }
+            } catch (SQLException e) {
+                markUnavailable(replica, e.getMessage());
+            }
+        }
+    }
+
+    private static void markUnavailable(final Replica replica, final String reason) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Réplica {} écarté, lectures sur la base principale : {}", replica.url, reason);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Ferme les pools des réplicas puis la base principale.
+     *
+     * @throws Exception si la base principale ne peut être fermée
+     */
+    @Override
+    public void close() throws Exception {
+        replicas.forEach(replica -> replica.pool.close());
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Un réplica et son pool de connexions.
+     */
+    private static final class Replica {
+
+        private final String url;
+        private final HikariDataSource pool;
+        private volatile boolean available = true;
+
+        Replica(final String url, final HikariDataSource pool) {
+            this.url = url;
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.agitex.climax.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Classe de configuration des formats binaires des réponses.
+ * <p>
+ * Smile ({@code application/x-jackson-smile}) et CBOR ({@code application/cbor}) sont servis selon l'en-tête
+ * {@code Accept}, avec le même paramétrage Jackson ({@code spring.jackson.*}) que le JSON : les documents ne
+ * diffèrent que par leur encodage, plus compact et plus rapide à produire et à lire.
+ */
+@Configuration
+public class SerializationConfig {
+
+    /**
+     * Convertisseur Smile.
+     *
+     * @param builder le constructeur de mappers configuré par Spring Boot
+     * @return le convertisseur
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Convertisseur CBOR.
+     *
+     * @param builder le constructeur de mappers configuré par Spring Boot
+     * @return le convertisseur
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,30 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.utils.Constant;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriétés des statistiques sur les clients (préfixe {@code climax.statistics}).
+ */
+@Data
+@ConfigurationProperties(prefix = "climax.statistics")
+public class StatisticsProperties {
+
+    /**
+     * Intervalle du recalcul complet des totaux de salaires par profession tenus en mémoire.
+     */
+    private Duration reconcileInterval = Duration.ofHours(1);
+
+    /**
+     * Largeur, en années, des tranches d'âge des statistiques de salaires.
+     */
+    private int ageBandWidth = Constant.DEFAULT_AGE_BAND_WIDTH;
+
+    /**
+     * Durée pendant laquelle les statistiques de salaires calculées sont resservies sans relire la table.
+     */
+    private Duration sketchTtl = Duration.ofMinutes(Constant.DEFAULT_SKETCH_TTL_MINUTES);
+}
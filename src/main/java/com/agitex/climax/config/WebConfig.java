@@ -0,0 +1,26 @@
+package com.agitex.climax.config;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Classe de configuration de la lecture des paramètres de requête.
+ * <p>
+ * Les valeurs d'énumérations sont lues sans tenir compte de la casse ({@code format=csv} comme
+ * {@code format=CSV}), comme les propriétés de configuration.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Ajoute les convertisseurs de Spring Boot, dont celui des énumérations insensible à la casse.
+     *
+     * @param registry le registre des convertisseurs de Spring MVC
+     */
+    @Override
+    public void addFormatters(final FormatterRegistry registry) {
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.BulkAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat d'une opération d'un lot, à la même position que l'opération dans la requête.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDTO {
+
+    private BulkAction action;
+
+    private Long id;
+
+    /**
+     * Statut HTTP de l'opération : 201, 200, 204, 400 ou 404.
+     */
+    private int status;
+
+    private String erreur;
+}
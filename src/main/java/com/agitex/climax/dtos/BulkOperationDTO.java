@@ -0,0 +1,27 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.BulkAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Opération d'un lot envoyé à {@code POST /clients/_bulk}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationDTO {
+
+    private BulkAction action;
+
+    /**
+     * Identifiant du client visé (mise à jour et suppression).
+     */
+    private Long id;
+
+    /**
+     * Valeurs du client (création et mise à jour).
+     */
+    private ClientDTO client;
+}
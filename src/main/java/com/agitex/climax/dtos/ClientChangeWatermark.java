@@ -0,0 +1,67 @@
+package com.agitex.climax.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Filigrane de la synchronisation incrémentale : date de modification et identifiant du dernier client
+ * reçu. Transmis au client HTTP sous forme d'un jeton opaque, qu'il conserve pour la synchronisation suivante.
+ *
+ * @param modifiedAt la date de modification du dernier client reçu
+ * @param id         l'identifiant du dernier client reçu, ou {@code null} pour reprendre après tous les clients
+ *                   modifiés à cette date
+ */
+public record ClientChangeWatermark(Instant modifiedAt, Long id) {
+
+    /**
+     * Filigrane précédant toutes les modifications.
+     */
+    public static final ClientChangeWatermark START = new ClientChangeWatermark(Instant.EPOCH, 0L);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * @param modifiedAt la date de modification
+     * @return le filigrane suivant tous les clients modifiés jusqu'à cette date comprise
+     */
+    public static ClientChangeWatermark after(final Instant modifiedAt) {
+        return new ClientChangeWatermark(modifiedAt, null);
+    }
+
+    /**
+     * @return l'identifiant à dépasser à la date du filigrane
+     */
+    public long idOrMax() {
+        return id != null ? id : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return le jeton, en Base64 utilisable dans une URL
+     */
+    public String encode() {
+        String raw = modifiedAt.toString() + SEPARATOR + (id != null ? id.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token le jeton fourni par le client HTTP, {@code null} ou vide pour une synchronisation complète
+     * @return le filigrane
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static ClientChangeWatermark decode(final String token) {
+        if (token == null || token.isEmpty()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String id = raw.substring(separator + 1);
+            return new ClientChangeWatermark(Instant.parse(raw.substring(0, separator)),
+                    id.isEmpty() ? null : Long.valueOf(id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Filigrane de synchronisation invalide : " + token, e);
+        }
+    }
+}
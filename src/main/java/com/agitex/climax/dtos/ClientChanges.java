@@ -0,0 +1,14 @@
+package com.agitex.climax.dtos;
+
+import java.util.List;
+
+/**
+ * Page de la synchronisation incrémentale des clients.
+ *
+ * @param clients   les clients modifiés, suppressions logiques comprises, par date de modification puis
+ *                  identifiant
+ * @param watermark le filigrane à transmettre à la synchronisation suivante
+ * @param hasMore   {@code true} si d'autres modifications suivent déjà le filigrane
+ */
+public record ClientChanges(List<ClientView> clients, ClientChangeWatermark watermark, boolean hasMore) {
+}
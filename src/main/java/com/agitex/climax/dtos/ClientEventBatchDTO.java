@@ -0,0 +1,12 @@
+package com.agitex.climax.dtos;
+
+import java.util.List;
+
+/**
+ * Lot d'événements clients lu en une fois.
+ *
+ * @param events les événements, dans l'ordre du flux ; vide si aucun n'est arrivé pendant l'attente
+ * @param offset la position à transmettre à la lecture suivante
+ */
+public record ClientEventBatchDTO(List<ClientEventDTO> events, String offset) {
+}
@@ -0,0 +1,23 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.ClientEventType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Modification d'un client, avec l'état du client à l'issue de la modification.
+ *
+ * @param offset     la position de l'événement, à partir de laquelle reprendre la lecture
+ * @param type       la nature de la modification
+ * @param clientId   l'identifiant du client
+ * @param nom        le nom
+ * @param prenom     le prénom
+ * @param age        l'âge
+ * @param profession la profession
+ * @param salaire    le salaire
+ * @param occurredAt la date de la transaction de la modification
+ */
+public record ClientEventDTO(String offset, ClientEventType type, Long clientId, String nom, String prenom,
+                             Integer age, String profession, BigDecimal salaire, Instant occurredAt) {
+}
@@ -0,0 +1,48 @@
+package com.agitex.climax.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position dans le flux des événements clients : transaction et identifiant du dernier événement lu.
+ * Transmise au client HTTP sous forme d'un jeton opaque, qu'il conserve pour reprendre la lecture.
+ *
+ * @param txId la transaction du dernier événement lu
+ * @param id   l'identifiant du dernier événement lu
+ */
+public record ClientEventOffset(long txId, long id) {
+
+    /**
+     * Position précédant tous les événements.
+     */
+    public static final ClientEventOffset START = new ClientEventOffset(0, 0);
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * @return le jeton, en Base64 utilisable dans une URL
+     */
+    public String encode() {
+        String raw = Long.toString(txId) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token le jeton fourni par le client HTTP, {@code null} ou vide pour lire depuis le début
+     * @return la position
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static ClientEventOffset decode(final String token) {
+        if (token == null || token.isEmpty()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ClientEventOffset(Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Position de lecture invalide : " + token, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.agitex.climax.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtres de la recherche de clients ; un filtre {@code null} n'est pas appliqué et les bornes sont incluses.
+ *
+ * @param nom        début du nom, sensible à la casse
+ * @param prenom     début du prénom, sensible à la casse
+ * @param profession profession exacte
+ * @param ageMin     âge minimal
+ * @param ageMax     âge maximal
+ * @param salaireMin salaire minimal
+ * @param salaireMax salaire maximal
+ */
+public record ClientSearchCriteria(String nom, String prenom, String profession, Integer ageMin, Integer ageMax,
+                                   BigDecimal salaireMin, BigDecimal salaireMax) {
+}
@@ -0,0 +1,57 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.ClientSortField;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position dans les résultats d'une recherche de clients : valeur du champ de tri et identifiant du dernier
+ * client de la page précédente. Transmis au client HTTP sous forme d'un jeton opaque.
+ *
+ * @param id    l'identifiant du dernier client
+ * @param value la valeur du champ de tri pour ce client, {@code null} si elle n'est pas renseignée
+ */
+public record ClientSearchCursor(Long id, Object value) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * @param client le dernier client d'une page
+     * @param field  le champ de tri
+     * @return la position suivant ce client
+     */
+    public static ClientSearchCursor after(final ClientView client, final ClientSortField field) {
+        return new ClientSearchCursor(client.id(), field == ClientSortField.ID ? null : field.valueOf(client));
+    }
+
+    /**
+     * @return le jeton, en Base64 utilisable dans une URL
+     */
+    public String encode() {
+        String raw = value == null ? id.toString()
+                : id.toString() + SEPARATOR + (value instanceof BigDecimal decimal ? decimal.toPlainString() : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token le jeton fourni par le client HTTP
+     * @param field le champ de tri de la recherche
+     * @return la position
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static ClientSearchCursor decode(final String token, final ClientSortField field) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new ClientSearchCursor(Long.valueOf(raw), null);
+            }
+            return new ClientSearchCursor(Long.valueOf(raw.substring(0, separator)),
+                    field.parse(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de recherche invalide : " + token, e);
+        }
+    }
+}
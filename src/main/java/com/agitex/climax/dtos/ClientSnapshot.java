@@ -0,0 +1,48 @@
+package com.agitex.climax.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Copie immuable d'un {@link ClientDTO}, conservée dans le cache des clients : chaque lecture en
+ * reconstruit un DTO neuf, qu'un appelant peut modifier sans altérer le cache.
+ *
+ * @param id               l'identifiant
+ * @param nom              le nom
+ * @param prenom           le prénom
+ * @param profession       la profession
+ * @param age              l'âge
+ * @param salaire          le salaire
+ * @param createdBy        l'auteur de la création
+ * @param createdDate      la date de création
+ * @param lastModifiedBy   l'auteur de la dernière modification
+ * @param lastModifiedDate la date de dernière modification
+ * @param deleted          l'indicateur de suppression logique
+ */
+public record ClientSnapshot(Long id, String nom, String prenom, String profession, Integer age,
+                             BigDecimal salaire, String createdBy, Instant createdDate,
+                             String lastModifiedBy, Instant lastModifiedDate, Boolean deleted) {
+
+    /**
+     * @param dto le DTO à copier
+     * @return la copie immuable
+     */
+    public static ClientSnapshot of(final ClientDTO dto) {
+        return new ClientSnapshot(dto.getId(), dto.getNom(), dto.getPrenom(), dto.getProfession(), dto.getAge(),
+                dto.getSalaire(), dto.getCreatedBy(), dto.getCreatedDate(), dto.getLastModifiedBy(),
+                dto.getLastModifiedDate(), dto.getDeleted());
+    }
+
+    /**
+     * @return un nouveau DTO portant les valeurs de la copie
+     */
+    public ClientDTO toDto() {
+        ClientDTO dto = new ClientDTO(id, nom, prenom, profession, age, salaire);
+        dto.setCreatedBy(createdBy);
+        dto.setCreatedDate(createdDate);
+        dto.setLastModifiedBy(lastModifiedBy);
+        dto.setLastModifiedDate(lastModifiedDate);
+        dto.setDeleted(deleted);
+        return dto;
+    }
+}
@@ -0,0 +1,44 @@
+package com.agitex.climax.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Vue en lecture seule d'un client, construite directement par la requête JPQL ({@code SELECT new ...}) :
+ * ni entité gérée, ni copie par le mapper. Les champs et leur ordre reprennent la forme JSON de
+ * {@link ClientDTO}, les listes et exports restant ainsi inchangés pour les appelants. Les champs d'audit
+ * n'appartiennent qu'à la vue {@link Views.Full} : la vue {@link Views.Lean} les omet.
+ *
+ * @param createdBy        l'auteur de la création
+ * @param createdDate      la date de création
+ * @param lastModifiedBy   l'auteur de la dernière modification
+ * @param lastModifiedDate la date de la dernière modification
+ * @param deleted          {@code true} si le client est supprimé logiquement
+ * @param id               l'identifiant
+ * @param nom              le nom
+ * @param prenom           le prénom
+ * @param profession       la profession
+ * @param age              l'âge
+ * @param salaire          le salaire
+ */
+public record ClientView(@JsonView(Views.Full.class) String createdBy,
+                         @JsonView(Views.Full.class) Instant createdDate,
+                         @JsonView(Views.Full.class) String lastModifiedBy,
+                         @JsonView(Views.Full.class) Instant lastModifiedDate,
+                         @JsonView(Views.Full.class) Boolean deleted,
+                         @JsonView(Views.Lean.class) Long id,
+                         @JsonView(Views.Lean.class) String nom,
+                         @JsonView(Views.Lean.class) String prenom,
+                         @JsonView(Views.Lean.class) String profession,
+                         @JsonView(Views.Lean.class) Integer age,
+                         @JsonView(Views.Lean.class) BigDecimal salaire) {
+
+    /**
+     * Expression de construction JPQL de la vue, sur l'alias {@code c} de l'entité {@code Client}.
+     */
+    public static final String SELECT = "SELECT new com.agitex.climax.dtos.ClientView(c.createdBy, c.createdDate, "
+            + "c.lastModifiedBy, c.lastModifiedDate, c.deleted, c.id, c.nom, c.prenom, c.profession, c.age, "
+            + "c.salaire) FROM Client c ";
+}
@@ -0,0 +1,59 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.ImportJobStatus;
+import com.agitex.climax.enums.ImportMode;
+import com.agitex.climax.enums.RejectionReason;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * État et avancement d'une tâche d'import asynchrone.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private UUID id;
+
+    private String fichier;
+
+    private ImportMode mode;
+
+    private ImportJobStatus statut;
+
+    private long lignesLues;
+
+    private long lignesChargees;
+
+    private long lignesRejetees;
+
+    private Map<RejectionReason, Long> rejetsParMotif;
+
+    private long lignesIgnorees;
+
+    private long octetsLus;
+
+    private long octetsTotal;
+
+    private double lignesParSeconde;
+
+    private Long etaSecondes;
+
+    private Instant dateSoumission;
+
+    private Instant dateDebut;
+
+    private Instant dateFin;
+
+    private String erreur;
+
+    private List<ImportShardDTO> fichiers;
+}
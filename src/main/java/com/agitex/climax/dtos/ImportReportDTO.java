@@ -0,0 +1,24 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.ImportMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bilan de l'import d'un fichier de clients.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private String fichier;
+
+    private ImportMode mode;
+
+    private long lignesChargees;
+
+    private long lignesRejetees;
+
+    private long lignesIgnorees;
+}
@@ -0,0 +1,30 @@
+package com.agitex.climax.dtos;
+
+import com.agitex.climax.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * État et bilan d'un fichier d'un import multiple (fichier déposé ou entrée d'archive).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportShardDTO {
+    private String fichier;
+
+    private ImportJobStatus statut;
+
+    private long lignesLues;
+
+    private long lignesChargees;
+
+    private long lignesRejetees;
+
+    private long lignesIgnorees;
+
+    private String erreur;
+}
@@ -0,0 +1,39 @@
+package com.agitex.climax.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Totaux des clients non supprimés d'une profession : nombre de clients, nombre de salaires renseignés
+ * et somme de ces salaires.
+ *
+ * @param profession la profession
+ * @param clients    le nombre de clients
+ * @param salaried   le nombre de clients dont le salaire est renseigné
+ * @param sum        la somme des salaires renseignés
+ */
+public record ProfessionSalaryTotals(String profession, Long clients, Long salaried, BigDecimal sum) {
+
+    /**
+     * @param profession la profession
+     * @param salaire    le salaire d'un client, éventuellement {@code null}
+     * @param sign       {@code 1} pour l'ajout du client, {@code -1} pour son retrait
+     * @return les totaux correspondant à ce seul client
+     */
+    public static ProfessionSalaryTotals of(final String profession, final BigDecimal salaire, final int sign) {
+        return new ProfessionSalaryTotals(profession, (long) sign, salaire != null ? (long) sign : 0L,
+                salaire != null ? salaire.multiply(BigDecimal.valueOf(sign)) : BigDecimal.ZERO);
+    }
+
+    /**
+     * @param other les totaux à ajouter
+     * @return la somme des deux totaux, ou {@code null} si plus aucun client ne reste
+     */
+    public ProfessionSalaryTotals plus(final ProfessionSalaryTotals other) {
+        long total = clients + other.clients;
+        if (total <= 0) {
+            return null;
+        }
+        return new ProfessionSalaryTotals(profession, total, salaried + other.salaried,
+                sum.add(other.sum != null ? other.sum : BigDecimal.ZERO));
+    }
+}
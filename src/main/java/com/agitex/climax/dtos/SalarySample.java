@@ -0,0 +1,13 @@
+package com.agitex.climax.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Salaire d'un client avec ses critères de regroupement, lu par projection pour les statistiques.
+ *
+ * @param profession la profession
+ * @param age        l'âge
+ * @param salaire    le salaire
+ */
+public record SalarySample(String profession, Integer age, BigDecimal salaire) {
+}
@@ -0,0 +1,23 @@
+package com.agitex.climax.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Statistiques des salaires renseignés d'un groupe de clients non supprimés. Les critères non retenus pour
+ * le regroupement valent {@code null} ; les percentiles sont approchés à 0,1 % près.
+ *
+ * @param profession la profession du groupe
+ * @param trancheAge la tranche d'âge du groupe, par exemple {@code 30-39}
+ * @param nombre     le nombre de salaires
+ * @param minimum    le salaire minimal
+ * @param maximum    le salaire maximal
+ * @param moyenne    le salaire moyen
+ * @param ecartType  l'écart type (de l'échantillon)
+ * @param p50        le salaire médian
+ * @param p90        le 90e percentile
+ * @param p99        le 99e percentile
+ */
+public record SalaryStatisticsDTO(String profession, String trancheAge, long nombre, BigDecimal minimum,
+                                  BigDecimal maximum, BigDecimal moyenne, BigDecimal ecartType, BigDecimal p50,
+                                  BigDecimal p90, BigDecimal p99) {
+}
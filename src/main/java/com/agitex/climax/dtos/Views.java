@@ -0,0 +1,22 @@
+package com.agitex.climax.dtos;
+
+/**
+ * Vues Jackson ({@code @JsonView}) des représentations de clients.
+ */
+public final class Views {
+
+    private Views() {
+    }
+
+    /**
+     * Vue allégée : données métier seulement, sans les champs d'audit.
+     */
+    public interface Lean {
+    }
+
+    /**
+     * Vue complète : données métier et champs d'audit.
+     */
+    public interface Full extends Lean {
+    }
+}
@@ -38,19 +38,19 @@ public abstract class AbstractAuditingEntity implements Serializable {
 
     @CreatedBy
     @Column(name = "created_by", nullable = false, length = TAILLE, updatable = false)
-    private String createdBy = "system";
+    private String createdBy;
 
     @CreatedDate
     @Column(name = "created_date", nullable = false, updatable = false)
-    private Instant createdDate = Instant.now();
+    private Instant createdDate;
 
     @LastModifiedBy
     @Column(name = "last_modified_by", length = TAILLE)
     private String lastModifiedBy;
 
     @LastModifiedDate
-    @Column(name = "last_modified_date")
-    private Instant lastModifiedDate = Instant.now();
+    @Column(name = "last_modified_date", nullable = false)
+    private Instant lastModifiedDate;
 
     @NotNull
     private Boolean deleted = Boolean.FALSE;
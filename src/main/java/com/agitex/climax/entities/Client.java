@@ -1,7 +1,9 @@
 package com.agitex.climax.entities;
 
+import com.agitex.climax.utils.Constant;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,17 +15,20 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(ClientNaturalKeyListener.class)
 @Table(name = "clients")
 public class Client extends AbstractAuditingEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", sequenceName = "clients_seq",
+            allocationSize = Constant.SEQUENCE_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -41,4 +46,11 @@ public class Client extends AbstractAuditingEntity {
 
     @Column(name = "salaire")
     private BigDecimal salaire;
+
+    /**
+     * Clé naturelle ({@code climax.import.natural-key}), calculée à chaque écriture : par
+     * {@link ClientNaturalKeyListener} pour JPA, par les chargements JDBC sinon.
+     */
+    @Column(name = "natural_key", unique = true)
+    private UUID naturalKey;
 }
@@ -0,0 +1,29 @@
+package com.agitex.climax.entities;
+
+import com.agitex.climax.utils.NaturalKey;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calcul de la clé naturelle d'un client à chaque insertion ou modification JPA. Un client supprimé garde sa
+ * clé : un import ne le recrée pas.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientNaturalKeyListener {
+
+    private final NaturalKey naturalKey;
+
+    /**
+     * @param client le client écrit
+     */
+    @PrePersist
+    @PreUpdate
+    public void computeNaturalKey(final Client client) {
+        if (!Boolean.TRUE.equals(client.getDeleted())) {
+            client.setNaturalKey(naturalKey.of(client));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.agitex.climax.enums;
+
+/**
+ * Nature d'une opération d'un lot envoyé à {@code POST /clients/_bulk}.
+ */
+public enum BulkAction {
+
+    /**
+     * Création d'un client (sans identifiant).
+     */
+    CREATE,
+
+    /**
+     * Mise à jour d'un client existant et non supprimé.
+     */
+    UPDATE,
+
+    /**
+     * Suppression logique d'un client.
+     */
+    DELETE
+}
@@ -0,0 +1,22 @@
+package com.agitex.climax.enums;
+
+/**
+ * Nature d'une modification de client publiée dans le flux des événements.
+ */
+public enum ClientEventType {
+
+    /**
+     * Client créé, par l'API ou par un import.
+     */
+    CREATED,
+
+    /**
+     * Client modifié.
+     */
+    UPDATED,
+
+    /**
+     * Client supprimé logiquement ; l'événement porte son dernier état.
+     */
+    DELETED
+}
@@ -0,0 +1,31 @@
+package com.agitex.climax.enums;
+
+import com.agitex.climax.entities.Client;
+
+import java.util.function.Function;
+
+/**
+ * Champs d'un client pouvant composer la clé naturelle des imports en mode {@link ImportMode#UPSERT}.
+ */
+public enum ClientField {
+
+    NOM(Client::getNom),
+    PRENOM(Client::getPrenom),
+    AGE(Client::getAge),
+    PROFESSION(Client::getProfession),
+    SALAIRE(Client::getSalaire);
+
+    private final Function<Client, Object> accessor;
+
+    ClientField(final Function<Client, Object> accessor) {
+        this.accessor = accessor;
+    }
+
+    /**
+     * @param client le client
+     * @return la valeur du champ pour ce client
+     */
+    public Object valueOf(final Client client) {
+        return accessor.apply(client);
+    }
+}
@@ -0,0 +1,62 @@
+package com.agitex.climax.enums;
+
+import com.agitex.climax.dtos.ClientView;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Champ de tri de la recherche de clients, l'identifiant départageant les égalités.
+ */
+public enum ClientSortField {
+
+    ID("id", false, ClientView::id, Long::valueOf),
+    NOM("nom", true, ClientView::nom, value -> value),
+    PRENOM("prenom", true, ClientView::prenom, value -> value),
+    AGE("age", false, ClientView::age, Integer::valueOf),
+    SALAIRE("salaire", false, ClientView::salaire, BigDecimal::new);
+
+    private final String attribute;
+    private final boolean text;
+    private final Function<ClientView, Object> accessor;
+    private final Function<String, Object> parser;
+
+    ClientSortField(final String attribute, final boolean text, final Function<ClientView, Object> accessor,
+                    final Function<String, Object> parser) {
+        this.attribute = attribute;
+        this.text = text;
+        this.accessor = accessor;
+        this.parser = parser;
+    }
+
+    /**
+     * @return l'attribut de l'entité {@code Client}
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return {@code true} pour un champ texte, trié et filtré dans l'ordre binaire (collation {@code "C"})
+     */
+    public boolean isText() {
+        return text;
+    }
+
+    /**
+     * @param client un client
+     * @return la valeur du champ pour ce client
+     */
+    public Object valueOf(final ClientView client) {
+        return accessor.apply(client);
+    }
+
+    /**
+     * @param value la valeur du champ sous forme de texte, telle qu'écrite dans un curseur
+     * @return la valeur du champ
+     * @throws IllegalArgumentException si la valeur n'est pas du type du champ
+     */
+    public Object parse(final String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.agitex.climax.enums;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Format d'export des clients, chacun relisible par l'import du même format.
+ */
+public enum ExportFormat {
+
+    /**
+     * Une ligne {@code nom,prenom,age,profession,salaire} par client, sans en-tête.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+
+    /**
+     * Un tableau d'objets.
+     */
+    JSON(MediaType.APPLICATION_JSON, "json"),
+
+    /**
+     * Un élément {@code <row>} par client sous l'élément racine {@code <root>}.
+     */
+    XML(MediaType.APPLICATION_XML, "xml");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(final MediaType mediaType, final String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * @return le type de contenu
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return l'extension de fichier, celle attendue par l'import
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
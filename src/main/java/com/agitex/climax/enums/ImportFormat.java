@@ -0,0 +1,63 @@
+package com.agitex.climax.enums;
+
+import java.util.Locale;
+
+/**
+ * Format d'un fichier de clients importé, déduit de l'extension de son nom.
+ */
+public enum ImportFormat {
+
+    /**
+     * Une ligne {@code nom,prenom,age,profession,salaire} par client.
+     */
+    CSV("csv"),
+
+    /**
+     * Même contenu que {@link #CSV}.
+     */
+    TXT("txt"),
+
+    /**
+     * Un tableau d'objets.
+     */
+    JSON("json"),
+
+    /**
+     * Un élément par client sous l'élément racine.
+     */
+    XML("xml");
+
+    private final String extension;
+
+    ImportFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @param filename le nom d'un fichier, ou le chemin {@code archive!/entrée} d'une entrée d'archive
+     * @return le format du fichier, ou {@code null} si son extension n'est pas prise en charge
+     */
+    public static ImportFormat fromFilename(final String filename) {
+        String name = filename.toLowerCase(Locale.ROOT);
+        for (ImportFormat format : values()) {
+            if (name.endsWith("." + format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return l'extension de fichier
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @return {@code true} pour les formats délimités par des virgules, analysables en parallèle
+     */
+    public boolean isDelimited() {
+        return this == CSV || this == TXT;
+    }
+}
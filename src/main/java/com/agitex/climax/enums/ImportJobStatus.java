@@ -0,0 +1,32 @@
+package com.agitex.climax.enums;
+
+/**
+ * Cycle de vie d'une tâche d'import asynchrone.
+ */
+public enum ImportJobStatus {
+
+    /**
+     * En file d'attente, en attente d'un worker libre.
+     */
+    PENDING,
+
+    /**
+     * En cours de lecture et de persistance.
+     */
+    RUNNING,
+
+    /**
+     * Terminée, transaction validée.
+     */
+    COMPLETED,
+
+    /**
+     * Interrompue par une erreur, transaction annulée.
+     */
+    FAILED,
+
+    /**
+     * Annulée à la demande, transaction annulée.
+     */
+    CANCELLED
+}
@@ -0,0 +1,24 @@
+package com.agitex.climax.enums;
+
+/**
+ * Stratégie de persistance utilisée lors de l'import d'un fichier de clients.
+ */
+public enum ImportMode {
+
+    /**
+     * Insertion JPA par lots JDBC (hibernate.jdbc.batch_size).
+     */
+    STANDARD,
+
+    /**
+     * Chargement en masse via {@code COPY ... FROM STDIN} de PostgreSQL.
+     */
+    COPY,
+
+    /**
+     * Insertion ou mise à jour sur la clé naturelle ({@code climax.import.natural-key}) : un client déjà en
+     * base est mis à jour si l'un de ses champs change, et ignoré sinon ({@code INSERT ... ON CONFLICT DO
+     * UPDATE}). Pour une clé répétée dans le fichier, la dernière ligne l'emporte.
+     */
+    UPSERT
+}
@@ -0,0 +1,37 @@
+package com.agitex.climax.enums;
+
+/**
+ * Motif de rejet d'une ligne d'un fichier importé.
+ */
+public enum RejectionReason {
+
+    /**
+     * Ligne CSV/TXT comptant moins de champs que {@code nom,prenom,age,profession,salaire}.
+     */
+    INCOMPLETE_LINE,
+
+    /**
+     * Âge ou salaire qui n'est pas un nombre.
+     */
+    INVALID_NUMBER,
+
+    /**
+     * Valeur d'un élément JSON/XML qui ne peut être convertie dans le type de son champ, ou champ inconnu.
+     */
+    INVALID_VALUE,
+
+    /**
+     * Champ obligatoire ({@code climax.import.validation.required-fields}) absent ou blanc.
+     */
+    MISSING_FIELD,
+
+    /**
+     * Âge hors de {@code climax.import.validation.age-min} .. {@code age-max}.
+     */
+    AGE_OUT_OF_RANGE,
+
+    /**
+     * Salaire inférieur à {@code climax.import.validation.salaire-min}.
+     */
+    SALARY_OUT_OF_RANGE
+}
@@ -0,0 +1,32 @@
+package com.agitex.climax.enums;
+
+import com.agitex.climax.dtos.Views;
+
+/**
+ * Représentation des clients renvoyés par les listes et exports.
+ */
+public enum Representation {
+
+    /**
+     * Tous les champs, audit compris.
+     */
+    FULL(Views.Full.class),
+
+    /**
+     * Données métier seulement, sans les champs d'audit.
+     */
+    LEAN(Views.Lean.class);
+
+    private final Class<?> view;
+
+    Representation(final Class<?> view) {
+        this.view = view;
+    }
+
+    /**
+     * @return la vue Jackson correspondante
+     */
+    public Class<?> getView() {
+        return view;
+    }
+}
@@ -0,0 +1,17 @@
+package com.agitex.climax.enums;
+
+/**
+ * Critère de regroupement des statistiques de salaires.
+ */
+public enum StatisticsGrouping {
+
+    /**
+     * Par profession.
+     */
+    PROFESSION,
+
+    /**
+     * Par tranche d'âge ({@code climax.statistics.age-band-width}).
+     */
+    AGE_BAND
+}
@@ -3,6 +3,7 @@ package com.agitex.climax.mapper;
 import com.agitex.climax.dtos.ClientDTO;
 import com.agitex.climax.entities.Client;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * Mapper for the entity {@link Client} and its DTO {@link ClientDTO}.
@@ -24,6 +25,7 @@ public interface ClientMapper extends EntityMapper<ClientDTO, Client> {
      * @return
      */
     @Override
+    @Mapping(target = "naturalKey", ignore = true)
     Client toEntity(ClientDTO clientDTO);
 
     /**
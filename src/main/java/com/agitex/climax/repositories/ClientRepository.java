@@ -1,13 +1,26 @@
 package com.agitex.climax.repositories;
 
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.dtos.ProfessionSalaryTotals;
+import com.agitex.climax.dtos.SalarySample;
 import com.agitex.climax.entities.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ClientRepository extends AbstractRepository<Client, Long> {
+public interface ClientRepository extends AbstractRepository<Client, Long>, ClientSearchRepository {
     /**
      * List of clients.
      *
@@ -16,10 +29,105 @@ public interface ClientRepository extends AbstractRepository<Client, Long> {
     List<Client> findAllByDeletedFalse();
 
     /**
-     * Average of salary by client profession.
+     * Client, supprimé ou non, portant une clé naturelle.
      *
-     * @return {@link List <Client>}
+     * @param naturalKey la clé naturelle
+     * @return l'identifiant du client, ou vide si aucun client n'a cette clé
+     */
+    @Query("SELECT c.id FROM Client c WHERE c.naturalKey = :naturalKey")
+    Optional<Long> findIdByNaturalKey(@Param("naturalKey") UUID naturalKey);
+
+    /**
+     * Vues de tous les clients non supprimés.
+     *
+     * @return {@link List <ClientView>}
+     */
+    @Query(ClientView.SELECT + "WHERE c.deleted = false")
+    List<ClientView> findAllViews();
+
+    /**
+     * Page de vues clients par curseur : clients non supprimés d'identifiant strictement supérieur au
+     * curseur, par ordre d'identifiant (toujours en première page, sans comptage).
+     *
+     * @param after    le dernier identifiant de la page précédente
+     * @param pageable la taille de la page
+     * @return la page obtenue
+     */
+    @Query(ClientView.SELECT + "WHERE c.deleted = false AND c.id > :after ORDER BY c.id")
+    Slice<ClientView> findViewsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Page de la synchronisation incrémentale : clients, supprimés compris, modifiés après le filigrane
+     * ({@code lastModifiedDate}, {@code id}) et au plus tard à l'horizon, par date de modification puis
+     * identifiant. Servie par l'index {@code idx_clients_last_modified}, sur la seule plage des dates.
+     *
+     * @param since    la date de modification du filigrane
+     * @param after    l'identifiant à dépasser à cette date
+     * @param until    l'horizon, au-delà duquel des transactions peuvent encore valider des modifications
+     * @param pageable la taille de la page
+     * @return la page obtenue
+     */
+    @Query(ClientView.SELECT + "WHERE c.lastModifiedDate >= :since AND c.lastModifiedDate <= :until "
+            + "AND (c.lastModifiedDate > :since OR c.id > :after) ORDER BY c.lastModifiedDate, c.id")
+    Slice<ClientView> findChangesAfter(@Param("since") Instant since, @Param("after") Long after,
+                                       @Param("until") Instant until, Pageable pageable);
+
+    /**
+     * Horizon de la synchronisation incrémentale : l'heure de la base, ou le début de la plus ancienne
+     * transaction d'écriture en cours sur la base si elle est antérieure. Les sessions des autres rôles ne
+     * sont visibles qu'avec le rôle {@code pg_read_all_stats}.
+     *
+     * @return l'horizon
+     */
+    @Query(value = "SELECT least(now(), min(xact_start)) FROM pg_stat_activity "
+            + "WHERE datname = current_database() AND backend_xid IS NOT NULL AND pid <> pg_backend_pid()",
+            nativeQuery = true)
+    Instant findChangesHorizon();
+
+    /**
+     * Parcours des vues de tous les clients non supprimés par ordre d'identifiant, à travers un curseur
+     * JDBC ; aucune entité n'étant chargée, le contexte de persistance reste vide. Doit être consommé et
+     * fermé dans une transaction.
+     *
+     * @return le flux des vues
+     */
+    @Query(ClientView.SELECT + "WHERE c.deleted = false ORDER BY c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    Stream<ClientView> streamAllViews();
+
+    /**
+     * Totaux des salaires par profession des clients non supprimés (professions renseignées seulement). Les
+     * colonnes lues sont toutes dans l'index {@code idx_clients_active_profession_salaire} : {@code COUNT(*)}
+     * plutôt que {@code COUNT(c)}, qui lirait l'identifiant dans la table.
+     *
+     * @return {@link List <ProfessionSalaryTotals>}
+     */
+    @Query("SELECT new com.agitex.climax.dtos.ProfessionSalaryTotals(c.profession, COUNT(*), COUNT(c.salaire), "
+            + "COALESCE(SUM(c.salaire), 0)) FROM Client c "
+            + "WHERE c.deleted = false AND c.profession IS NOT NULL GROUP BY c.profession")
+    List<ProfessionSalaryTotals> findSalaryTotalsByProfession();
+
+    /**
+     * Instantané de la transaction courante. Première lecture d'une transaction {@code REPEATABLE READ}, elle
+     * en fixe l'instantané : les lectures suivantes voient exactement les transactions validées avant elle.
+     *
+     * @return l'instantané, au format {@code xmin:xmax:xip}
+     */
+    @Query(value = "SELECT CAST(txid_current_snapshot() AS text)", nativeQuery = true)
+    String takeSnapshot();
+
+    /**
+     * Parcours, à travers un curseur JDBC, de la profession, de l'âge et du salaire des clients non supprimés
+     * dont le salaire est renseigné. Doit être consommé et fermé dans une transaction.
+     *
+     * @return le flux des salaires
      */
-    @Query("SELECT c.profession, AVG(c.salaire) FROM Client c GROUP BY c.profession")
-    List<Object[]> findAverageSalaryByProfession();
+    @Query("SELECT new com.agitex.climax.dtos.SalarySample(c.profession, c.age, c.salaire) FROM Client c "
+            + "WHERE c.deleted = false AND c.salaire IS NOT NULL")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    Stream<SalarySample> streamSalarySamples();
 }
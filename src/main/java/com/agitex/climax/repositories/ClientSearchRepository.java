@@ -0,0 +1,28 @@
+package com.agitex.climax.repositories;
+
+import com.agitex.climax.dtos.ClientSearchCursor;
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientSortField;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Recherche de clients par critères, projetée en {@link ClientView} et paginée par curseur.
+ */
+public interface ClientSearchRepository {
+
+    /**
+     * Page de clients satisfaisant un critère, triés par un champ puis par identifiant, dans le même sens ;
+     * les clients dont le champ n'est pas renseigné viennent en dernier, par identifiant.
+     *
+     * @param filter    le critère de recherche
+     * @param sortField le champ de tri
+     * @param ascending le sens du tri
+     * @param after     la position du dernier client de la page précédente, {@code null} pour la première
+     * @param size      la taille de la page
+     * @return la page, dont {@link Slice#hasNext()} indique si une autre la suit
+     */
+    Slice<ClientView> search(Specification<Client> filter, ClientSortField sortField, boolean ascending,
+                             ClientSearchCursor after, int size);
+}
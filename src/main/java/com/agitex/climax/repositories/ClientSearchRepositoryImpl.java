@@ -0,0 +1,82 @@
+package com.agitex.climax.repositories;
+
+import com.agitex.climax.dtos.ClientSearchCursor;
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémentation de {@link ClientSearchRepository} par l'API Criteria.
+ * <p>
+ * Chaque page est lue en une requête {@code WHERE ... ORDER BY champ, id LIMIT taille + 1}, positionnée par
+ * la valeur du champ et l'identifiant du dernier client lu plutôt que par un décalage : son coût ne dépend
+ * pas du rang de la page. Les clients dont le champ de tri n'est pas renseigné sont lus ensuite, par une
+ * seconde requête triée par identifiant, chaque requête restant ainsi un parcours d'index ordonné.
+ */
+public final class ClientSearchRepositoryImpl implements ClientSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Slice<ClientView> search(final Specification<Client> filter, final ClientSortField sortField,
+                                    final boolean ascending, final ClientSearchCursor after, final int size) {
+        List<ClientView> clients = new ArrayList<>(size + 1);
+        if (sortField == ClientSortField.ID) {
+            clients.addAll(fetch(filter.and(ClientSpecifications.idAfter(after != null ? after.id() : null,
+                    ascending)), sortField, ascending, size + 1));
+        } else {
+            if (after == null || after.value() != null) {
+                Specification<Client> page = after == null ? ClientSpecifications.isSet(sortField, true)
+                        : ClientSpecifications.after(sortField, ascending, (Comparable) after.value(), after.id());
+                clients.addAll(fetch(filter.and(page), sortField, ascending, size + 1));
+            }
+            if (clients.size() <= size) {
+                Long afterId = after != null && after.value() == null ? after.id() : null;
+                clients.addAll(fetch(filter.and(ClientSpecifications.isSet(sortField, false))
+                                .and(ClientSpecifications.idAfter(afterId, ascending)),
+                        ClientSortField.ID, ascending, size + 1 - clients.size()));
+            }
+        }
+        boolean hasNext = clients.size() > size;
+        return new SliceImpl<>(hasNext ? clients.subList(0, size) : clients, PageRequest.ofSize(size), hasNext);
+    }
+
+    private List<ClientView> fetch(final Specification<Client> specification, final ClientSortField sortField,
+                                   final boolean ascending, final int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ClientView> query = cb.createQuery(ClientView.class);
+        Root<Client> c = query.from(Client.class);
+        query.select(cb.construct(ClientView.class, c.get("createdBy"), c.get("createdDate"),
+                c.get("lastModifiedBy"), c.get("lastModifiedDate"), c.get("deleted"), c.get("id"), c.get("nom"),
+                c.get("prenom"), c.get("profession"), c.get("age"), c.get("salaire")));
+        Predicate predicate = specification.toPredicate(c, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Order> order = new ArrayList<>(2);
+        if (sortField != ClientSortField.ID) {
+            Expression<?> value = ClientSpecifications.sortExpression(sortField, c, cb);
+            order.add(ascending ? cb.asc(value) : cb.desc(value));
+        }
+        order.add(ascending ? cb.asc(c.get("id")) : cb.desc(c.get("id")));
+        query.orderBy(order);
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.agitex.climax.repositories;
+
+import com.agitex.climax.dtos.ClientSearchCriteria;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientSortField;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Critères de recherche des clients. Les champs texte sont comparés dans la collation {@code "C"} (ordre
+ * binaire), celle des index {@code idx_clients_active_nom} et {@code idx_clients_active_prenom} : un
+ * filtre par début de nom y est une plage d'index quelle que soit la locale de la base.
+ */
+public final class ClientSpecifications {
+
+    private static final String BINARY_COLLATION = "\"C\"";
+    private static final char ESCAPE = '\\';
+
+    private ClientSpecifications() {
+    }
+
+    /**
+     * @param criteria les filtres de la recherche
+     * @return les clients non supprimés satisfaisant tous les filtres renseignés
+     */
+    public static Specification<Client> matching(final ClientSearchCriteria criteria) {
+        return Specification.where(notDeleted())
+                .and(startsWith(ClientSortField.NOM, criteria.nom()))
+                .and(startsWith(ClientSortField.PRENOM, criteria.prenom()))
+                .and(criteria.profession() == null ? null
+                        : (root, query, cb) -> cb.equal(root.get("profession"), criteria.profession()))
+                .and(between("age", criteria.ageMin(), criteria.ageMax()))
+                .and(between("salaire", criteria.salaireMin(), criteria.salaireMax()));
+    }
+
+    /**
+     * Clients placés après la position donnée dans l'ordre (champ, identifiant), parmi ceux dont le champ est
+     * renseigné. La borne redondante sur le seul champ fait démarrer le parcours de l'index à la position.
+     *
+     * @param field     le champ de tri
+     * @param ascending le sens du tri
+     * @param value     la valeur du champ à la position
+     * @param id        l'identifiant à la position
+     * @param <T>       le type du champ
+     * @return le critère
+     */
+    public static <T extends Comparable<? super T>> Specification<Client> after(final ClientSortField field,
+                                                                              final boolean ascending,
+                                                                              final T value, final Long id) {
+        return (root, query, cb) -> {
+            Expression<T> sortValue = sortExpression(field, root, cb);
+            Expression<Long> sortId = root.get("id");
+            return ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(sortValue, value),
+                    cb.or(cb.greaterThan(sortValue, value), cb.greaterThan(sortId, id)))
+                    : cb.and(cb.lessThanOrEqualTo(sortValue, value),
+                    cb.or(cb.lessThan(sortValue, value), cb.lessThan(sortId, id)));
+        };
+    }
+
+    /**
+     * @param id        l'identifiant à la position, ou {@code null} pour ne pas filtrer
+     * @param ascending le sens du tri
+     * @return les clients d'identifiant placé après la position
+     */
+    public static Specification<Client> idAfter(final Long id, final boolean ascending) {
+        if (id == null) {
+            return null;
+        }
+        return (root, query, cb) -> ascending ? cb.greaterThan(root.get("id"), id) : cb.lessThan(root.get("id"), id);
+    }
+
+    /**
+     * @param field le champ
+     * @param isSet {@code true} pour les clients dont le champ est renseigné, {@code false} pour les autres
+     * @return le critère
+     */
+    public static Specification<Client> isSet(final ClientSortField field, final boolean isSet) {
+        return (root, query, cb) -> isSet ? cb.isNotNull(root.get(field.getAttribute()))
+                : cb.isNull(root.get(field.getAttribute()));
+    }
+
+    /**
+     * Expression de tri ou de comparaison d'un champ, dans la collation binaire pour un champ texte.
+     *
+     * @param field le champ
+     * @param root  la racine de la requête
+     * @param cb    le constructeur de critères
+     * @param <T>   le type du champ
+     * @return l'expression
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Expression<T> sortExpression(final ClientSortField field, final Root<Client> root,
+                                                   final CriteriaBuilder cb) {
+        if (!field.isText()) {
+            return root.get(field.getAttribute());
+        }
+        return (Expression<T>) ((HibernateCriteriaBuilder) cb).collate(root.get(field.getAttribute()),
+                BINARY_COLLATION);
+    }
+
+    private static Specification<Client> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    private static Specification<Client> startsWith(final ClientSortField field, final String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(sortExpression(field, root, cb), pattern, ESCAPE);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Client> between(final String attribute,
+                                                                                 final T min, final T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<T> value = root.get(attribute);
+            if (min == null) {
+                return cb.lessThanOrEqualTo(value, max);
+            }
+            return max == null ? cb.greaterThanOrEqualTo(value, min) : cb.between(value, min, max);
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.agitex.climax.resources;
+
+import com.agitex.climax.dtos.ClientEventBatchDTO;
+import com.agitex.climax.dtos.ClientEventOffset;
+import com.agitex.climax.services.ClientEventFeed;
+import com.agitex.climax.utils.Constant;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/api/")
+public class ClientEventResource {
+
+    private final ClientEventFeed clientEventFeed;
+
+    /**
+     * Instantiates a new Client event resource.
+     *
+     * @param clientEventFeed the client event feed
+     */
+    public ClientEventResource(final ClientEventFeed clientEventFeed) {
+        this.clientEventFeed = clientEventFeed;
+    }
+
+    /**
+     * {@code GET  /clients/events} : get the client changes following an offset, waiting for some if there
+     * are none yet (long polling).
+     *
+     * @param offset the offset returned by the previous call (none to read from the oldest retained event).
+     * @param limit  the maximum number of events.
+     * @param wait   the maximum wait when no event is available ({@code PT0S} to answer at once).
+     * @return the {@link DeferredResult} completed with the events and the offset to pass to the next call,
+     * or with status {@code 400 (Bad Request)} if the offset or the limit is invalid.
+     */
+    @GetMapping("/clients/events")
+    @Operation(summary = "Endpoint permettant de lire les modifications de clients (attente longue).",
+            tags = {"Clients"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "400", description = "position ou taille invalide"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public DeferredResult<ClientEventBatchDTO> pollEvents(
+            @RequestParam(value = "offset", required = false) final String offset,
+            @RequestParam(value = "limit", defaultValue = "" + Constant.DEFAULT_EVENT_BATCH_SIZE) final int limit,
+            @RequestParam(value = "wait", defaultValue = "PT30S") final Duration wait) {
+        log.debug("REST request to poll client events after : {}", offset);
+        if (limit <= 0 || wait.isNegative()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Taille de lot ou attente invalide");
+        }
+        return clientEventFeed.poll(decode(offset), limit, wait);
+    }
+
+    /**
+     * {@code GET  /clients/events/stream} : stream the client changes following an offset as Server-Sent
+     * Events, one message per batch of events, identified by the offset to resume from.
+     *
+     * @param offset      the offset to start from (none to read from the oldest retained event).
+     * @param lastEventId the id of the last message received, sent by the browser when it reconnects; it takes
+     *                    precedence over {@code offset}.
+     * @param limit       the maximum number of events per message.
+     * @return the event stream, or status {@code 400 (Bad Request)} if the offset or the limit is invalid.
+     */
+    @GetMapping(value = "/clients/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Endpoint permettant de suivre les modifications de clients (Server-Sent Events).",
+            tags = {"Clients"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "400", description = "position ou taille invalide"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public SseEmitter streamEvents(
+            @RequestParam(value = "offset", required = false) final String offset,
+            @RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId,
+            @RequestParam(value = "limit", defaultValue = "" + Constant.DEFAULT_EVENT_BATCH_SIZE) final int limit) {
+        log.debug("REST request to stream client events after : {}", lastEventId != null ? lastEventId : offset);
+        if (limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Taille de lot invalide");
+        }
+        return clientEventFeed.stream(decode(lastEventId != null ? lastEventId : offset), limit);
+    }
+
+    private static ClientEventOffset decode(final String offset) {
+        try {
+            return ClientEventOffset.decode(offset);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
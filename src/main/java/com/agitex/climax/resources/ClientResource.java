@@ -1,15 +1,44 @@
 package com.agitex.climax.resources;
 
+import com.agitex.climax.dtos.BulkItemResultDTO;
+import com.agitex.climax.dtos.BulkOperationDTO;
+import com.agitex.climax.dtos.ClientChangeWatermark;
+import com.agitex.climax.dtos.ClientChanges;
 import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientSearchCriteria;
+import com.agitex.climax.dtos.ClientSearchCursor;
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.dtos.ImportJobDTO;
 import com.agitex.climax.dtos.ProfessionSalaireDTO;
+import com.agitex.climax.dtos.SalaryStatisticsDTO;
+import com.agitex.climax.enums.ClientSortField;
+import com.agitex.climax.enums.ExportFormat;
+import com.agitex.climax.enums.ImportMode;
+import com.agitex.climax.enums.Representation;
+import com.agitex.climax.enums.StatisticsGrouping;
+import com.agitex.climax.services.ClientBulkService;
+import com.agitex.climax.services.ClientExportService;
 import com.agitex.climax.services.ClientService;
-import com.agitex.climax.services.FichierService;
+import com.agitex.climax.services.ImportJobService;
+import com.agitex.climax.services.SalaryStatisticsService;
+import com.agitex.climax.utils.Constant;
 import com.agitex.climax.utils.HeaderUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,11 +50,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -33,20 +69,38 @@ import java.util.Optional;
 public class ClientResource {
 
     private static final String ENTITY_NAME = "Client";
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
     private final ClientService clientService;
-    private final FichierService fichierService;
+    private final ClientBulkService clientBulkService;
+    private final ImportJobService importJobService;
+    private final SalaryStatisticsService salaryStatisticsService;
+    private final ClientExportService clientExportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Instantiates a new Client resource.
      *
-     * @param clientService  the client service
-     * @param fichierService the file service
+     * @param clientService           the client service
+     * @param clientBulkService       the bulk operations service
+     * @param importJobService        the import job service
+     * @param salaryStatisticsService the salary statistics service
+     * @param clientExportService     the export service
+     * @param objectMapper            the JSON mapper used to stream clients
      */
     public ClientResource(final ClientService clientService,
-                          final FichierService fichierService) {
+                          final ClientBulkService clientBulkService,
+                          final ImportJobService importJobService,
+                          final SalaryStatisticsService salaryStatisticsService,
+                          final ClientExportService clientExportService,
+                          final ObjectMapper objectMapper) {
         this.clientService = clientService;
-        this.fichierService = fichierService;
+        this.clientBulkService = clientBulkService;
+        this.importJobService = importJobService;
+        this.salaryStatisticsService = salaryStatisticsService;
+        this.clientExportService = clientExportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -115,25 +169,206 @@ public class ClientResource {
     }
 
     /**
-     * {@code GET  /clients} : get all the clients.
+     * {@code GET  /clients} : get a page of clients, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of clients in body.
+     * @param after the id of the last client of the previous page (absent for the first page).
+     * @param size  the page size (at most {@value Constant#MAX_PAGE_SIZE}).
+     * @param view  the representation ({@code LEAN} leaves out the audit fields).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of clients in body (JSON, XML,
+     * Smile or CBOR according to the {@code Accept} header); the {@code Link} and {@code X-climax-next-cursor}
+     * headers give the next page, if any.
      */
     @GetMapping("/clients")
-    @Operation(summary = "Endpoint permettant de retourner la liste des clients.", tags = {"Clients"},
+    @Operation(summary = "Endpoint permettant de retourner une page de clients.", tags = {"Clients"},
             responses = {
                     @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page size"),
                     @ApiResponse(responseCode = "401", description = "not authorized!"),
                     @ApiResponse(responseCode = "403", description = "forbidden!!!"),
                     @ApiResponse(responseCode = "404", description = "not found!!!"),
                     @ApiResponse(responseCode = "204", description = "empty List"),
                     @ApiResponse(responseCode = "500", description = "Internal Error")})
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        log.debug("REST request to get all Clients");
-        List<ClientDTO> clients = clientService.findAll();
-        return ResponseEntity.ok(clients);
+    public ResponseEntity<MappingJacksonValue> getAllClients(
+            @RequestParam(value = "after", required = false) final Long after,
+            @RequestParam(value = "size", defaultValue = "" + Constant.DEFAULT_PAGE_SIZE) final int size,
+            @RequestParam(value = "view", defaultValue = "FULL") final Representation view) {
+        log.debug("REST request to get a page of Clients after : {}", after);
+        if (size < 1 || size > Constant.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La taille de page doit être comprise entre 1 et " + Constant.MAX_PAGE_SIZE);
+        }
+        Slice<ClientView> page = clientService.findPage(after, size);
+        List<ClientView> clients = page.getContent();
+        Long nextCursor = page.hasNext() ? clients.get(clients.size() - 1).id() : null;
+        return ResponseEntity.ok()
+                .headers(HeaderUtil.createCursorHeaders(ServletUriComponentsBuilder.fromCurrentRequest(),
+                        nextCursor, size))
+                .body(withView(clients, view));
     }
 
+    /**
+     * {@code GET  /clients/search} : search the clients by criteria, with keyset paging.
+     *
+     * @param criteria  the filters, each one optional: {@code nom} and {@code prenom} (beginning, case-sensitive),
+     *                  {@code profession}, {@code ageMin}, {@code ageMax}, {@code salaireMin}, {@code salaireMax}.
+     * @param sort      the sort field, ties being broken by id; clients without a value come last.
+     * @param direction the sort direction.
+     * @param cursor    the cursor returned with the previous page (absent for the first page).
+     * @param size      the page size (at most {@value Constant#MAX_PAGE_SIZE}).
+     * @param view      the representation ({@code LEAN} leaves out the audit fields).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of clients in body; the
+     * {@code Link} and {@code X-climax-next-cursor} headers give the next page, if any.
+     */
+    @GetMapping("/clients/search")
+    @Operation(summary = "Endpoint permettant de rechercher des clients par critères.", tags = {"Clients"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page size or cursor"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<MappingJacksonValue> searchClients(
+            @ParameterObject final ClientSearchCriteria criteria,
+            @RequestParam(value = "sort", defaultValue = "ID") final ClientSortField sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") final Sort.Direction direction,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "size", defaultValue = "" + Constant.DEFAULT_PAGE_SIZE) final int size,
+            @RequestParam(value = "view", defaultValue = "FULL") final Representation view) {
+        log.debug("REST request to search Clients");
+        if (size < 1 || size > Constant.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La taille de page doit être comprise entre 1 et " + Constant.MAX_PAGE_SIZE);
+        }
+        ClientSearchCursor after;
+        try {
+            after = cursor != null ? ClientSearchCursor.decode(cursor, sort) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Slice<ClientView> page = clientService.search(criteria, sort, direction.isAscending(), after, size);
+        List<ClientView> clients = page.getContent();
+        String nextCursor = page.hasNext()
+                ? ClientSearchCursor.after(clients.get(clients.size() - 1), sort).encode() : null;
+        return ResponseEntity.ok()
+                .headers(HeaderUtil.createCursorHeaders(ServletUriComponentsBuilder.fromCurrentRequest(),
+                        nextCursor, size))
+                .body(withView(clients, view));
+    }
+
+    /**
+     * {@code GET  /clients/changes} : get the clients modified after a watermark, soft-deleted ones included
+     * ({@code deleted: true}), ordered by modification date then id, for an incremental sync.
+     *
+     * @param since the watermark returned by the previous sync (absent for a full sync).
+     * @param size  the page size (at most {@value Constant#MAX_PAGE_SIZE}).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the modified clients in body, with
+     * their audit fields; the {@code X-climax-watermark} header gives the watermark for the next sync, and the
+     * {@code Link} header the next page, if more changes already follow. Status {@code 400 (Bad Request)} if
+     * the watermark or the page size is invalid.
+     */
+    @GetMapping("/clients/changes")
+    @Operation(summary = "Endpoint permettant de retourner les clients modifiés depuis une synchronisation.",
+            tags = {"Clients"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page size or watermark"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<MappingJacksonValue> getClientChanges(
+            @RequestParam(value = "since", required = false) final String since,
+            @RequestParam(value = "size", defaultValue = "" + Constant.MAX_PAGE_SIZE) final int size) {
+        log.debug("REST request to get the Client changes since : {}", since);
+        if (size < 1 || size > Constant.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La taille de page doit être comprise entre 1 et " + Constant.MAX_PAGE_SIZE);
+        }
+        ClientChangeWatermark watermark;
+        try {
+            watermark = ClientChangeWatermark.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        ClientChanges changes = clientService.findChanges(watermark, size);
+        return ResponseEntity.ok()
+                .headers(HeaderUtil.createWatermarkHeaders(ServletUriComponentsBuilder.fromCurrentRequest(),
+                        changes.watermark().encode(), changes.hasMore(), size))
+                .body(withView(changes.clients(), Representation.FULL));
+    }
+
+    /**
+     * {@code GET  /clients/stream} : stream all the clients, one JSON document per line (NDJSON).
+     *
+     * @param view the representation ({@code LEAN} leaves out the audit fields).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the clients, ordered by id, in body.
+     */
+    @GetMapping(value = "/clients/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Endpoint permettant d'exporter tous les clients au format NDJSON.", tags = {"Clients"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<StreamingResponseBody> streamAllClients(
+            @RequestParam(value = "view", defaultValue = "FULL") final Representation view) {
+        log.debug("REST request to stream all Clients");
+        // Pas de vidage après chaque client : le flux de réponse est envoyé par blocs.
+        ObjectWriter writer = objectMapper.writerWithView(view.getView())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                clientService.streamAll(client -> {
+                    try {
+                        writer.writeValue(generator, client);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * {@code GET  /clients/export} : export all the clients in one of the import formats.
+     *
+     * @param format the format ({@code CSV}, {@code JSON} or {@code XML}).
+     * @param gzip   whether to send the file gzip-compressed.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the clients, ordered by id, as an
+     * attachment.
+     */
+    @GetMapping("/clients/export")
+    @Operation(summary = "Endpoint permettant d'exporter tous les clients en CSV, JSON ou XML.", tags = {"Clients"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "400", description = "format inconnu"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<StreamingResponseBody> exportClients(
+            @RequestParam(value = "format", defaultValue = "CSV") final ExportFormat format,
+            @RequestParam(value = "gzip", defaultValue = "false") final boolean gzip) {
+        log.debug("REST request to export all Clients as {}", format);
+        String filename = "clients." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                clientExportService.export(format, out);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            clientExportService.export(format, compressed);
+            compressed.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 
     /**
      * {@code GET  /clients/:id} : get the "id" client.
@@ -200,30 +435,135 @@ public class ClientResource {
         return ResponseEntity.ok(clientService.averageSalaireByProfession());
     }
 
+    /**
+     * {@code GET  /clients/salary-statistics} : salary statistics (count, min, max, mean, standard deviation,
+     * approximate p50/p90/p99) by profession and/or age band.
+     *
+     * @param groupBy the groupings (none for overall statistics).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and one line per group in body.
+     */
+    @GetMapping("/clients/salary-statistics")
+    @Operation(summary = "Endpoint permettant de calculer les statistiques des salaires par profession et/ou "
+            + "tranche d'âge.", tags = {"Clients"}, responses = {
+            @ApiResponse(responseCode = "200", description = "Success|OK"),
+            @ApiResponse(responseCode = "400", description = "Unknown grouping"),
+            @ApiResponse(responseCode = "401", description = "not authorized!"),
+            @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+            @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<List<SalaryStatisticsDTO>> salaryStatistics(
+            @RequestParam(value = "groupBy", required = false) final Set<StatisticsGrouping> groupBy) {
+        log.debug("REST request to get salary statistics by {}", groupBy);
+        return ResponseEntity.ok(salaryStatisticsService.statistics(groupBy == null
+                ? EnumSet.noneOf(StatisticsGrouping.class) : groupBy));
+    }
+
+    /**
+     * {@code POST  /clients/_bulk} : executes a mixed batch of client creations, updates and deletions.
+     *
+     * @param operations the operations (at most {@value Constant#MAX_BULK_SIZE}).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the result of each operation in body,
+     * in request order, or with status {@code 400 (Bad Request)} if the batch is empty or too large.
+     */
+    @PostMapping("/clients/_bulk")
+    @Operation(summary = "Endpoint permettant d'enregistrer, modifier et supprimer des clients par lot.",
+            tags = {"Clients"}, responses = {
+            @ApiResponse(responseCode = "200", description = "Success|OK"),
+            @ApiResponse(responseCode = "400", description = "Empty or too large batch"),
+            @ApiResponse(responseCode = "401", description = "not authorized!"),
+            @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+            @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<List<BulkItemResultDTO>> bulkClients(@RequestBody final List<BulkOperationDTO> operations) {
+        log.debug("REST request to execute a bulk of {} client operations", operations.size());
+        if (operations.isEmpty() || operations.size() > Constant.MAX_BULK_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Le lot doit contenir entre 1 et " + Constant.MAX_BULK_SIZE + " opérations");
+        }
+        return ResponseEntity.ok(clientBulkService.execute(operations));
+    }
+
     /**
      * Save client data using upload file.
      *
      * @param file
-     * @return clients.
+     * @param mode the persistence strategy ({@code STANDARD} batched inserts, PostgreSQL {@code COPY}, or
+     *             {@code UPSERT} idempotent inserts keyed on the natural key).
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the import job,
+     * whose progress is available at {@code /imports/:id}, or with status {@code 400 (Bad Request)} if the file
+     * type is not supported.
      */
     @PostMapping(value = "/clients/upload-save-clients", consumes = {"multipart/form-data"})
     @Operation(summary = "Endpoint permettant de charger un fichier contenant les données d'un client.",
             tags = {"Clients"}, responses = {
-            @ApiResponse(responseCode = "200", description = "Success|OK"),
+            @ApiResponse(responseCode = "202", description = "Accepted"),
+            @ApiResponse(responseCode = "400", description = "Unsupported file type"),
             @ApiResponse(responseCode = "401", description = "not authorized!"),
             @ApiResponse(responseCode = "403", description = "forbidden!!!"),
             @ApiResponse(responseCode = "404", description = "not found!!!"),
-            @ApiResponse(responseCode = "204", description = "empty List"),
+            @ApiResponse(responseCode = "503", description = "Too many pending imports"),
             @ApiResponse(responseCode = "500", description = "Internal Error")})
-    public ResponseEntity<String> createClients(@RequestParam("file") final MultipartFile file) {
+    public ResponseEntity<ImportJobDTO> createClients(
+            @RequestParam("file") final MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "STANDARD") final ImportMode mode) {
         try {
-            fichierService.saveClientData(file);
-            return ResponseEntity.ok("File uploaded successfully!");
+            ImportJobDTO job = importJobService.submit(file, mode);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/v1/api/imports/" + job.getId()))
+                    .body(job);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to upload file: " + e.getMessage());
+                    .headers(HeaderUtil.createFailureAlert(ENTITY_NAME, "upload",
+                            "Failed to upload file: " + e.getMessage()))
+                    .build();
         }
     }
 
+    /**
+     * Save client data from several files, or from the entries of ZIP / tar.gz archives, in a single job.
+     *
+     * @param files the data files ({@code .csv}, {@code .json}, {@code .xml}, {@code .txt}) or archives
+     *              ({@code .zip}, {@code .tar.gz}, {@code .tgz}) holding such files.
+     * @param mode  the persistence strategy, applied to every file.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the import job,
+     * whose progress, in total and per file, is available at {@code /imports/:id}.
+     */
+    @PostMapping(value = "/clients/upload-batch", consumes = {"multipart/form-data"})
+    @Operation(summary = "Endpoint permettant de charger plusieurs fichiers ou archives de clients.",
+            tags = {"Clients"}, responses = {
+            @ApiResponse(responseCode = "202", description = "Accepted"),
+            @ApiResponse(responseCode = "400", description = "Unsupported file type"),
+            @ApiResponse(responseCode = "401", description = "not authorized!"),
+            @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+            @ApiResponse(responseCode = "503", description = "Too many pending imports"),
+            @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<ImportJobDTO> createClientsFromFiles(
+            @RequestParam("files") final List<MultipartFile> files,
+            @RequestParam(value = "mode", defaultValue = "STANDARD") final ImportMode mode) {
+        try {
+            ImportJobDTO job = importJobService.submitAll(files, mode);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/v1/api/imports/" + job.getId()))
+                    .body(job);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .headers(HeaderUtil.createFailureAlert(ENTITY_NAME, "upload",
+                            "Failed to upload files: " + e.getMessage()))
+                    .build();
+        }
+    }
 
+    private static MappingJacksonValue withView(final Object body, final Representation view) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setSerializationView(view.getView());
+        return value;
+    }
 }
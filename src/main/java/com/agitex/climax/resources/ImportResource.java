@@ -0,0 +1,112 @@
+package com.agitex.climax.resources;
+
+import com.agitex.climax.dtos.ImportJobDTO;
+import com.agitex.climax.services.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/api/")
+public class ImportResource {
+
+    private final ImportJobService importJobService;
+
+    /**
+     * Instantiates a new Import resource.
+     *
+     * @param importJobService the import job service
+     */
+    public ImportResource(final ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * {@code GET  /imports/:id} : get the progress of the "id" import job.
+     *
+     * @param id the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job state,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/imports/{id}")
+    @Operation(summary = "Endpoint permettant de suivre l'avancement d'un import.", tags = {"Imports"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "404", description = "not found!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<ImportJobDTO> getImport(@PathVariable final UUID id) {
+        log.debug("REST request to get Import : {}", id);
+        return importJobService.findOne(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * {@code GET  /imports/:id/rejections} : download the rejected lines of the "id" import job.
+     *
+     * @param id the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the CSV report (one line per
+     * rejected line: file, line number, reason, detail and content), complete once the job is finished, or with
+     * status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/imports/{id}/rejections", produces = "text/csv")
+    @Operation(summary = "Endpoint permettant de télécharger les lignes rejetées d'un import.", tags = {"Imports"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success|OK"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "404", description = "not found!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<Resource> getImportRejections(@PathVariable final UUID id) {
+        log.debug("REST request to get the rejections of Import : {}", id);
+        Resource report = importJobService.findRejections(id).orElseThrow(() -> notFound(id));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("rejets-" + id + ".csv").build().toString())
+                .body(report);
+    }
+
+    /**
+     * {@code DELETE  /imports/:id} : cancel the "id" import job.
+     *
+     * @param id the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the job state.
+     */
+    @DeleteMapping("/imports/{id}")
+    @Operation(summary = "Endpoint permettant d'annuler un import.", tags = {"Imports"},
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Accepted"),
+                    @ApiResponse(responseCode = "401", description = "not authorized!"),
+                    @ApiResponse(responseCode = "403", description = "forbidden!!!"),
+                    @ApiResponse(responseCode = "404", description = "not found!!!"),
+                    @ApiResponse(responseCode = "500", description = "Internal Error")})
+    public ResponseEntity<ImportJobDTO> cancelImport(@PathVariable final UUID id) {
+        log.debug("REST request to cancel Import : {}", id);
+        return importJobService.cancel(id)
+                .map(job -> ResponseEntity.accepted().body(job))
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private static ResponseStatusException notFound(final UUID id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Aucun import avec l'identifiant " + id);
+    }
+}
@@ -0,0 +1,312 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.dtos.BulkItemResultDTO;
+import com.agitex.climax.dtos.BulkOperationDTO;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.enums.ClientEventType;
+import com.agitex.climax.mapper.ClientMapper;
+import com.agitex.climax.utils.NaturalKey;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Exécution d'un lot mixte de créations, mises à jour et suppressions de clients.
+ * <p>
+ * Chaque nature d'opération est regroupée en une commande JDBC par lots ({@code batchUpdate}) ; les
+ * suppressions logiques forment une seule commande {@code UPDATE ... WHERE id = ANY(?)}, l'ensemble des
+ * identifiants étant lié comme un unique tableau. Le lot est exécuté dans une seule transaction ; chaque
+ * opération reçoit son propre statut, une opération invalide ou visant un client absent n'empêchant pas
+ * les autres d'aboutir. Une création ou une mise à jour donnant à un client la clé naturelle d'un autre est
+ * refusée (409). Les modifications abouties sont publiées dans le flux des événements clients.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Timed(value = "climax.client.bulk", description = "Durée des lots d'opérations clients", histogram = true)
+public class ClientBulkService {
+
+    private static final String AUDITOR = "system";
+
+    private static final String INSERT_SQL = "INSERT INTO clients (id, nom, prenom, age, profession, salaire, "
+            + "natural_key, created_by, created_date, last_modified_by, last_modified_date, deleted) "
+            + "SELECT r.id, r.nom, r.prenom, r.age, r.profession, r.salaire, r.natural_key, ?, ?, ?, ?, false "
+            + "FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::integer[], ?::varchar[], ?::numeric[], "
+            + "?::uuid[]) AS r (id, nom, prenom, age, profession, salaire, natural_key) "
+            + "ON CONFLICT (natural_key) DO NOTHING RETURNING id";
+
+    private static final String LOCK_SQL = "SELECT id, profession, salaire FROM clients "
+            + "WHERE deleted = false AND id = ANY(?) FOR UPDATE";
+
+    private static final String UPDATE_SQL = "UPDATE clients SET nom = ?, prenom = ?, age = ?, profession = ?, "
+            + "salaire = ?, natural_key = ?, last_modified_by = ?, last_modified_date = ? WHERE id = ? "
+            + "AND NOT EXISTS (SELECT 1 FROM clients o WHERE o.natural_key = ? AND o.id <> ?)";
+
+    private static final String CONFLICT = "Un autre client a déjà la même clé naturelle";
+
+    private static final String DELETE_SQL = "UPDATE clients SET deleted = true, last_modified_by = ?, "
+            + "last_modified_date = ? WHERE deleted = false AND id = ANY(?) RETURNING id, profession, salaire";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientIdAllocator clientIdAllocator;
+    private final ImportProperties importProperties;
+    private final SalaryAggregate salaryAggregate;
+    private final ClientCache clientCache;
+    private final ClientEventOutbox clientEventOutbox;
+    private final ClientMapper clientMapper;
+    private final NaturalKey naturalKey;
+
+    /**
+     * Exécute un lot d'opérations.
+     *
+     * @param operations les opérations, dans l'ordre de la requête
+     * @return le résultat de chaque opération, à la même position que l'opération
+     */
+    public List<BulkItemResultDTO> execute(final List<BulkOperationDTO> operations) {
+        log.debug("Request to execute a bulk of {} client operations", operations.size());
+        BulkItemResultDTO[] results = new BulkItemResultDTO[operations.size()];
+        List<Integer> creations = new ArrayList<>();
+        Map<Long, Integer> updates = new HashMap<>();
+        Map<Long, Integer> deletions = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BulkOperationDTO operation = operations.get(i);
+            String error = validate(operation, updates, deletions);
+            if (error != null) {
+                results[i] = result(operation, HttpStatus.BAD_REQUEST, error);
+            } else {
+                switch (operation.getAction()) {
+                    case CREATE -> creations.add(i);
+                    case UPDATE -> updates.put(operation.getId(), i);
+                    default -> deletions.put(operation.getId(), i);
+                }
+            }
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        SalaryAggregate.Delta delta = new SalaryAggregate.Delta();
+        create(operations, creations, results, delta, now);
+        update(operations, updates, results, delta, now);
+        delete(operations, deletions, results, delta, now);
+        salaryAggregate.applyAfterCommit(delta);
+        updates.keySet().forEach(clientCache::evict);
+        deletions.keySet().forEach(clientCache::evict);
+        return List.of(results);
+    }
+
+    private static String validate(final BulkOperationDTO operation, final Map<Long, Integer> updates,
+                                   final Map<Long, Integer> deletions) {
+        if (operation == null || operation.getAction() == null) {
+            return "Action manquante";
+        }
+        Long id = operation.getId();
+        switch (operation.getAction()) {
+            case CREATE -> {
+                if (id != null) {
+                    return "Un nouveau client ne peut pas avoir d'identifiant";
+                }
+                return operation.getClient() == null ? "Client manquant" : null;
+            }
+            case UPDATE -> {
+                if (id == null || operation.getClient() == null) {
+                    return id == null ? "Identifiant manquant" : "Client manquant";
+                }
+                if (operation.getClient().getId() != null && !id.equals(operation.getClient().getId())) {
+                    return "Identifiants incohérents";
+                }
+            }
+            default -> {
+                if (id == null) {
+                    return "Identifiant manquant";
+                }
+            }
+        }
+        return updates.containsKey(id) || deletions.containsKey(id)
+                ? "Client visé par plusieurs opérations du lot" : null;
+    }
+
+    private void create(final List<BulkOperationDTO> operations, final List<Integer> creations,
+                        final BulkItemResultDTO[] results, final SalaryAggregate.Delta delta, final Timestamp now) {
+        if (creations.isEmpty()) {
+            return;
+        }
+        long[] ids = clientIdAllocator.allocate(creations.size());
+        int size = creations.size();
+        Long[] idColumn = new Long[size];
+        String[] noms = new String[size];
+        String[] prenoms = new String[size];
+        Integer[] ages = new Integer[size];
+        String[] professions = new String[size];
+        BigDecimal[] salaires = new BigDecimal[size];
+        UUID[] keys = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            ClientDTO client = operations.get(creations.get(i)).getClient();
+            idColumn[i] = ids[i];
+            noms[i] = client.getNom();
+            prenoms[i] = client.getPrenom();
+            ages[i] = client.getAge();
+            professions[i] = client.getProfession();
+            salaires[i] = client.getSalaire();
+            keys[i] = naturalKey.of(clientMapper.toEntity(client));
+        }
+        // Une création dont la clé existe déjà, ou figure plus haut dans le lot, n'insère rien.
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            int column = 1;
+            ps.setString(column++, AUDITOR);
+            ps.setTimestamp(column++, now);
+            ps.setString(column++, AUDITOR);
+            ps.setTimestamp(column++, now);
+            for (Array array : List.of(connection.createArrayOf("bigint", idColumn),
+                    connection.createArrayOf("varchar", noms), connection.createArrayOf("varchar", prenoms),
+                    connection.createArrayOf("integer", ages), connection.createArrayOf("varchar", professions),
+                    connection.createArrayOf("numeric", salaires), connection.createArrayOf("uuid", keys))) {
+                ps.setArray(column++, array);
+            }
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+        List<Long> created = new ArrayList<>(inserted.size());
+        for (int i = 0; i < size; i++) {
+            BulkOperationDTO operation = operations.get(creations.get(i));
+            if (inserted.contains(ids[i])) {
+                delta.add(professions[i], salaires[i]);
+                created.add(ids[i]);
+                results[creations.get(i)] = new BulkItemResultDTO(operation.getAction(), ids[i],
+                        HttpStatus.CREATED.value(), null);
+            } else {
+                results[creations.get(i)] = result(operation, HttpStatus.CONFLICT, CONFLICT);
+            }
+        }
+        clientEventOutbox.append(ClientEventType.CREATED, created);
+    }
+
+    private void update(final List<BulkOperationDTO> operations, final Map<Long, Integer> updates,
+                        final BulkItemResultDTO[] results, final SalaryAggregate.Delta delta, final Timestamp now) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        // Verrouille les clients visés et relève leurs valeurs actuelles pour les totaux de salaires.
+        Map<Long, ClientDTO> previous = new HashMap<>();
+        jdbcTemplate.query(withIds(LOCK_SQL, updates), rs -> {
+            ClientDTO client = new ClientDTO();
+            client.setProfession(rs.getString("profession"));
+            client.setSalaire(rs.getBigDecimal("salaire"));
+            previous.put(rs.getLong("id"), client);
+        });
+        List<ClientDTO> clients = new ArrayList<>(previous.size());
+        for (Long id : previous.keySet()) {
+            ClientDTO client = operations.get(updates.get(id)).getClient();
+            client.setId(id);
+            clients.add(client);
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, clients, importProperties.getBatchSize(),
+                (ps, client) -> {
+                    UUID key = naturalKey.of(clientMapper.toEntity(client));
+                    int column = 1;
+                    ps.setString(column++, client.getNom());
+                    ps.setString(column++, client.getPrenom());
+                    ps.setObject(column++, client.getAge(), Types.INTEGER);
+                    ps.setString(column++, client.getProfession());
+                    ps.setBigDecimal(column++, client.getSalaire());
+                    ps.setObject(column++, key);
+                    ps.setString(column++, AUDITOR);
+                    ps.setTimestamp(column++, now);
+                    ps.setLong(column++, client.getId());
+                    ps.setObject(column++, key);
+                    ps.setLong(column, client.getId());
+                });
+        List<Long> updated = new ArrayList<>(clients.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                ClientDTO client = clients.get(index++);
+                if (count > 0) {
+                    ClientDTO old = previous.get(client.getId());
+                    delta.remove(old.getProfession(), old.getSalaire());
+                    delta.add(client.getProfession(), client.getSalaire());
+                    updated.add(client.getId());
+                } else {
+                    int position = updates.get(client.getId());
+                    results[position] = result(operations.get(position), HttpStatus.CONFLICT, CONFLICT);
+                }
+            }
+        }
+        clientEventOutbox.append(ClientEventType.UPDATED, updated);
+        markResults(operations, updates, updated, results, HttpStatus.OK);
+    }
+
+    private void delete(final List<BulkOperationDTO> operations, final Map<Long, Integer> deletions,
+                        final BulkItemResultDTO[] results, final SalaryAggregate.Delta delta, final Timestamp now) {
+        if (deletions.isEmpty()) {
+            return;
+        }
+        List<Long> deleted = jdbcTemplate.query(withIds(DELETE_SQL, deletions, AUDITOR, now), (rs, rowNum) -> {
+            delta.remove(rs.getString("profession"), rs.getBigDecimal("salaire"));
+            return rs.getLong("id");
+        });
+        clientEventOutbox.append(ClientEventType.DELETED, deleted);
+        markResults(operations, deletions, deleted, results, HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Prépare une commande dont le dernier paramètre reçoit les identifiants sous forme d'un tableau
+     * {@code bigint[]} : la commande reste la même quel que soit le nombre d'identifiants.
+     *
+     * @param sql     la commande
+     * @param ids     les identifiants (clés de la table)
+     * @param leading les valeurs des paramètres précédant le tableau
+     * @return le créateur de la commande préparée
+     */
+    private static PreparedStatementCreator withIds(final String sql, final Map<Long, Integer> ids,
+                                                    final Object... leading) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            for (int i = 0; i < leading.length; i++) {
+                ps.setObject(i + 1, leading[i]);
+            }
+            ps.setArray(leading.length + 1, connection.createArrayOf("bigint", ids.keySet().toArray()));
+            return ps;
+        };
+    }
+
+    private static void markResults(final List<BulkOperationDTO> operations, final Map<Long, Integer> targets,
+                                    final List<Long> found, final BulkItemResultDTO[] results,
+                                    final HttpStatus status) {
+        for (Long id : found) {
+            int index = targets.get(id);
+            results[index] = result(operations.get(index), status, null);
+        }
+        targets.forEach((id, index) -> {
+            if (results[index] == null) {
+                results[index] = result(operations.get(index), HttpStatus.NOT_FOUND,
+                        "Aucun Client avec cet identifiant existe dans la base de données");
+            }
+        });
+    }
+
+    private static BulkItemResultDTO result(final BulkOperationDTO operation, final HttpStatus status,
+                                            final String error) {
+        return new BulkItemResultDTO(operation == null ? null : operation.getAction(),
+                operation == null ? null : operation.getId(), status.value(), error);
+    }
+}
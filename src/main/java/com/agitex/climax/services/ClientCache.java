@@ -0,0 +1,99 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ClientCacheProperties;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache de lecture des clients par identifiant, borné en taille et en durée de vie.
+ * <p>
+ * Les entrées sont des {@link ClientSnapshot} immuables ; les absences ne sont pas mises en cache.
+ * Les statistiques (succès, défauts, évictions) sont publiées sous le nom de cache {@code clients}.
+ */
+@Slf4j
+@Component
+public class ClientCache {
+
+    private static final String CACHE_NAME = "clients";
+
+    private final Cache<Long, ClientSnapshot> cache;
+
+    /**
+     * Instantiates a new Client cache.
+     *
+     * @param properties    the cache properties
+     * @param meterRegistry the registry receiving the cache metrics
+     */
+    public ClientCache(final ClientCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Lecture d'un client, chargé à la première demande puis servi depuis le cache.
+     *
+     * @param id     l'identifiant du client
+     * @param loader le chargement du client en cas d'absence du cache
+     * @return un DTO neuf, ou vide si le client n'existe pas
+     */
+    public Optional<ClientDTO> get(final Long id, final Function<Long, Optional<ClientDTO>> loader) {
+        ClientSnapshot snapshot = cache.get(id, key -> loader.apply(key).map(ClientSnapshot::of).orElse(null));
+        return Optional.ofNullable(snapshot).map(ClientSnapshot::toDto);
+    }
+
+    /**
+     * Éviction d'un client modifié. Dans une transaction, l'entrée est évincée immédiatement puis à nouveau
+     * après sa fin, une lecture concurrente ayant pu recharger l'ancienne valeur entre-temps.
+     *
+     * @param id l'identifiant du client
+     */
+    public void evict(final Long id) {
+        log.debug("Eviction du client {} du cache", id);
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Éviction de clients modifiés ensemble, avec une seule éviction différée à la fin de la transaction.
+     *
+     * @param ids les identifiants des clients
+     */
+    public void evict(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.debug("Eviction de {} clients du cache", ids.size());
+        cache.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    cache.invalidateAll(ids);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.entities.Client;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Chargement en masse des clients via {@code COPY clients FROM STDIN} (format CSV).
+ * <p>
+ * La connexion utilisée est celle de la transaction courante : un lot copié est annulé avec le reste
+ * de l'import en cas d'échec. Les colonnes d'audit sont renseignées côté serveur.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClientCopyLoader {
+
+    private static final String COPY_SQL = "COPY clients (id, nom, prenom, age, profession, salaire, natural_key, "
+            + "created_by, created_date, last_modified_by, last_modified_date, deleted) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String AUDITOR = "system";
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientIdAllocator clientIdAllocator;
+
+    /**
+     * Copie un lot de clients dans la table {@code clients}.
+     *
+     * @param clients les clients à charger, clé naturelle renseignée, qui reçoivent leur identifiant
+     * @return le nombre de lignes chargées, tel que rapporté par PostgreSQL
+     */
+    public long copy(final List<Client> clients) {
+        if (clients.isEmpty()) {
+            return 0;
+        }
+        long[] ids = clientIdAllocator.allocate(clients.size());
+        String now = Instant.now().toString();
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 2);
+                for (int i = 0; i < clients.size(); i++) {
+                    clients.get(i).setId(ids[i]);
+                    appendRow(buffer, ids[i], clients.get(i), now);
+                    if (buffer.length() >= FLUSH_THRESHOLD) {
+                        write(copyIn, buffer);
+                    }
+                }
+                write(copyIn, buffer);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        log.debug("{} clients chargés par COPY", copied);
+        return copied == null ? 0 : copied;
+    }
+
+    private static void write(final CopyIn copyIn, final StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendRow(final StringBuilder buffer, final long id, final Client client,
+                                  final String now) {
+        buffer.append(id).append(',');
+        appendText(buffer, client.getNom());
+        buffer.append(',');
+        appendText(buffer, client.getPrenom());
+        buffer.append(',');
+        if (client.getAge() != null) {
+            buffer.append(client.getAge().intValue());
+        }
+        buffer.append(',');
+        appendText(buffer, client.getProfession());
+        buffer.append(',');
+        if (client.getSalaire() != null) {
+            buffer.append(client.getSalaire().toPlainString());
+        }
+        buffer.append(',').append(client.getNaturalKey())
+                .append(',').append(AUDITOR)
+                .append(',').append(now)
+                .append(',').append(AUDITOR)
+                .append(',').append(now)
+                .append(",f\n");
+    }
+
+    /**
+     * Écrit un champ texte au format CSV de COPY : un champ vide non guillemeté vaut NULL, tout autre
+     * valeur est guillemetée pour préserver virgules, guillemets et chaînes vides.
+     *
+     * @param buffer le tampon de la commande COPY
+     * @param value  la valeur à écrire
+     */
+    private static void appendText(final StringBuilder buffer, final String value) {
+        if (value == null) {
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+}
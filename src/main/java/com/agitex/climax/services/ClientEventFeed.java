@@ -0,0 +1,271 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.EventFeedProperties;
+import com.agitex.climax.dtos.ClientEventBatchDTO;
+import com.agitex.climax.dtos.ClientEventDTO;
+import com.agitex.climax.dtos.ClientEventOffset;
+import com.agitex.climax.enums.ClientEventType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lecture du flux des événements clients ({@code client_events}), en attente longue ou en Server-Sent Events.
+ * <p>
+ * Les événements sont lus dans l'ordre (transaction, identifiant), et seulement ceux des transactions
+ * terminées : une position déjà lue ne peut plus voir apparaître d'événement avant elle, et un consommateur
+ * reprend sans perte ni doublon à la dernière position reçue. Une transaction d'écriture en cours retient
+ * donc les événements validés après son début, jusqu'à sa fin.
+ * <p>
+ * Les lecteurs en attente ne tiennent ni thread ni connexion : un unique thread les relit, à la validation
+ * de chaque écriture de cette instance et toutes les {@code climax.events.recheck-interval} pour les autres,
+ * avec une seule requête par position distincte.
+ */
+@Slf4j
+@Service
+public class ClientEventFeed {
+
+    private static final String READ_SQL = "SELECT tx_id, id, type, client_id, nom, prenom, age, profession, "
+            + "salaire, occurred_at FROM client_events WHERE (tx_id, id) > (?, ?) "
+            + "AND tx_id < txid_snapshot_xmin(txid_current_snapshot()) ORDER BY tx_id, id LIMIT ?";
+
+    private static final String PURGE_SQL = "DELETE FROM client_events WHERE occurred_at < ?";
+
+    private static final String SSE_EVENT_NAME = "clients";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventFeedProperties properties;
+    private final ThreadPoolTaskExecutor dispatcher;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    /**
+     * Instantiates a new Client event feed.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param properties   the feed configuration
+     */
+    public ClientEventFeed(final JdbcTemplate jdbcTemplate, final EventFeedProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.dispatcher = new ThreadPoolTaskExecutor();
+        dispatcher.setCorePoolSize(1);
+        dispatcher.setMaxPoolSize(1);
+        dispatcher.setThreadNamePrefix("client-events-");
+        dispatcher.initialize();
+    }
+
+    /**
+     * Lit les événements suivant une position, en attendant qu'il en arrive si aucun n'est disponible.
+     *
+     * @param after la position du dernier événement reçu
+     * @param limit le nombre maximal d'événements
+     * @param wait  l'attente maximale, bornée par {@code climax.events.max-wait} ; nulle pour répondre aussitôt
+     * @return le lot, vide si aucun événement n'est arrivé pendant l'attente
+     */
+    public DeferredResult<ClientEventBatchDTO> poll(final ClientEventOffset after, final int limit,
+                                                    final Duration wait) {
+        Duration timeout = wait.compareTo(properties.getMaxWait()) > 0 ? properties.getMaxWait() : wait;
+        ClientEventBatchDTO empty = new ClientEventBatchDTO(List.of(), after.encode());
+        DeferredResult<ClientEventBatchDTO> result = new DeferredResult<>(Math.max(timeout.toMillis(), 1), empty);
+        int size = Math.min(limit, properties.getMaxBatchSize());
+        LongPoll subscription = new LongPoll(after, size, result);
+        // Inscrit avant la première lecture : un événement validé entre les deux réveille l'attente.
+        if (!timeout.isZero()) {
+            subscriptions.add(subscription);
+            result.onCompletion(() -> subscriptions.remove(subscription));
+        }
+        List<ClientEventDTO> events = read(after, size);
+        if (!events.isEmpty() || timeout.isZero()) {
+            subscription.deliver(events);
+            subscriptions.remove(subscription);
+        }
+        return result;
+    }
+
+    /**
+     * Ouvre un flux SSE des événements suivant une position : chaque message porte un lot d'événements et,
+     * pour identifiant, la position à reprendre après une déconnexion ({@code Last-Event-ID}).
+     *
+     * @param after la position du dernier événement reçu
+     * @param limit le nombre maximal d'événements par message
+     * @return le flux, fermé au bout de {@code climax.events.stream-timeout}
+     */
+    public SseEmitter stream(final ClientEventOffset after, final int limit) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Subscription subscription = new Stream(after, Math.min(limit, properties.getMaxBatchSize()), emitter);
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        wakeUp();
+        return emitter;
+    }
+
+    /**
+     * Fait relire les flux en attente, au plus une fois à la fois.
+     */
+    public void wakeUp() {
+        if (!subscriptions.isEmpty() && dispatchPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Relit périodiquement les flux en attente, pour les écritures des autres instances et celles retenues
+     * par une transaction alors en cours.
+     */
+    @Scheduled(fixedDelayString = "${climax.events.recheck-interval:PT1S}")
+    public void recheck() {
+        wakeUp();
+    }
+
+    /**
+     * Supprime les événements plus anciens que {@code climax.events.retention}.
+     */
+    @Scheduled(initialDelayString = "${climax.events.purge-interval:PT1H}",
+            fixedDelayString = "${climax.events.purge-interval:PT1H}")
+    public void purge() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.from(Instant.now().minus(properties.getRetention())));
+        if (purged > 0) {
+            log.info("{} événements clients expirés supprimés", purged);
+        }
+    }
+
+    /**
+     * Arrête le thread de relecture.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    private void dispatch() {
+        dispatchPending.set(false);
+        Map<ClientEventOffset, List<ClientEventDTO>> read = new HashMap<>();
+        boolean more = false;
+        try {
+            for (Subscription subscription : subscriptions) {
+                List<ClientEventDTO> events = read.computeIfAbsent(subscription.offset,
+                        offset -> read(offset, properties.getMaxBatchSize()));
+                if (events.isEmpty()) {
+                    continue;
+                }
+                List<ClientEventDTO> batch = events.subList(0, Math.min(subscription.limit, events.size()));
+                if (subscription.deliver(batch)) {
+                    more |= batch.size() == subscription.limit;
+                } else {
+                    subscriptions.remove(subscription);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Lecture des événements clients impossible, nouvel essai à la prochaine relecture : {}",
+                    e.getMessage());
+        }
+        if (more) {
+            wakeUp();
+        }
+    }
+
+    private List<ClientEventDTO> read(final ClientEventOffset after, final int limit) {
+        return jdbcTemplate.query(READ_SQL, ClientEventFeed::toEvent, after.txId(), after.id(), limit);
+    }
+
+    private static ClientEventDTO toEvent(final ResultSet rs, final int rowNum) throws SQLException {
+        return new ClientEventDTO(new ClientEventOffset(rs.getLong("tx_id"), rs.getLong("id")).encode(),
+                ClientEventType.valueOf(rs.getString("type")), rs.getLong("client_id"), rs.getString("nom"),
+                rs.getString("prenom"), rs.getObject("age", Integer.class), rs.getString("profession"),
+                rs.getBigDecimal("salaire"), rs.getTimestamp("occurred_at").toInstant());
+    }
+
+    private static ClientEventOffset next(final ClientEventOffset after, final List<ClientEventDTO> events) {
+        return events.isEmpty() ? after : ClientEventOffset.decode(events.get(events.size() - 1).offset());
+    }
+
+    /**
+     * Lecteur en attente d'événements.
+     */
+    private abstract static class Subscription {
+
+        private volatile ClientEventOffset offset;
+        private final int limit;
+
+        Subscription(final ClientEventOffset offset, final int limit) {
+            this.offset = offset;
+            this.limit = limit;
+        }
+
+        /**
+         * Transmet un lot au lecteur.
+         *
+         * @param events les événements suivant la position du lecteur
+         * @return {@code true} si le lecteur attend la suite, {@code false} s'il est servi ou déconnecté
+         */
+        final boolean deliver(final List<ClientEventDTO> events) {
+            ClientEventOffset next = next(offset, events);
+            boolean waiting = send(events, next);
+            offset = next;
+            return waiting;
+        }
+
+        abstract boolean send(List<ClientEventDTO> events, ClientEventOffset next);
+    }
+
+    private static final class LongPoll extends Subscription {
+
+        private final DeferredResult<ClientEventBatchDTO> result;
+
+        LongPoll(final ClientEventOffset offset, final int limit, final DeferredResult<ClientEventBatchDTO> result) {
+            super(offset, limit);
+            this.result = result;
+        }
+
+        @Override
+        boolean send(final List<ClientEventDTO> events, final ClientEventOffset next) {
+            result.setResult(new ClientEventBatchDTO(List.copyOf(events), next.encode()));
+            return false;
+        }
+    }
+
+    private static final class Stream extends Subscription {
+
+        private final SseEmitter emitter;
+
+        Stream(final ClientEventOffset offset, final int limit, final SseEmitter emitter) {
+            super(offset, limit);
+            this.emitter = emitter;
+        }
+
+        @Override
+        boolean send(final List<ClientEventDTO> events, final ClientEventOffset next) {
+            try {
+                emitter.send(SseEmitter.event().id(next.encode()).name(SSE_EVENT_NAME)
+                        .data(events, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté ou flux déjà fermé : il reprendra à sa dernière position reçue.
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
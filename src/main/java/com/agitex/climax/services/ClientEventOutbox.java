@@ -0,0 +1,74 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.enums.ClientEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Écriture des événements clients dans la table {@code client_events}, dans la transaction de la
+ * modification : un événement n'est publié que si la modification est validée, et toute modification
+ * validée a son événement.
+ * <p>
+ * L'événement recopie l'état du client tel qu'écrit en base : les clients doivent donc y avoir été écrits
+ * (flush) avant l'appel. Chaque appel est une seule commande {@code INSERT ... SELECT}, quel que soit le
+ * nombre de clients ; les lecteurs du flux sont réveillés à la validation de la transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClientEventOutbox {
+
+    private static final String APPEND_SQL = "INSERT INTO client_events (type, client_id, nom, prenom, age, "
+            + "profession, salaire) SELECT ?, id, nom, prenom, age, profession, salaire FROM clients "
+            + "WHERE id = ANY(?) ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientEventFeed clientEventFeed;
+
+    /**
+     * Publie la modification d'un client.
+     *
+     * @param type la nature de la modification
+     * @param id   l'identifiant du client
+     */
+    public void append(final ClientEventType type, final Long id) {
+        append(type, List.of(id));
+    }
+
+    /**
+     * Publie la même modification pour plusieurs clients.
+     *
+     * @param type la nature de la modification
+     * @param ids  les identifiants des clients
+     */
+    public void append(final ClientEventType type, final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        int appended = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(APPEND_SQL);
+            ps.setString(1, type.name());
+            ps.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+        log.debug("{} événements {} publiés", appended, type);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clientEventFeed.wakeUp();
+                }
+            });
+        } else {
+            clientEventFeed.wakeUp();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.enums.ExportFormat;
+import com.agitex.climax.utils.ClientCsvWriter;
+import com.agitex.climax.utils.Constant;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import javax.xml.namespace.QName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Export de tous les clients non supprimés dans les formats de l'import ({@link ExportFormat}), par ordre
+ * d'identifiant.
+ * <p>
+ * Les lignes sont lues par un curseur côté serveur, par paquets de {@value Constant#EXPORT_FETCH_SIZE}, dans
+ * une transaction en lecture seule (sur un réplica lorsqu'il en est déclaré), et écrites une à une dans le
+ * flux de sortie sans être converties en entités : la mémoire utilisée ne dépend pas du nombre de clients.
+ * Les valeurs numériques sont recopiées sous la forme textuelle renvoyée par PostgreSQL.
+ */
+@Slf4j
+@Service
+@Timed(value = "climax.client.export", description = "Durée des exports de clients", histogram = true)
+public class ClientExportService {
+
+    private static final String EXPORT_SQL = "SELECT nom, prenom, age, profession, salaire FROM clients "
+            + "WHERE deleted = FALSE ORDER BY id";
+
+    private static final String XML_ROOT = "root";
+    private static final String XML_ROW = "row";
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final XmlFactory xmlFactory = new XmlFactory();
+
+    /**
+     * Instantiates a new Client export service.
+     *
+     * @param dataSource         the data source
+     * @param transactionManager the transaction manager, keeping the cursor open during the export
+     */
+    public ClientExportService(final DataSource dataSource, final PlatformTransactionManager transactionManager) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(Constant.EXPORT_FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Écrit tous les clients non supprimés dans le flux, qui n'est pas fermé.
+     *
+     * @param format le format
+     * @param out    le flux de sortie
+     * @return le nombre de clients exportés
+     * @throws IOException si le flux ne peut être écrit, par exemple parce que le client HTTP s'est déconnecté
+     */
+    public long export(final ExportFormat format, final OutputStream out) throws IOException {
+        try (RowWriter writer = switch (format) {
+            case CSV -> new CsvRowWriter(out);
+            case JSON -> new JsonRowWriter(jsonFactory.createGenerator(out));
+            case XML -> new XmlRowWriter((ToXmlGenerator) xmlFactory.createGenerator(out));
+        }) {
+            long count = readOnlyTransaction.execute(status -> {
+                long[] rows = {0};
+                cursorTemplate.query(EXPORT_SQL, (ResultSet rs) -> {
+                    write(writer, rs);
+                    rows[0]++;
+                });
+                return rows[0];
+            });
+            log.debug("{} clients exportés au format {}", count, format);
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void write(final RowWriter writer, final ResultSet rs) throws SQLException {
+        try {
+            writer.write(rs.getString("nom"), rs.getString("prenom"), rs.getString("age"), rs.getString("profession"),
+                    rs.getString("salaire"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Écriture des clients dans un format.
+     */
+    private interface RowWriter extends AutoCloseable {
+
+        /**
+         * Écrit un client, les valeurs numériques sous forme textuelle.
+         *
+         * @param nom        le nom
+         * @param prenom     le prénom
+         * @param age        l'âge
+         * @param profession la profession
+         * @param salaire    le salaire
+         * @throws IOException si le flux ne peut être écrit
+         */
+        void write(String nom, String prenom, String age, String profession, String salaire) throws IOException;
+
+        /**
+         * Termine le document et vide les tampons, sans fermer le flux de sortie.
+         *
+         * @throws IOException si le flux ne peut être écrit
+         */
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final ClientCsvWriter csv;
+
+        CsvRowWriter(final OutputStream out) {
+            this.csv = new ClientCsvWriter(out);
+        }
+
+        @Override
+        public void write(final String nom, final String prenom, final String age, final String profession,
+                          final String salaire) throws IOException {
+            csv.write(nom, prenom, age, profession, salaire);
+        }
+
+        @Override
+        public void close() throws IOException {
+            csv.flush();
+        }
+    }
+
+    private static final class JsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        JsonRowWriter(final JsonGenerator generator) throws IOException {
+            this.generator = generator;
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void write(final String nom, final String prenom, final String age, final String profession,
+                          final String salaire) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("nom", nom);
+            generator.writeStringField("prenom", prenom);
+            writeNumberField("age", age);
+            generator.writeStringField("profession", profession);
+            writeNumberField("salaire", salaire);
+            generator.writeEndObject();
+        }
+
+        private void writeNumberField(final String name, final String value) throws IOException {
+            generator.writeFieldName(name);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+        }
+    }
+
+    private static final class XmlRowWriter implements RowWriter {
+
+        private final ToXmlGenerator generator;
+
+        XmlRowWriter(final ToXmlGenerator generator) throws IOException {
+            this.generator = generator;
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.enable(ToXmlGenerator.Feature.WRITE_XML_DECLARATION);
+            generator.initGenerator();
+            generator.setNextName(new QName(XML_ROOT));
+            generator.writeStartObject();
+        }
+
+        @Override
+        public void write(final String nom, final String prenom, final String age, final String profession,
+                          final String salaire) throws IOException {
+            generator.writeFieldName(XML_ROW);
+            generator.writeStartObject();
+            writeField("nom", nom);
+            writeField("prenom", prenom);
+            writeField("age", age);
+            writeField("profession", profession);
+            writeField("salaire", salaire);
+            generator.writeEndObject();
+        }
+
+        // Une valeur absente n'est pas écrite : l'import la lit alors comme nulle.
+        private void writeField(final String name, final String value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(name, value);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.utils.Constant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Réservation d'identifiants clients pour les chemins d'écriture JDBC qui contournent Hibernate.
+ * <p>
+ * Chaque valeur tirée de {@code clients_seq} est interprétée comme Hibernate le fait avec
+ * l'optimiseur {@code pooled} : elle est la borne haute d'un bloc de
+ * {@link Constant#SEQUENCE_ALLOCATION_SIZE} identifiants. Les blocs réservés ici ne chevauchent donc
+ * jamais ceux utilisés par les insertions JPA.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientIdAllocator {
+
+    private static final String NEXT_BLOCKS_SQL =
+            "SELECT nextval('clients_seq') FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Réserve {@code count} identifiants en un minimum d'allers-retours avec la base.
+     *
+     * @param count le nombre d'identifiants voulus
+     * @return les identifiants réservés, dans l'ordre croissant de chaque bloc
+     */
+    public long[] allocate(final int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            int blocks = (count - filled + Constant.SEQUENCE_ALLOCATION_SIZE - 1)
+                    / Constant.SEQUENCE_ALLOCATION_SIZE;
+            List<Long> highValues = jdbcTemplate.queryForList(NEXT_BLOCKS_SQL, Long.class, blocks);
+            for (Long high : highValues) {
+                // La toute première valeur de la séquence (1) ne couvre que l'identifiant 1.
+                long low = Math.max(1L, high - Constant.SEQUENCE_ALLOCATION_SIZE + 1);
+                for (long id = low; id <= high && filled < count; id++) {
+                    ids[filled++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+}
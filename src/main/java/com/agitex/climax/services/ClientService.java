@@ -1,71 +1,201 @@
 package com.agitex.climax.services;
 
+import com.agitex.climax.config.ClientChangesProperties;
+import com.agitex.climax.config.ReplicaRoutingDataSource;
+import com.agitex.climax.dtos.ClientChangeWatermark;
+import com.agitex.climax.dtos.ClientChanges;
 import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientSearchCriteria;
+import com.agitex.climax.dtos.ClientSearchCursor;
+import com.agitex.climax.dtos.ClientView;
 import com.agitex.climax.dtos.ProfessionSalaireDTO;
 import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientEventType;
+import com.agitex.climax.enums.ClientSortField;
 import com.agitex.climax.mapper.ClientMapper;
 import com.agitex.climax.repositories.ClientRepository;
+import com.agitex.climax.repositories.ClientSpecifications;
+import com.agitex.climax.utils.NaturalKey;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Timed(value = "climax.client.service", description = "Durée des opérations du service client", histogram = true)
 public class ClientService {
 
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
+    private final ClientCache clientCache;
+    private final SalaryAggregate salaryAggregate;
+    private final ClientEventOutbox clientEventOutbox;
+    private final ClientChangesProperties changesProperties;
+    private final NaturalKey naturalKey;
 
     /**
-     * Save a Client.
+     * Save a Client and publish the change in the client event feed. A client whose natural key already
+     * belongs to another client is refused (409).
      *
      * @param clientDTO the entity to save.
      * @return the persisted entity.
      */
     public ClientDTO save(final ClientDTO clientDTO) {
         log.debug("Request to save a client : {}", clientDTO);
-        Client client = clientMapper.toEntity(clientDTO);
-        client = clientRepository.save(client);
+        SalaryAggregate.Delta delta = new SalaryAggregate.Delta();
+        Client entity = clientMapper.toEntity(clientDTO);
+        if (clientDTO.getId() != null) {
+            clientRepository.findById(clientDTO.getId()).ifPresent(existing -> {
+                if (!Boolean.TRUE.equals(existing.getDeleted())) {
+                    delta.remove(existing.getProfession(), existing.getSalaire());
+                }
+                // L'audit ne date la création qu'à l'insertion : celle en base est conservée.
+                entity.setCreatedBy(existing.getCreatedBy());
+                entity.setCreatedDate(existing.getCreatedDate());
+                entity.setNaturalKey(existing.getNaturalKey());
+            });
+        }
+        if (!Boolean.TRUE.equals(entity.getDeleted())) {
+            clientRepository.findIdByNaturalKey(naturalKey.of(entity))
+                    .filter(owner -> !owner.equals(clientDTO.getId()))
+                    .ifPresent(owner -> {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Le client " + owner + " a déjà la même clé naturelle");
+                    });
+        }
+        // Écrit aussitôt : l'événement recopie la ligne en base.
+        Client client = clientRepository.saveAndFlush(entity);
+        if (!Boolean.TRUE.equals(client.getDeleted())) {
+            delta.add(client.getProfession(), client.getSalaire());
+        }
+        clientEventOutbox.append(Boolean.TRUE.equals(client.getDeleted()) ? ClientEventType.DELETED
+                : clientDTO.getId() == null ? ClientEventType.CREATED : ClientEventType.UPDATED, client.getId());
+        salaryAggregate.applyAfterCommit(delta);
+        if (clientDTO.getId() != null) {
+            clientCache.evict(clientDTO.getId());
+        }
         return clientMapper.toDto(client);
     }
 
     /**
-     * Get all the clients.
+     * Get all the clients, as read-only views projected by the query (no managed entity, no mapping).
      *
-     * @return the list of entities.
+     * @return the list of views.
      */
     @Transactional(readOnly = true)
-    public List<ClientDTO> findAll() {
+    public List<ClientView> findAll() {
         log.debug("Request to get all clients");
-        List<Client> clients = clientRepository.findAllByDeletedFalse();
-        return clients.stream().map(clientMapper::toDto).collect(Collectors.toList());
+        return clientRepository.findAllViews();
     }
 
     /**
-     * Get one Client by id.
+     * Get a page of clients by keyset on the id.
+     *
+     * @param after the last id of the previous page ({@code null} for the first page).
+     * @param size  the page size.
+     * @return the page, whose {@link Slice#hasNext()} tells whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClientView> findPage(final Long after, final int size) {
+        log.debug("Request to get a page of clients after : {}", after);
+        return clientRepository.findViewsAfter(after != null ? after : 0L, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Search the clients by criteria, sorted by a field then by id, with keyset paging.
+     *
+     * @param criteria  the filters.
+     * @param sortField the sort field.
+     * @param ascending the sort direction.
+     * @param after     the position of the last client of the previous page ({@code null} for the first page).
+     * @param size      the page size.
+     * @return the page, whose {@link Slice#hasNext()} tells whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClientView> search(final ClientSearchCriteria criteria, final ClientSortField sortField,
+                                    final boolean ascending, final ClientSearchCursor after, final int size) {
+        log.debug("Request to search clients : {}, sorted by {}", criteria, sortField);
+        return clientRepository.search(ClientSpecifications.matching(criteria), sortField, ascending, after, size);
+    }
+
+    /**
+     * Get the clients modified after a watermark, soft-deleted ones included, ordered by modification date
+     * then id. Read from the primary database: a lagging replica would miss changes that the returned
+     * watermark already covers.
+     * <p>
+     * The page stops at a horizon before which no modification can still be committed: the start of the
+     * oldest write transaction in progress, or the current time, minus {@code climax.changes.safety-margin}.
+     * A client modified again after being returned is returned again by a later sync.
+     *
+     * @param since the watermark returned by the previous sync.
+     * @param size  the page size.
+     * @return the changes and the watermark to pass to the next sync, which never goes back.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ClientChanges findChanges(final ClientChangeWatermark since, final int size) {
+        log.debug("Request to get the client changes since : {}", since);
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            Instant horizon = clientRepository.findChangesHorizon().minus(changesProperties.getSafetyMargin());
+            if (horizon.isBefore(since.modifiedAt())) {
+                return new ClientChanges(List.of(), since, false);
+            }
+            Slice<ClientView> page = clientRepository.findChangesAfter(since.modifiedAt(), since.idOrMax(),
+                    horizon, PageRequest.ofSize(size));
+            List<ClientView> clients = page.getContent();
+            if (!page.hasNext()) {
+                return new ClientChanges(clients, ClientChangeWatermark.after(horizon), false);
+            }
+            ClientView last = clients.get(clients.size() - 1);
+            return new ClientChanges(clients, new ClientChangeWatermark(last.lastModifiedDate(), last.id()), true);
+        });
+    }
+
+    /**
+     * Stream all the clients, ordered by id, in constant memory: views are read through a JDBC cursor
+     * and never enter the persistence context.
+     *
+     * @param consumer the consumer of each client.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(final Consumer<ClientView> consumer) {
+        log.debug("Request to stream all clients");
+        try (Stream<ClientView> clients = clientRepository.streamAllViews()) {
+            clients.forEach(consumer);
+        }
+    }
+
+    /**
+     * Get one Client by id, through the client cache. No transaction is opened here so that a cache hit
+     * does not borrow a connection; a miss loads the client in the repository's own transaction, from the
+     * primary database: a lagging replica could put back in the cache a client that was just updated.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<ClientDTO> findOne(final Long id) {
         log.debug("Request to get Client : {}", id);
-        return clientRepository.findById(id)
-                .map(clientMapper::toDto);
+        return clientCache.get(id, key -> ReplicaRoutingDataSource.onPrimary(
+                () -> clientRepository.findById(key).map(clientMapper::toDto)));
     }
 
     /**
-     * Delete the Client by id.
+     * Delete the Client by id (soft delete) and publish the change in the client event feed.
      *
      * @param id the id of the entity.
      */
@@ -75,23 +205,23 @@ public class ClientService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Aucun Client avec cet identifiant existe dans la base de données"));
         client.setDeleted(true);
-        clientRepository.save(client);
+        clientRepository.saveAndFlush(client);
+        clientEventOutbox.append(ClientEventType.DELETED, id);
+        SalaryAggregate.Delta delta = new SalaryAggregate.Delta();
+        delta.remove(client.getProfession(), client.getSalaire());
+        salaryAggregate.applyAfterCommit(delta);
+        clientCache.evict(id);
     }
 
     /**
-     * Get Average of salary by profession.
+     * Get Average of salary by profession, answered from the in-memory {@link SalaryAggregate}
+     * (soft-deleted clients excluded).
      *
      * @return ProfessionDTO.
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProfessionSalaireDTO> averageSalaireByProfession() {
         log.debug("Request to get all average of salary by profession");
-        return clientRepository.findAverageSalaryByProfession().stream()
-                .map(object -> {
-                    String profession = object[0].toString();
-                    BigDecimal salaireMoyen =
-                            (object[1] != null) ? new BigDecimal(object[1].toString()) : BigDecimal.ZERO;
-                    return new ProfessionSalaireDTO(profession, salaireMoyen);
-                })
-                .collect(Collectors.toList());
+        return salaryAggregate.averages();
     }
 }
@@ -0,0 +1,221 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.entities.Client;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Insertion ou mise à jour des clients sur leur clé naturelle ({@code natural_key}).
+ * <p>
+ * Chaque lot coûte deux commandes : une lecture indexée, avec verrou, des clients déjà présents et de leurs
+ * valeurs actuelles (pour les totaux de salaires), puis une seule commande {@code INSERT ... SELECT FROM
+ * unnest(...) ON CONFLICT (natural_key) DO UPDATE ... WHERE (...) IS DISTINCT FROM (...)}, dont les colonnes
+ * sont liées comme des tableaux. Seuls les clients absents consomment un identifiant ; un client présent
+ * n'est réécrit que si l'un de ses champs change, un fichier déjà importé ne provoque donc aucune écriture.
+ * Un client inséré par un import concurrent entre les deux commandes n'est pas modifié par la seconde :
+ * il est relu puis traité à nouveau. Un client supprimé logiquement garde sa clé : un nouvel import ne le
+ * recrée ni ne le modifie.
+ * <p>
+ * Les imports sans mise à jour écartent, par une seule lecture indexée par lot, les clients dont la clé
+ * naturelle est déjà présente ({@link #absent(List)}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClientUpsertLoader {
+
+    private static final String KEYS_SQL = "SELECT natural_key FROM clients WHERE natural_key = ANY(?)";
+
+    private static final String EXISTING_SQL = "SELECT id, natural_key, profession, salaire, deleted FROM clients "
+            + "WHERE natural_key = ANY(?) ORDER BY natural_key FOR UPDATE";
+
+    private static final String UPSERT_SQL = "INSERT INTO clients AS c (id, nom, prenom, age, profession, salaire, "
+            + "natural_key, created_by, created_date, last_modified_by, last_modified_date, deleted) "
+            + "SELECT r.id, r.nom, r.prenom, r.age, r.profession, r.salaire, r.natural_key, ?, ?, ?, ?, false "
+            + "FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::integer[], ?::varchar[], ?::numeric[], "
+            + "?::uuid[]) AS r (id, nom, prenom, age, profession, salaire, natural_key) "
+            + "ON CONFLICT (natural_key) DO UPDATE SET nom = EXCLUDED.nom, prenom = EXCLUDED.prenom, "
+            + "age = EXCLUDED.age, profession = EXCLUDED.profession, salaire = EXCLUDED.salaire, "
+            + "last_modified_by = EXCLUDED.last_modified_by, last_modified_date = EXCLUDED.last_modified_date "
+            // Identifiant différent : client inséré par un import concurrent, non relu, traité à nouveau.
+            + "WHERE c.id = EXCLUDED.id AND (c.nom, c.prenom, c.age, c.profession, c.salaire) "
+            + "IS DISTINCT FROM (EXCLUDED.nom, EXCLUDED.prenom, EXCLUDED.age, EXCLUDED.profession, EXCLUDED.salaire) "
+            + "RETURNING c.id, (c.xmax = 0) AS inserted";
+
+    private static final String AUDITOR = "system";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientIdAllocator clientIdAllocator;
+
+    /**
+     * Insère les clients d'un lot dont la clé naturelle est absente de la table et met à jour ceux dont un
+     * champ a changé. Les variations des totaux de salaires (anciennes valeurs retirées, nouvelles ajoutées)
+     * sont reportées dans {@code salaries}.
+     *
+     * @param clients  les clients du lot, clé naturelle renseignée et sans doublon dans le lot
+     * @param salaries les variations des totaux de salaires de l'import
+     * @return les identifiants des clients insérés et mis à jour
+     */
+    public Result upsert(final List<Client> clients, final SalaryAggregate.Delta salaries) {
+        Result result = new Result(new ArrayList<>(), new ArrayList<>());
+        // Ordre des clés : verrous pris dans le même ordre par les imports concurrents.
+        List<Client> pending = clients.stream().sorted(Comparator.comparing(Client::getNaturalKey)).toList();
+        while (!pending.isEmpty()) {
+            pending = write(pending, salaries, result);
+        }
+        log.debug("{} clients insérés et {} mis à jour sur {}", result.inserted().size(), result.updated().size(),
+                clients.size());
+        return result;
+    }
+
+    /**
+     * Écarte les clients d'un lot dont la clé naturelle est déjà présente dans la table, supprimés compris.
+     *
+     * @param clients les clients du lot, clé naturelle renseignée
+     * @return les clients absents de la table, dans l'ordre du lot
+     */
+    public List<Client> absent(final List<Client> clients) {
+        if (clients.isEmpty()) {
+            return clients;
+        }
+        Set<UUID> existing = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(KEYS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", clients.stream().map(Client::getNaturalKey).toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        return existing.isEmpty() ? clients
+                : clients.stream().filter(client -> !existing.contains(client.getNaturalKey())).toList();
+    }
+
+    /**
+     * Écrit un lot de clients.
+     *
+     * @param clients  les clients, triés par clé naturelle
+     * @param salaries les variations des totaux de salaires
+     * @param result   les identifiants des clients insérés et mis à jour, complétés
+     * @return les clients insérés entre-temps par un import concurrent, à traiter à nouveau
+     */
+    private List<Client> write(final List<Client> clients, final SalaryAggregate.Delta salaries,
+                               final Result result) {
+        Map<UUID, Existing> existing = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXISTING_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", clients.stream().map(Client::getNaturalKey).toArray()));
+            return ps;
+        }, rs -> {
+            existing.put(rs.getObject("natural_key", UUID.class), new Existing(rs.getLong("id"),
+                    rs.getString("profession"), rs.getBigDecimal("salaire"), rs.getBoolean("deleted")));
+        });
+        List<Client> candidates = new ArrayList<>(clients.size());
+        int absent = 0;
+        for (Client client : clients) {
+            Existing current = existing.get(client.getNaturalKey());
+            if (current == null) {
+                absent++;
+                candidates.add(client);
+            } else if (!current.deleted()) {
+                candidates.add(client);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        long[] ids = clientIdAllocator.allocate(absent);
+        int size = candidates.size();
+        Long[] idColumn = new Long[size];
+        String[] noms = new String[size];
+        String[] prenoms = new String[size];
+        Integer[] ages = new Integer[size];
+        String[] professions = new String[size];
+        BigDecimal[] salaires = new BigDecimal[size];
+        UUID[] keys = new UUID[size];
+        Map<Long, Client> byId = new HashMap<>(size * 2);
+        int allocated = 0;
+        for (int i = 0; i < size; i++) {
+            Client client = candidates.get(i);
+            Existing current = existing.get(client.getNaturalKey());
+            idColumn[i] = current != null ? current.id() : ids[allocated++];
+            noms[i] = client.getNom();
+            prenoms[i] = client.getPrenom();
+            ages[i] = client.getAge();
+            professions[i] = client.getProfession();
+            salaires[i] = client.getSalaire();
+            keys[i] = client.getNaturalKey();
+            byId.put(idColumn[i], client);
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_SQL);
+            int column = 1;
+            ps.setString(column++, AUDITOR);
+            ps.setTimestamp(column++, now);
+            ps.setString(column++, AUDITOR);
+            ps.setTimestamp(column++, now);
+            for (Array array : List.of(connection.createArrayOf("bigint", idColumn),
+                    connection.createArrayOf("varchar", noms), connection.createArrayOf("varchar", prenoms),
+                    connection.createArrayOf("integer", ages), connection.createArrayOf("varchar", professions),
+                    connection.createArrayOf("numeric", salaires), connection.createArrayOf("uuid", keys))) {
+                ps.setArray(column++, array);
+            }
+            return ps;
+        }, rs -> {
+            Client client = byId.remove(rs.getLong("id"));
+            client.setId(rs.getLong("id"));
+            if (rs.getBoolean("inserted")) {
+                result.inserted().add(client.getId());
+            } else {
+                Existing previous = existing.get(client.getNaturalKey());
+                salaries.remove(previous.profession(), previous.salaire());
+                result.updated().add(client.getId());
+            }
+            salaries.add(client.getProfession(), client.getSalaire());
+        });
+
+        // Restent les clients inchangés et ceux insérés par un import concurrent depuis la lecture.
+        List<Client> raced = new ArrayList<>();
+        for (Client client : byId.values()) {
+            if (!existing.containsKey(client.getNaturalKey())) {
+                raced.add(client);
+            }
+        }
+        raced.sort(Comparator.comparing(Client::getNaturalKey));
+        return raced;
+    }
+
+    /**
+     * Clients insérés et mis à jour par un lot.
+     *
+     * @param inserted les identifiants des clients insérés
+     * @param updated  les identifiants des clients mis à jour
+     */
+    public record Result(List<Long> inserted, List<Long> updated) {
+    }
+
+    /**
+     * Valeurs actuelles d'un client déjà présent.
+     *
+     * @param id         son identifiant
+     * @param profession sa profession
+     * @param salaire    son salaire
+     * @param deleted    {@code true} s'il est supprimé logiquement
+     */
+    private record Existing(long id, String profession, BigDecimal salaire, boolean deleted) {
+    }
+}
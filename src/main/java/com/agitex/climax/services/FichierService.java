@@ -1,125 +1,243 @@
 package com.agitex.climax.services;
 
+import com.agitex.climax.config.ImportProperties;
 import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ImportReportDTO;
 import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientEventType;
+import com.agitex.climax.enums.ImportFormat;
+import com.agitex.climax.enums.ImportMode;
+import com.agitex.climax.enums.RejectionReason;
 import com.agitex.climax.repositories.ClientRepository;
-import com.agitex.climax.utils.Constant;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.agitex.climax.utils.ClientCsvParser;
+import com.agitex.climax.utils.ClientValidator;
+import com.agitex.climax.utils.ClientViolation;
+import com.agitex.climax.utils.CsvTokenizer;
+import com.agitex.climax.utils.NaturalKey;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Service
-@Transactional
+@Transactional(rollbackFor = Exception.class)
 @RequiredArgsConstructor
 public class FichierService {
 
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final XmlMapper XML_MAPPER = new XmlMapper();
+
     private final ClientRepository clientRepository;
+    private final ImportProperties importProperties;
+    private final EntityManager entityManager;
+    private final ClientCopyLoader clientCopyLoader;
+    private final ClientUpsertLoader clientUpsertLoader;
+    private final ParallelCsvParser parallelCsvParser;
+    private final SalaryAggregate salaryAggregate;
+    private final ImportMetrics importMetrics;
+    private final ClientEventOutbox clientEventOutbox;
+    private final ClientCache clientCache;
+    private final NaturalKey naturalKey;
 
     /**
      * Enregistre les données des clients après lecture.
      *
      * @param file Le fichier à lire.
+     * @param mode La stratégie de persistance des clients lus.
+     * @return le bilan de l'import (lignes chargées et rejetées).
      * @throws IOException Si une erreur d'entrée/sortie se produit lors de la lecture du fichier.
      */
-    public void saveClientData(final MultipartFile file) throws IOException {
+    public ImportReportDTO saveClientData(final MultipartFile file, final ImportMode mode) throws IOException {
         String filename = file.getOriginalFilename();
         if (filename == null) {
             log.error("Le nom du fichier est null");
             throw new IllegalArgumentException("Le nom du fichier est null");
         }
+        try (InputStream in = file.getInputStream()) {
+            return importFile(filename, in, mode, new ImportProgress());
+        }
+    }
 
-        if (filename.endsWith(".csv")) {
-            readCsvFile(file);
-        } else if (filename.endsWith(".json")) {
-            readJsonFile(file);
-        } else if (filename.endsWith(".xml")) {
-            readXmlFile(file);
-        } else if (filename.endsWith(".txt")) {
-            readTextFile(file);
-        } else {
+    /**
+     * Importe un fichier déposé sur disque. Les fichiers CSV/TXT d'au moins
+     * {@code climax.import.parallel-threshold} sont analysés en parallèle ; les autres sont lus en flux.
+     *
+     * @param filename le nom du fichier d'origine, qui détermine le format
+     * @param file     la copie locale du fichier
+     * @param mode     la stratégie de persistance des clients lus
+     * @param progress les compteurs d'avancement, mis à jour au fil de l'import
+     * @return le bilan de l'import
+     * @throws IOException Si une erreur d'entrée/sortie se produit lors de la lecture du fichier.
+     */
+    public ImportReportDTO importFile(final String filename, final Path file, final ImportMode mode,
+                                      final ImportProgress progress) throws IOException {
+        ImportFormat format = formatOf(filename);
+        if (format.isDelimited() && parallelCsvParser.getParallelism() > 1
+                && Files.size(file) >= importProperties.getParallelThreshold().toBytes()) {
+            ImportBatch batch = newBatch(filename, format, mode, progress);
+            long[] linesBefore = new long[1];
+            parallelCsvParser.parse(file, batch.validator, range -> {
+                for (Client client : range.clients()) {
+                    addToBatch(batch, client);
+                }
+                for (ImportRejection rejection : range.rejections()) {
+                    progress.reject(filename, rejection.after(linesBefore[0]));
+                }
+                linesBefore[0] += range.lines();
+                progress.addParsed(range.lines());
+                progress.addBytesRead(range.bytes());
+            });
+            return complete(filename, batch);
+        }
+        try (InputStream in = new ProxyInputStream(Files.newInputStream(file)) {
+            @Override
+            protected void afterRead(final int n) {
+                if (n > 0) {
+                    progress.addBytesRead(n);
+                }
+            }
+        }) {
+            return importFile(filename, in, mode, progress);
+        }
+    }
+
+    /**
+     * Lit un flux de clients au format déduit de l'extension du nom de fichier et le persiste.
+     *
+     * @param filename le nom du fichier d'origine, qui détermine le format
+     * @param in       le contenu du fichier
+     * @param mode     la stratégie de persistance des clients lus
+     * @param progress les compteurs d'avancement, mis à jour au fil de l'import
+     * @return le bilan de l'import
+     * @throws IOException Si une erreur d'entrée/sortie se produit lors de la lecture du fichier.
+     */
+    public ImportReportDTO importFile(final String filename, final InputStream in, final ImportMode mode,
+                                      final ImportProgress progress) throws IOException {
+        ImportFormat format = formatOf(filename);
+        ImportBatch batch = newBatch(filename, format, mode, progress);
+        switch (format) {
+            case CSV -> readCsvFile(in, batch);
+            case JSON -> readJsonFile(in, batch);
+            case XML -> readXmlFile(in, batch);
+            default -> readTextFile(in, batch);
+        }
+        return complete(filename, batch);
+    }
+
+    /**
+     * Déduit le format de l'extension du nom de fichier, avant toute lecture ou mesure : seuls les formats
+     * pris en charge, en nombre borné, étiquettent les métriques d'import.
+     *
+     * @param filename le nom du fichier d'origine
+     * @return le format du fichier
+     * @throws IllegalArgumentException si l'extension n'est pas prise en charge
+     */
+    private static ImportFormat formatOf(final String filename) {
+        ImportFormat format = ImportFormat.fromFilename(filename);
+        if (format == null) {
             log.error("Type de fichier non pris en charge: {}", filename);
             throw new IllegalArgumentException("Type de fichier non pris en charge: " + filename);
         }
+        return format;
+    }
+
+    private ImportBatch newBatch(final String filename, final ImportFormat format, final ImportMode mode,
+                                 final ImportProgress progress) {
+        int chunkSize = mode == ImportMode.COPY
+                ? importProperties.getCopyChunkSize()
+                : importProperties.getBatchSize();
+        ImportProperties.Validation validation = importProperties.getValidation();
+        ClientValidator validator = new ClientValidator(validation.getAgeMin(), validation.getAgeMax(),
+                validation.getSalaireMin(), validation.getRequiredFields());
+        return new ImportBatch(filename, mode, chunkSize, progress, importMetrics.recorder(format, mode), validator);
+    }
+
+    private ImportReportDTO complete(final String filename, final ImportBatch batch) {
+        flushBatch(batch);
+        salaryAggregate.applyAfterCommit(batch.salaries);
+        ImportProgress progress = batch.progress;
+        batch.metrics.rowsProcessed(progress);
+        batch.metrics.loadedOnCommit(progress);
+        log.info("Import de {} ({}) : {} lignes chargées, {} rejetées, {} ignorées", filename, batch.mode,
+                progress.getRowsLoaded(), progress.getRowsRejected(), progress.getRowsSkipped());
+        return new ImportReportDTO(filename, batch.mode, progress.getRowsLoaded(), progress.getRowsRejected(),
+                progress.getRowsSkipped());
     }
 
     /**
      * Methode pour lire un fichier de format CSV.
      *
-     * @param file
+     * @param in
+     * @param batch
      * @throws IOException
      */
-    private void readCsvFile(final MultipartFile file) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] data = line.split(",");
-                if (data.length >= Constant.LENGTH_INDEX) {
-                    Client client = createClientFromCsvData(data);
-                    clientRepository.save(client);
-                } else {
-                    log.warn("Données incomplètes: {}", line);
-                }
-            }
-        }
+    private void readCsvFile(final InputStream in, final ImportBatch batch) throws IOException {
+        readDelimitedFile(in, batch);
     }
 
     /**
-     * Methode pour storer les donnees issus du fichier CSV.
+     * Lecture ligne par ligne d'un fichier délimité par des virgules (CSV ou TXT), les clients
+     * étant persistés par lots de {@code climax.import.batch-size}.
      *
-     * @param data
-     * @return client
+     * @param in
+     * @param batch
+     * @throws IOException
      */
-    private Client createClientFromCsvData(final String[] data) {
-        Client client = new Client();
-        client.setNom(data[Constant.NOM_INDEX]);
-        client.setPrenom(data[Constant.PRENOM_INDEX]);
-        try {
-            String ageStr = data[Constant.AGE_INDEX].trim();
-            if (!ageStr.isEmpty()) {
-                client.setAge(Integer.parseInt(ageStr));
-            }
-            String profession = data[Constant.PROFESSION_INDEX].trim();
-            if (!profession.isEmpty()) {
-                client.setProfession(profession);
-            }
-            String salaireStr = data[Constant.SALAIRE_INDEX].trim();
-            if (!salaireStr.isEmpty()) {
-                client.setSalaire(BigDecimal.valueOf(Double.parseDouble(salaireStr)));
+    private void readDelimitedFile(final InputStream in, final ImportBatch batch) throws IOException {
+        ClientCsvParser parser = new ClientCsvParser();
+        long[] line = new long[1];
+        CsvTokenizer.readLines(in, (buffer, start, end) -> {
+            batch.progress.rowParsed();
+            line[0]++;
+            Client client = parser.parse(buffer, start, end);
+            ClientViolation violation = client != null ? batch.validator.check(client) : parser.getViolation();
+            if (violation == null) {
+                addToBatch(batch, client);
+            } else {
+                batch.progress.reject(batch.fichier, ImportRejection.of(line[0], violation,
+                        CsvTokenizer.decode(buffer, start, end)));
             }
-        } catch (NumberFormatException e) {
-            log.error("Erreur de conversion des données: {}", e.getMessage());
-        }
-        return client;
+        });
     }
 
     /**
-     * Methode pour lire un fichier de format JSON.
+     * Methode pour lire un fichier de format JSON en flux : le tableau est parcouru jeton par jeton
+     * et un seul client est désérialisé à la fois, quelle que soit la taille du fichier.
      *
-     * @param file
+     * @param in
+     * @param batch
      * @throws IOException
      */
-    private void readJsonFile(final MultipartFile file) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        List<ClientDTO> clients = mapper.readValue(file.getInputStream(), new TypeReference<>() {
-        });
-        for (ClientDTO clientDTO : clients) {
-            Client client = createClientFromDto(clientDTO);
-            clientRepository.save(client);
+    private void readJsonFile(final InputStream in, final ImportBatch batch) throws IOException {
+        try (JsonParser parser = JSON_MAPPER.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Le fichier JSON doit contenir un tableau de clients");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.progress.rowParsed();
+                readElement(JSON_MAPPER, parser, batch);
+            }
         }
     }
 
@@ -140,51 +258,182 @@ public class FichierService {
     }
 
     /**
-     * Methode pour lire un fichier de format XML.
+     * Methode pour lire un fichier de format XML en flux, élément par élément sous la racine.
      *
-     * @param file
+     * @param in
+     * @param batch
      * @throws IOException
      */
-    private void readXmlFile(final MultipartFile file) throws IOException {
-        XmlMapper xmlMapper = new XmlMapper();
-        List<ClientDTO> clients = xmlMapper.readValue(file.getInputStream(), new TypeReference<>() {
-        });
-        for (ClientDTO clientDTO : clients) {
-            Client client = createClientFromDto(clientDTO);
-            clientRepository.save(client);
+    private void readXmlFile(final InputStream in, final ImportBatch batch) throws IOException {
+        try (JsonParser parser = XML_MAPPER.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Le fichier XML doit contenir un élément racine");
+            }
+            // Chaque élément enfant de la racine (<row>) est lu et converti isolément.
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    batch.progress.rowParsed();
+                    readElement(XML_MAPPER, parser, batch);
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
     }
 
     /**
      * Methode pour lire un fichier de format TXT.
      *
-     * @param file
+     * @param in
+     * @param batch
      * @throws IOException
      */
-    private void readTextFile(final MultipartFile file) throws IOException {
-        File tempFile = convertMultipartFileToFile(file);
-        List<String> lines = FileUtils.readLines(tempFile, StandardCharsets.UTF_8);
-        for (String line : lines) {
-            String[] data = line.split(",");
-            if (data.length >= Constant.LENGTH_INDEX) {
-                Client client = createClientFromCsvData(data);
-                clientRepository.save(client);
-            } else {
-                log.warn("Données incomplètes: {}", line);
+    private void readTextFile(final InputStream in, final ImportBatch batch) throws IOException {
+        readDelimitedFile(in, batch);
+    }
+
+    /**
+     * Lit l'élément JSON/XML courant d'un fichier, puis ajoute le client au lot courant ou le rejette. L'élément
+     * est d'abord lu en arbre : une valeur qui ne peut être convertie (âge ou salaire non numérique, champ
+     * inconnu) rejette l'élément sans interrompre la lecture du fichier.
+     *
+     * @param mapper le mapper du format du fichier
+     * @param parser le parser, positionné au début de l'élément
+     * @param batch  le lot courant
+     * @throws IOException si le fichier est illisible ou mal formé
+     */
+    private void readElement(final ObjectMapper mapper, final JsonParser parser, final ImportBatch batch)
+            throws IOException {
+        long line = parser.currentLocation().getLineNr();
+        JsonNode element = mapper.readTree(parser);
+        Client client;
+        try {
+            client = createClientFromDto(mapper.treeToValue(element, ClientDTO.class));
+        } catch (JsonMappingException e) {
+            batch.progress.reject(batch.fichier, ImportRejection.of(line, invalidValue(e), element.toString()));
+            return;
+        }
+        ClientViolation violation = batch.validator.check(client);
+        if (violation == null) {
+            addToBatch(batch, client);
+        } else {
+            batch.progress.reject(batch.fichier, ImportRejection.of(line, violation, client));
+        }
+    }
+
+    /**
+     * @param e l'échec de conversion d'un élément JSON/XML
+     * @return la raison du rejet, nommant le champ et la valeur en cause
+     */
+    private static ClientViolation invalidValue(final JsonMappingException e) {
+        List<JsonMappingException.Reference> path = e.getPath();
+        String field = path.isEmpty() ? "?" : path.get(path.size() - 1).getFieldName();
+        String value = e instanceof InvalidFormatException invalid ? " \"" + invalid.getValue() + "\"" : "";
+        return new ClientViolation(RejectionReason.INVALID_VALUE, field + value);
+    }
+
+    /**
+     * Ajoute un client au lot courant et persiste le lot dès qu'il atteint la taille configurée. Un client dont
+     * la clé naturelle figure déjà dans le lot est ignoré, sauf en mode {@code UPSERT} où il y remplace le
+     * précédent : la dernière ligne du fichier l'emporte, celles des lots précédents étant mises à jour par
+     * les suivants.
+     *
+     * @param batch  le lot courant
+     * @param client le client à ajouter
+     */
+    private void addToBatch(final ImportBatch batch, final Client client) {
+        client.setNaturalKey(naturalKey.of(client));
+        Integer position = batch.positions.putIfAbsent(client.getNaturalKey(), batch.clients.size());
+        if (position != null) {
+            if (batch.mode == ImportMode.UPSERT) {
+                batch.clients.set(position, client);
             }
+            batch.progress.addSkipped(1);
+            return;
+        }
+        batch.clients.add(client);
+        if (batch.clients.size() >= batch.chunkSize) {
+            flushBatch(batch);
         }
     }
 
     /**
-     * Conversion des fichiers.
+     * Persiste le lot selon le mode de l'import et publie les clients créés ou modifiés dans le flux des
+     * événements, puis vide le lot. Hors mode {@code UPSERT}, les clients dont la clé naturelle existe déjà en
+     * base sont ignorés. Une annulation demandée entre deux lots interrompt l'import et annule la transaction.
      *
-     * @param file
-     * @return tempfile
-     * @throws IOException
+     * @param batch le lot à persister
+     */
+    private void flushBatch(final ImportBatch batch) {
+        batch.progress.checkNotCancelled();
+        if (batch.clients.isEmpty()) {
+            return;
+        }
+        batch.metrics.persistStarted();
+        if (batch.mode == ImportMode.UPSERT) {
+            ClientUpsertLoader.Result result = clientUpsertLoader.upsert(batch.clients, batch.salaries);
+            int written = result.inserted().size() + result.updated().size();
+            batch.progress.addLoaded(written);
+            batch.progress.addSkipped(batch.clients.size() - written);
+            clientEventOutbox.append(ClientEventType.CREATED, result.inserted());
+            clientEventOutbox.append(ClientEventType.UPDATED, result.updated());
+            clientCache.evict(result.updated());
+        } else {
+            List<Client> absent = clientUpsertLoader.absent(batch.clients);
+            batch.progress.addSkipped(batch.clients.size() - absent.size());
+            batch.progress.addLoaded(batch.mode == ImportMode.COPY
+                    ? clientCopyLoader.copy(absent)
+                    : persistBatch(absent));
+            List<Long> ids = new ArrayList<>(absent.size());
+            for (Client client : absent) {
+                batch.salaries.add(client.getProfession(), client.getSalaire());
+                ids.add(client.getId());
+            }
+            clientEventOutbox.append(ClientEventType.CREATED, ids);
+        }
+        batch.clients.clear();
+        batch.positions.clear();
+        batch.metrics.persistFinished(batch.progress);
+    }
+
+    /**
+     * Persiste le lot en une seule série d'instructions JDBC groupées (hibernate.jdbc.batch_size),
+     * puis vide le contexte de persistance pour garder une empreinte mémoire constante.
+     *
+     * @param clients les clients à persister
+     * @return le nombre de clients persistés
      */
-    private File convertMultipartFileToFile(final MultipartFile file) throws IOException {
-        File tempFile = File.createTempFile("temp", null);
-        file.transferTo(tempFile);
-        return tempFile;
+    private int persistBatch(final List<Client> clients) {
+        clientRepository.saveAll(clients);
+        entityManager.flush();
+        entityManager.clear();
+        return clients.size();
+    }
+
+    /**
+     * Lot de clients en attente de persistance de l'import en cours.
+     */
+    private static final class ImportBatch {
+        private final String fichier;
+        private final ImportMode mode;
+        private final int chunkSize;
+        private final List<Client> clients;
+        private final ImportProgress progress;
+        private final ImportMetrics.Recorder metrics;
+        private final SalaryAggregate.Delta salaries = new SalaryAggregate.Delta();
+        private final Map<UUID, Integer> positions;
+        private final ClientValidator validator;
+
+        ImportBatch(final String fichier, final ImportMode mode, final int chunkSize, final ImportProgress progress,
+                    final ImportMetrics.Recorder metrics, final ClientValidator validator) {
+            this.fichier = fichier;
+            this.mode = mode;
+            this.chunkSize = chunkSize;
+            this.clients = new ArrayList<>(chunkSize);
+            this.progress = progress;
+            this.metrics = metrics;
+            this.positions = new HashMap<>(chunkSize * 2);
+            this.validator = validator;
+        }
     }
 }
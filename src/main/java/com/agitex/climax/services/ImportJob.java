@@ -0,0 +1,170 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ImportJobDTO;
+import com.agitex.climax.enums.ImportJobStatus;
+import com.agitex.climax.enums.ImportMode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Tâche d'import asynchrone conservée en mémoire le temps de son exécution et de sa rétention.
+ */
+@Getter
+public class ImportJob {
+
+    private static final double MILLIS_PER_SECOND = 1000d;
+
+    private final UUID id = UUID.randomUUID();
+    private final String fichier;
+    private final ImportMode mode;
+    private final List<Upload> uploads;
+    private final boolean multiple;
+    private final long totalBytes;
+    private final Instant submittedAt = Instant.now();
+    private final ImportRejections rejections;
+    private final ImportProgress progress;
+    private final List<ImportShard> shards = new CopyOnWriteArrayList<>();
+
+    private volatile ImportJobStatus status = ImportJobStatus.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    @Setter
+    private volatile Future<?> future;
+
+    /**
+     * Crée une tâche pour un fichier déposé sur disque.
+     *
+     * @param fichier    le nom du fichier d'origine
+     * @param mode       la stratégie de persistance
+     * @param spoolFile  la copie locale du fichier à importer
+     * @param totalBytes la taille du fichier
+     * @param rejections les rejets de l'import
+     */
+    public ImportJob(final String fichier, final ImportMode mode, final Path spoolFile, final long totalBytes,
+                     final ImportRejections rejections) {
+        this.fichier = fichier;
+        this.mode = mode;
+        this.uploads = List.of(new Upload(fichier, spoolFile));
+        this.multiple = false;
+        this.totalBytes = totalBytes;
+        this.rejections = rejections;
+        this.progress = new ImportProgress(rejections);
+    }
+
+    /**
+     * Crée une tâche pour plusieurs fichiers ou archives déposés sur disque, importés fichier par fichier.
+     *
+     * @param mode       la stratégie de persistance
+     * @param uploads    les fichiers déposés
+     * @param totalBytes la taille totale des fichiers déposés
+     * @param rejections les rejets de l'import
+     */
+    public ImportJob(final ImportMode mode, final List<Upload> uploads, final long totalBytes,
+                     final ImportRejections rejections) {
+        this.fichier = uploads.stream().map(Upload::fichier).collect(Collectors.joining(", "));
+        this.mode = mode;
+        this.uploads = List.copyOf(uploads);
+        this.multiple = true;
+        this.totalBytes = totalBytes;
+        this.rejections = rejections;
+        this.progress = new ImportProgress(rejections);
+    }
+
+    /**
+     * Ajoute un fichier à l'import multiple.
+     *
+     * @param name le nom du fichier
+     * @return le fichier, dont les compteurs se reportent sur ceux de la tâche
+     */
+    public ImportShard addShard(final String name) {
+        ImportShard shard = new ImportShard(name, progress);
+        shards.add(shard);
+        return shard;
+    }
+
+    /**
+     * Marque le démarrage de la tâche.
+     */
+    public void markRunning() {
+        startedAt = Instant.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    /**
+     * Marque la fin de la tâche et termine le rapport des rejets.
+     *
+     * @param finalStatus le statut terminal
+     * @param message     le message d'erreur éventuel
+     */
+    public void markFinished(final ImportJobStatus finalStatus, final String message) {
+        rejections.close();
+        finishedAt = Instant.now();
+        error = message;
+        status = finalStatus;
+    }
+
+    /**
+     * @return {@code true} si la tâche a atteint un statut terminal
+     */
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    /**
+     * Photographie l'état courant de la tâche, débit et temps restant estimé compris.
+     *
+     * @return le DTO de suivi
+     */
+    public ImportJobDTO toDto() {
+        long loaded = progress.getRowsLoaded();
+        long bytesRead = progress.getBytesRead();
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsedMillis = start != null ? Duration.between(start, end).toMillis() : 0;
+        double rowsPerSecond = elapsedMillis > 0 ? loaded * MILLIS_PER_SECOND / elapsedMillis : 0;
+        Long etaSeconds = null;
+        if (!isFinished() && elapsedMillis > 0 && bytesRead > 0 && totalBytes >= bytesRead) {
+            etaSeconds = Math.round((totalBytes - bytesRead) * (elapsedMillis / MILLIS_PER_SECOND) / bytesRead);
+        }
+        return ImportJobDTO.builder()
+                .id(id)
+                .fichier(fichier)
+                .mode(mode)
+                .statut(status)
+                .lignesLues(progress.getRowsParsed())
+                .lignesChargees(loaded)
+                .lignesRejetees(progress.getRowsRejected())
+                .rejetsParMotif(rejections.countsByReason())
+                .lignesIgnorees(progress.getRowsSkipped())
+                .octetsLus(bytesRead)
+                .octetsTotal(totalBytes)
+                .lignesParSeconde(rowsPerSecond)
+                .etaSecondes(etaSeconds)
+                .dateSoumission(submittedAt)
+                .dateDebut(start)
+                .dateFin(finishedAt)
+                .erreur(error)
+                .fichiers(shards.stream().map(ImportShard::toDto).toList())
+                .build();
+    }
+
+    /**
+     * Fichier reçu et sa copie locale.
+     *
+     * @param fichier   le nom du fichier d'origine
+     * @param spoolFile la copie locale du fichier
+     */
+    public record Upload(String fichier, Path spoolFile) {
+    }
+}
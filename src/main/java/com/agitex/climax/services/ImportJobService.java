@@ -0,0 +1,316 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.dtos.ImportJobDTO;
+import com.agitex.climax.enums.ImportFormat;
+import com.agitex.climax.enums.ImportJobStatus;
+import com.agitex.climax.enums.ImportMode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exécution asynchrone des imports de fichiers clients.
+ * <p>
+ * Le fichier reçu est d'abord déposé sur disque, puis lu et persisté par un pool de workers borné
+ * ({@code climax.import.max-concurrent-jobs}) : les imports ne monopolisent ni les threads HTTP ni
+ * plus de connexions que prévu. Les tâches terminées restent consultables pendant
+ * {@code climax.import.job-retention}. Avec {@code spring.threads.virtual.enabled} (Java 21), les workers
+ * sont des threads virtuels, toujours limités au même nombre.
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    private final FichierService fichierService;
+    private final MultiFileImporter multiFileImporter;
+    private final ImportProperties importProperties;
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Import job service.
+     *
+     * @param fichierService    the file service
+     * @param multiFileImporter the importer of jobs made of several files or of archives
+     * @param importProperties  the import configuration
+     * @param environment       the environment, telling whether virtual threads are enabled
+     * @param importMetrics     the import metrics, publishing the number of jobs by status
+     */
+    public ImportJobService(final FichierService fichierService, final MultiFileImporter multiFileImporter,
+                            final ImportProperties importProperties, final Environment environment,
+                            final ImportMetrics importMetrics) {
+        this.fichierService = fichierService;
+        this.multiFileImporter = multiFileImporter;
+        this.importProperties = importProperties;
+        this.importTaskExecutor = new ThreadPoolTaskExecutor();
+        importTaskExecutor.setCorePoolSize(importProperties.getMaxConcurrentJobs());
+        importTaskExecutor.setMaxPoolSize(importProperties.getMaxConcurrentJobs());
+        importTaskExecutor.setQueueCapacity(importProperties.getQueueCapacity());
+        importTaskExecutor.setThreadNamePrefix("import-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            importTaskExecutor.setThreadFactory(new VirtualThreadTaskExecutor("import-").getVirtualThreadFactory());
+        }
+        importTaskExecutor.initialize();
+        importMetrics.monitorJobs(jobs.values());
+    }
+
+    /**
+     * Dépose le fichier sur disque et planifie son import.
+     *
+     * @param file le fichier reçu
+     * @param mode la stratégie de persistance
+     * @return l'état initial de la tâche
+     * @throws IOException              si le fichier ne peut être déposé sur disque
+     * @throws IllegalArgumentException si le fichier n'a pas de nom ou n'est pas d'un format pris en charge
+     */
+    public ImportJobDTO submit(final MultipartFile file, final ImportMode mode) throws IOException {
+        String filename = file.getOriginalFilename();
+        if (filename == null) {
+            log.error("Le nom du fichier est null");
+            throw new IllegalArgumentException("Le nom du fichier est null");
+        }
+        if (ImportFormat.fromFilename(filename) == null) {
+            throw new IllegalArgumentException("Type de fichier non pris en charge: " + filename);
+        }
+        purgeExpiredJobs();
+        Path spoolFile = createSpoolFile();
+        ImportJob job;
+        try {
+            file.transferTo(spoolFile);
+            job = new ImportJob(filename, mode, spoolFile, Files.size(spoolFile), createRejections());
+        } catch (IOException e) {
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+        schedule(job);
+        log.debug("Import {} planifié pour {}", job.getId(), filename);
+        return job.toDto();
+    }
+
+    /**
+     * Dépose sur disque des fichiers de données ou des archives ZIP / {@code tar.gz} et planifie leur import
+     * en une seule tâche, chaque fichier ou entrée d'archive étant importé séparément.
+     *
+     * @param files les fichiers reçus
+     * @param mode  la stratégie de persistance
+     * @return l'état initial de la tâche
+     * @throws IOException si un fichier ne peut être déposé sur disque
+     */
+    public ImportJobDTO submitAll(final List<MultipartFile> files, final ImportMode mode) throws IOException {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("Aucun fichier reçu");
+        }
+        for (MultipartFile file : files) {
+            String filename = file.getOriginalFilename();
+            if (filename == null) {
+                log.error("Le nom du fichier est null");
+                throw new IllegalArgumentException("Le nom du fichier est null");
+            }
+            if (!MultiFileImporter.isSupported(filename)) {
+                throw new IllegalArgumentException("Type de fichier non pris en charge: " + filename);
+            }
+        }
+        purgeExpiredJobs();
+        List<ImportJob.Upload> uploads = new ArrayList<>(files.size());
+        long totalBytes = 0;
+        ImportRejections rejections;
+        try {
+            for (MultipartFile file : files) {
+                Path spoolFile = createSpoolFile();
+                uploads.add(new ImportJob.Upload(file.getOriginalFilename(), spoolFile));
+                file.transferTo(spoolFile);
+                totalBytes += Files.size(spoolFile);
+            }
+            rejections = createRejections();
+        } catch (IOException e) {
+            uploads.forEach(upload -> deleteSpoolFile(upload.spoolFile()));
+            throw e;
+        }
+        ImportJob job = new ImportJob(mode, uploads, totalBytes, rejections);
+        schedule(job);
+        log.debug("Import {} planifié pour {} fichiers", job.getId(), uploads.size());
+        return job.toDto();
+    }
+
+    /**
+     * Get one import job by id.
+     *
+     * @param id the id of the job.
+     * @return the job state.
+     */
+    public Optional<ImportJobDTO> findOne(final UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(ImportJob::toDto);
+    }
+
+    /**
+     * Rapport des lignes rejetées d'une tâche, au format CSV ({@code fichier,ligne,motif,detail,contenu}),
+     * disponible dès le début de l'import et jusqu'à la fin de sa rétention.
+     *
+     * @param id the id of the job.
+     * @return the rejections report.
+     */
+    public Optional<Resource> findRejections(final UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(job -> job.getRejections().report());
+    }
+
+    /**
+     * Demande l'annulation d'une tâche : immédiate si elle est en attente, au prochain lot sinon.
+     *
+     * @param id the id of the job.
+     * @return the job state.
+     */
+    public Optional<ImportJobDTO> cancel(final UUID id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.getProgress().requestCancel();
+        if (job.getStatus() == ImportJobStatus.PENDING && job.getFuture().cancel(false)) {
+            job.markFinished(ImportJobStatus.CANCELLED, null);
+            deleteSpoolFile(job);
+        }
+        return Optional.of(job.toDto());
+    }
+
+    /**
+     * Arrête les workers à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.getProgress().requestCancel());
+        importTaskExecutor.shutdown();
+        jobs.values().forEach(job -> job.getRejections().delete());
+    }
+
+    /**
+     * Planifie la tâche, puis la publie : une tâche visible a toujours son {@code Future}, dont dépend son
+     * annulation.
+     *
+     * @param job la tâche
+     */
+    private void schedule(final ImportJob job) {
+        try {
+            job.setFuture(importTaskExecutor.submit(() -> run(job)));
+        } catch (TaskRejectedException e) {
+            deleteSpoolFile(job);
+            job.getRejections().delete();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Trop d'imports en attente, réessayez plus tard");
+        }
+        jobs.put(job.getId(), job);
+    }
+
+    private void run(final ImportJob job) {
+        if (job.getProgress().isCancelRequested()) {
+            job.markFinished(ImportJobStatus.CANCELLED, null);
+            deleteSpoolFile(job);
+            return;
+        }
+        job.markRunning();
+        try {
+            if (job.isMultiple()) {
+                long failed = multiFileImporter.importAll(job);
+                if (failed > 0) {
+                    job.markFinished(ImportJobStatus.FAILED,
+                            failed + " fichier(s) en échec sur " + job.getShards().size());
+                } else {
+                    job.markFinished(ImportJobStatus.COMPLETED, null);
+                }
+            } else {
+                fichierService.importFile(job.getFichier(), job.getUploads().get(0).spoolFile(), job.getMode(),
+                        job.getProgress());
+                job.markFinished(ImportJobStatus.COMPLETED, null);
+            }
+        } catch (CancellationException e) {
+            log.info("Import {} annulé", job.getId());
+            discardLoaded(job);
+            job.markFinished(ImportJobStatus.CANCELLED, null);
+        } catch (Exception e) {
+            log.error("Échec de l'import {} ({})", job.getId(), job.getFichier(), e);
+            discardLoaded(job);
+            job.markFinished(ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            deleteSpoolFile(job);
+        }
+        if (job.getProgress().getRowsRejected() > 0) {
+            log.info("Import {} : {} lignes rejetées {}, détail : GET /v1/api/imports/{}/rejections", job.getId(),
+                    job.getProgress().getRowsRejected(), job.getRejections().countsByReason(), job.getId());
+        }
+    }
+
+    private Path createSpoolFile() throws IOException {
+        return createSpoolFile("climax-import-", ".upload");
+    }
+
+    private Path createSpoolFile(final String prefix, final String suffix) throws IOException {
+        String directory = importProperties.getSpoolDirectory();
+        if (directory == null || directory.isBlank()) {
+            return Files.createTempFile(prefix, suffix);
+        }
+        Path dir = Files.createDirectories(Path.of(directory));
+        return Files.createTempFile(dir, prefix, suffix);
+    }
+
+    private ImportRejections createRejections() throws IOException {
+        ImportProperties.Validation validation = importProperties.getValidation();
+        return new ImportRejections(createSpoolFile("climax-rejets-", ".csv"),
+                validation.getMaxReportedRejections(), validation.getLoggedRejections());
+    }
+
+    /**
+     * Retire les lignes chargées d'un import d'un seul fichier interrompu : sa transaction unique a été
+     * annulée. Les fichiers d'un import multiple, chacun dans sa transaction, retirent les leurs en cas d'échec.
+     *
+     * @param job la tâche interrompue
+     */
+    private static void discardLoaded(final ImportJob job) {
+        if (!job.isMultiple()) {
+            job.getProgress().discardLoaded();
+        }
+    }
+
+    private void deleteSpoolFile(final ImportJob job) {
+        job.getUploads().forEach(upload -> deleteSpoolFile(upload.spoolFile()));
+    }
+
+    private void deleteSpoolFile(final Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Impossible de supprimer le fichier {}: {}", spoolFile, e.getMessage());
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        Instant limit = Instant.now().minus(importProperties.getJobRetention());
+        jobs.values().removeIf(job -> {
+            boolean expired = job.isFinished() && job.getFinishedAt().isBefore(limit);
+            if (expired) {
+                job.getRejections().delete();
+            }
+            return expired;
+        });
+    }
+}
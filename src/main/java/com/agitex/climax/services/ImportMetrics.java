@@ -0,0 +1,175 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.enums.ImportFormat;
+import com.agitex.climax.enums.ImportJobStatus;
+import com.agitex.climax.enums.ImportMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métriques du pipeline d'import des fichiers clients.
+ * <ul>
+ *     <li>{@code climax.import.rows} (compteur) : lignes lues ({@code outcome=parsed}), chargées
+ *     ({@code loaded}, comptées à la validation de la transaction du fichier : une transaction annulée n'en
+ *     ajoute aucune), rejetées ({@code rejected}) et ignorées car déjà présentes ({@code skipped}) ; le
+ *     débit de lecture s'obtient par le taux de ce compteur ;</li>
+ *     <li>{@code climax.import.stage} (timer) : temps passé à lire et convertir les lignes
+ *     ({@code stage=parse}) et à persister les lots ({@code stage=persist}) ;</li>
+ *     <li>{@code climax.import.jobs} (jauge) : tâches d'import connues, par statut.</li>
+ * </ul>
+ * Les mesures de lignes et d'étapes sont étiquetées par format et mode, deux valeurs en nombre borné,
+ * et prises une fois par lot, jamais par ligne.
+ */
+@Component
+public class ImportMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Instantiates a new Import metrics.
+     *
+     * @param meterRegistry the meter registry
+     */
+    public ImportMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Publie le nombre de tâches d'import par statut.
+     *
+     * @param jobs les tâches connues
+     */
+    public void monitorJobs(final Collection<ImportJob> jobs) {
+        for (ImportJobStatus status : ImportJobStatus.values()) {
+            Gauge.builder("climax.import.jobs", jobs, all -> all.stream().filter(j -> j.getStatus() == status).count())
+                    .description("Tâches d'import connues, par statut")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @param format le format du fichier
+     * @param mode   la stratégie de persistance
+     * @return les compteurs d'un import, résolus une fois pour toutes
+     */
+    public Recorder recorder(final ImportFormat format, final ImportMode mode) {
+        return new Recorder(format.getExtension(), mode.name());
+    }
+
+    /**
+     * Enregistrement des mesures d'un import. Non thread-safe : utilisé par le seul thread qui persiste.
+     */
+    public final class Recorder {
+
+        private final String format;
+        private final String mode;
+        private final Counter parsed;
+        private final Counter loaded;
+        private final Counter rejected;
+        private final Counter skipped;
+        private final Timer parseTimer;
+        private final Timer persistTimer;
+        private long lastParsed;
+        private long lastRejected;
+        private long lastSkipped;
+        private long mark = System.nanoTime();
+
+        private Recorder(final String format, final String mode) {
+            this.format = format;
+            this.mode = mode;
+            this.parsed = rows("parsed");
+            this.loaded = rows("loaded");
+            this.rejected = rows("rejected");
+            this.skipped = rows("skipped");
+            this.parseTimer = stage("parse");
+            this.persistTimer = stage("persist");
+        }
+
+        /**
+         * Début de persistance d'un lot : le temps écoulé depuis la fin du lot précédent est compté comme
+         * temps de lecture.
+         */
+        public void persistStarted() {
+            long now = System.nanoTime();
+            parseTimer.record(now - mark, TimeUnit.NANOSECONDS);
+            mark = now;
+        }
+
+        /**
+         * Fin de persistance d'un lot : enregistre sa durée et les lignes traitées depuis le lot précédent.
+         *
+         * @param progress les compteurs d'avancement de l'import
+         */
+        public void persistFinished(final ImportProgress progress) {
+            long now = System.nanoTime();
+            persistTimer.record(now - mark, TimeUnit.NANOSECONDS);
+            mark = now;
+            rowsProcessed(progress);
+        }
+
+        /**
+         * Reporte les lignes traitées depuis le dernier appel, hors lignes chargées.
+         *
+         * @param progress les compteurs d'avancement de l'import
+         */
+        public void rowsProcessed(final ImportProgress progress) {
+            lastParsed = increment(parsed, progress.getRowsParsed(), lastParsed);
+            lastRejected = increment(rejected, progress.getRowsRejected(), lastRejected);
+            lastSkipped = increment(skipped, progress.getRowsSkipped(), lastSkipped);
+        }
+
+        /**
+         * Reporte les lignes chargées du fichier une fois la transaction courante validée, immédiatement hors
+         * transaction.
+         *
+         * @param progress les compteurs d'avancement du fichier, terminé
+         */
+        public void loadedOnCommit(final ImportProgress progress) {
+            long rows = progress.getRowsLoaded();
+            if (rows == 0) {
+                return;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        loaded.increment(rows);
+                    }
+                });
+            } else {
+                loaded.increment(rows);
+            }
+        }
+
+        private long increment(final Counter counter, final long total, final long previous) {
+            if (total > previous) {
+                counter.increment(total - previous);
+            }
+            return total;
+        }
+
+        private Counter rows(final String outcome) {
+            return Counter.builder("climax.import.rows")
+                    .description("Lignes des fichiers importés")
+                    .tags("format", format, "mode", mode, "outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private Timer stage(final String stage) {
+            return Timer.builder("climax.import.stage")
+                    .description("Temps passé par étape du pipeline d'import")
+                    .tags("format", format, "mode", mode, "stage", stage)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
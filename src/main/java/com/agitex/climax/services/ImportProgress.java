@@ -0,0 +1,192 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.utils.Constant;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'avancement d'un import, mis à jour par le thread d'import et lus par les autres threads
+ * (suivi des tâches, métriques). Porte aussi la demande d'annulation, vérifiée à chaque lot, et les rejets de
+ * l'import. Les compteurs d'un fichier d'un import multiple se reportent sur ceux de l'import, dont il suit
+ * aussi l'annulation ; ceux-ci sont alors incrémentés par plusieurs threads, d'où des {@link LongAdder}.
+ */
+public class ImportProgress {
+
+    private final ImportProgress parent;
+    private final ImportRejections rejections;
+
+    private final LongAdder rowsParsed = new LongAdder();
+    private final LongAdder rowsLoaded = new LongAdder();
+    private final LongAdder rowsRejected = new LongAdder();
+    private final LongAdder rowsSkipped = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private volatile boolean cancelRequested;
+
+    /**
+     * Crée les compteurs d'un import sans rapport des rejets, ceux-ci étant seulement journalisés.
+     */
+    public ImportProgress() {
+        this(new ImportRejections(null, 0, Constant.DEFAULT_LOGGED_REJECTIONS));
+    }
+
+    /**
+     * Crée les compteurs d'un import.
+     *
+     * @param rejections les rejets de l'import
+     */
+    public ImportProgress(final ImportRejections rejections) {
+        this.parent = null;
+        this.rejections = rejections;
+    }
+
+    /**
+     * Crée les compteurs d'un fichier d'un import multiple.
+     *
+     * @param parent les compteurs de l'import, auxquels les rejets sont transmis
+     */
+    public ImportProgress(final ImportProgress parent) {
+        this.parent = parent;
+        this.rejections = null;
+    }
+
+    /**
+     * Comptabilise une ligne lue (valide ou non).
+     */
+    public void rowParsed() {
+        addParsed(1);
+    }
+
+    /**
+     * Comptabilise des lignes lues.
+     *
+     * @param count le nombre de lignes
+     */
+    public void addParsed(final long count) {
+        rowsParsed.add(count);
+        if (parent != null) {
+            parent.addParsed(count);
+        }
+    }
+
+    /**
+     * Comptabilise des lignes persistées (insérées, ou mises à jour en mode {@code UPSERT}).
+     *
+     * @param count le nombre de lignes
+     */
+    public void addLoaded(final long count) {
+        rowsLoaded.add(count);
+        if (parent != null) {
+            parent.addLoaded(count);
+        }
+    }
+
+    /**
+     * Retire du décompte les lignes persistées dont la transaction a été annulée, ici et sur l'import dont
+     * ce fichier fait partie. Appelé une fois le fichier terminé, sans plus d'écriture concurrente.
+     */
+    public void discardLoaded() {
+        long discarded = rowsLoaded.sumThenReset();
+        if (parent != null) {
+            parent.addLoaded(-discarded);
+        }
+    }
+
+    /**
+     * Comptabilise une ligne rejetée et la transmet aux rejets de l'import.
+     *
+     * @param fichier   le nom du fichier de la ligne
+     * @param rejection la ligne rejetée
+     */
+    public void reject(final String fichier, final ImportRejection rejection) {
+        rowsRejected.increment();
+        if (parent != null) {
+            parent.reject(fichier, rejection);
+        } else {
+            rejections.add(fichier, rejection);
+        }
+    }
+
+    /**
+     * Comptabilise des lignes valides ignorées en mode {@code UPSERT} : client déjà présent à l'identique
+     * ou supprimé, ou ligne remplacée par une ligne suivante de même clé naturelle.
+     *
+     * @param count le nombre de lignes
+     */
+    public void addSkipped(final long count) {
+        rowsSkipped.add(count);
+        if (parent != null) {
+            parent.addSkipped(count);
+        }
+    }
+
+    /**
+     * Comptabilise des octets lus dans le fichier source.
+     *
+     * @param count le nombre d'octets
+     */
+    public void addBytesRead(final long count) {
+        bytesRead.add(count);
+        if (parent != null) {
+            parent.addBytesRead(count);
+        }
+    }
+
+    /**
+     * Demande l'arrêt de l'import au prochain lot.
+     */
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    /**
+     * @return {@code true} si l'annulation a été demandée
+     */
+    public boolean isCancelRequested() {
+        return cancelRequested || parent != null && parent.isCancelRequested();
+    }
+
+    /**
+     * Interrompt l'import si son annulation a été demandée ; l'exception provoque le rollback.
+     */
+    public void checkNotCancelled() {
+        if (isCancelRequested()) {
+            throw new CancellationException("Import annulé");
+        }
+    }
+
+    /**
+     * @return le nombre de lignes lues
+     */
+    public long getRowsParsed() {
+        return rowsParsed.sum();
+    }
+
+    /**
+     * @return le nombre de lignes persistées, hors transactions annulées
+     */
+    public long getRowsLoaded() {
+        return rowsLoaded.sum();
+    }
+
+    /**
+     * @return le nombre de lignes rejetées
+     */
+    public long getRowsRejected() {
+        return rowsRejected.sum();
+    }
+
+    /**
+     * @return le nombre de lignes ignorées (mode {@code UPSERT})
+     */
+    public long getRowsSkipped() {
+        return rowsSkipped.sum();
+    }
+
+    /**
+     * @return le nombre d'octets lus
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+}
@@ -0,0 +1,50 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.RejectionReason;
+import com.agitex.climax.utils.ClientViolation;
+
+import java.util.Objects;
+
+/**
+ * Ligne rejetée d'un fichier importé.
+ *
+ * @param line    le numéro de la ligne (CSV/TXT) ou de la ligne où commence l'élément (JSON/XML), à partir de 1
+ * @param reason  le motif
+ * @param detail  la précision du motif
+ * @param content le contenu de la ligne, ou les champs lus pour un élément JSON/XML
+ */
+public record ImportRejection(long line, RejectionReason reason, String detail, String content) {
+
+    /**
+     * @param line      le numéro de la ligne
+     * @param violation la raison du rejet
+     * @param content   le contenu de la ligne
+     * @return le rejet
+     */
+    public static ImportRejection of(final long line, final ClientViolation violation, final String content) {
+        return new ImportRejection(line, violation.reason(), violation.detail(), content);
+    }
+
+    /**
+     * @param line      le numéro de la ligne
+     * @param violation la raison du rejet
+     * @param client    le client lu, restitué au format {@code nom,prenom,age,profession,salaire}
+     * @return le rejet
+     */
+    public static ImportRejection of(final long line, final ClientViolation violation, final Client client) {
+        String content = String.join(",", Objects.toString(client.getNom(), ""),
+                Objects.toString(client.getPrenom(), ""), Objects.toString(client.getAge(), ""),
+                Objects.toString(client.getProfession(), ""),
+                client.getSalaire() != null ? client.getSalaire().toPlainString() : "");
+        return of(line, violation, content);
+    }
+
+    /**
+     * @param lines le nombre de lignes précédant celle de ce rejet dans le fichier
+     * @return le même rejet, numéroté depuis le début du fichier
+     */
+    public ImportRejection after(final long lines) {
+        return new ImportRejection(lines + line, reason, detail, content);
+    }
+}
@@ -0,0 +1,177 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.enums.RejectionReason;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rejets d'un import : décompte par motif, journalisation limitée et rapport téléchargeable.
+ * <p>
+ * Seuls les {@code climax.import.validation.logged-rejections} premiers rejets sont journalisés, un fichier
+ * entièrement invalide ne produisant ainsi que quelques lignes de journal. Les
+ * {@code max-reported-rejections} premiers sont écrits dans un rapport CSV ({@code fichier,ligne,motif,detail,
+ * contenu}) sur disque ; au-delà, ils sont seulement décomptés. Partagé par les fichiers d'un import multiple,
+ * importés en parallèle : les méthodes sont synchronisées.
+ */
+@Slf4j
+public class ImportRejections {
+
+    private static final String HEADER = "fichier,ligne,motif,detail,contenu\n";
+    private static final int MAX_CONTENT_LENGTH = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path reportFile;
+    private final long maxReported;
+    private final long maxLogged;
+    private final long[] counts = new long[RejectionReason.values().length];
+
+    private long total;
+    private Writer writer;
+    private boolean closed;
+
+    /**
+     * @param reportFile  le fichier du rapport, ou {@code null} pour ne pas en produire
+     * @param maxReported le nombre maximal de rejets écrits dans le rapport
+     * @param maxLogged   le nombre maximal de rejets journalisés
+     */
+    public ImportRejections(final Path reportFile, final long maxReported, final long maxLogged) {
+        this.reportFile = reportFile;
+        this.maxReported = reportFile != null ? maxReported : 0;
+        this.maxLogged = maxLogged;
+    }
+
+    /**
+     * Enregistre un rejet.
+     *
+     * @param fichier   le nom du fichier de la ligne
+     * @param rejection la ligne rejetée
+     */
+    public synchronized void add(final String fichier, final ImportRejection rejection) {
+        counts[rejection.reason().ordinal()]++;
+        total++;
+        if (total <= maxLogged) {
+            log.warn("Ligne {} de {} rejetée ({} : {})", rejection.line(), fichier, rejection.reason(),
+                    rejection.detail());
+        } else if (total == maxLogged + 1) {
+            log.warn("Rejets suivants non journalisés (plus de {}) : voir le rapport des rejets de l'import",
+                    maxLogged);
+        }
+        if (total <= maxReported && !closed) {
+            write(fichier, rejection);
+        }
+    }
+
+    /**
+     * @return le nombre de rejets par motif, motifs sans rejet exclus
+     */
+    public synchronized Map<RejectionReason, Long> countsByReason() {
+        Map<RejectionReason, Long> result = new EnumMap<>(RejectionReason.class);
+        for (RejectionReason reason : RejectionReason.values()) {
+            if (counts[reason.ordinal()] > 0) {
+                result.put(reason, counts[reason.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rapport des rejets enregistrés jusqu'ici, l'import pouvant être encore en cours.
+     *
+     * @return le contenu du rapport, en-tête seul si aucun rejet n'a été écrit
+     */
+    public synchronized Resource report() {
+        if (writer == null) {
+            return new ByteArrayResource(HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            if (!closed) {
+                writer.flush();
+            }
+            // Borné à la taille courante : l'import peut continuer d'écrire pendant le téléchargement.
+            return new InputStreamResource(new BoundedInputStream(Files.newInputStream(reportFile),
+                    Files.size(reportFile)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Rapport des rejets illisible", e);
+        }
+    }
+
+    /**
+     * Termine le rapport ; les rejets suivants ne sont plus que décomptés.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Impossible de fermer le rapport des rejets {}: {}", reportFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Termine et supprime le rapport.
+     */
+    public synchronized void delete() {
+        close();
+        writer = null;
+        if (reportFile != null) {
+            try {
+                Files.deleteIfExists(reportFile);
+            } catch (IOException e) {
+                log.warn("Impossible de supprimer le fichier {}: {}", reportFile, e.getMessage());
+            }
+        }
+    }
+
+    private void write(final String fichier, final ImportRejection rejection) {
+        try {
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(reportFile),
+                        StandardCharsets.UTF_8), BUFFER_SIZE);
+                writer.write(HEADER);
+            }
+            String content = rejection.content();
+            if (content != null && content.length() > MAX_CONTENT_LENGTH) {
+                content = content.substring(0, MAX_CONTENT_LENGTH) + "…";
+            }
+            writeQuoted(fichier);
+            writer.write(',');
+            writer.write(Long.toString(rejection.line()));
+            writer.write(',');
+            writer.write(rejection.reason().name());
+            writer.write(',');
+            writeQuoted(rejection.detail());
+            writer.write(',');
+            writeQuoted(content);
+            writer.write('\n');
+        } catch (IOException e) {
+            // Le rapport est accessoire : l'import se poursuit, les rejets restant décomptés.
+            log.warn("Écriture du rapport des rejets {} impossible : {}", reportFile, e.getMessage());
+            closed = true;
+        }
+    }
+
+    private void writeQuoted(final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
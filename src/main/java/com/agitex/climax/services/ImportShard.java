@@ -0,0 +1,62 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ImportShardDTO;
+import com.agitex.climax.enums.ImportJobStatus;
+import lombok.Getter;
+
+/**
+ * Fichier d'un import multiple : fichier déposé ou entrée d'archive, importé dans sa propre transaction.
+ */
+@Getter
+public class ImportShard {
+
+    private final String fichier;
+    private final ImportProgress progress;
+
+    private volatile ImportJobStatus status = ImportJobStatus.PENDING;
+    private volatile String error;
+
+    /**
+     * Crée un fichier d'import dont les compteurs se reportent sur ceux de l'import.
+     *
+     * @param fichier le nom du fichier, préfixé de celui de l'archive pour une entrée d'archive
+     * @param parent  les compteurs de l'import
+     */
+    public ImportShard(final String fichier, final ImportProgress parent) {
+        this.fichier = fichier;
+        this.progress = new ImportProgress(parent);
+    }
+
+    /**
+     * Marque le démarrage de l'import du fichier.
+     */
+    public void markRunning() {
+        status = ImportJobStatus.RUNNING;
+    }
+
+    /**
+     * Marque la fin de l'import du fichier.
+     *
+     * @param finalStatus le statut terminal
+     * @param message     le message d'erreur éventuel
+     */
+    public void markFinished(final ImportJobStatus finalStatus, final String message) {
+        error = message;
+        status = finalStatus;
+    }
+
+    /**
+     * @return l'état courant du fichier
+     */
+    public ImportShardDTO toDto() {
+        return ImportShardDTO.builder()
+                .fichier(fichier)
+                .statut(status)
+                .lignesLues(progress.getRowsParsed())
+                .lignesChargees(progress.getRowsLoaded())
+                .lignesRejetees(progress.getRowsRejected())
+                .lignesIgnorees(progress.getRowsSkipped())
+                .erreur(error)
+                .build();
+    }
+}
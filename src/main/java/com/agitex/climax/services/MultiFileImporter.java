@@ -0,0 +1,276 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.enums.ImportFormat;
+import com.agitex.climax.enums.ImportJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Import des tâches à plusieurs fichiers : fichiers déposés ensemble et entrées d'archives ZIP ou
+ * {@code tar.gz}, chacun importé dans sa propre transaction par le lecteur de son format.
+ * <p>
+ * Les archives sont lues depuis leur copie déposée, sans extraction sur disque. Les entrées d'une archive
+ * ZIP sont lues directement, en parallèle ; celles d'une archive {@code tar.gz}, lisibles seulement dans
+ * l'ordre, sont lues en mémoire jusqu'à {@code climax.import.max-buffered-entry-size} puis importées en
+ * parallèle de la suite de la décompression, les plus grosses au fil de la décompression. Un pool de
+ * {@code climax.import.shard-parallelism} threads, partagé par toutes les tâches, importe les fichiers ; une
+ * tâche n'en a pas plus à la fois en cours ou en mémoire. L'échec d'un fichier n'interrompt pas les autres.
+ * Seules les entrées d'archive d'un format de données pris en charge sont importées : les autres (lisez-moi,
+ * images, métadonnées) sont ignorées, sans apparaître parmi les fichiers de la tâche.
+ */
+@Slf4j
+@Component
+public class MultiFileImporter {
+
+    private static final String ENTRY_SEPARATOR = "!/";
+    private static final List<String> ARCHIVE_EXTENSIONS = List.of(".zip", ".tar.gz", ".tgz");
+
+    private final FichierService fichierService;
+    private final ImportProperties importProperties;
+    private final ThreadPoolTaskExecutor shardExecutor;
+
+    /**
+     * Instantiates a new Multi file importer.
+     *
+     * @param fichierService   the file service, importing each file in its own transaction
+     * @param importProperties the import configuration
+     * @param environment      the environment, telling whether virtual threads are enabled
+     */
+    public MultiFileImporter(final FichierService fichierService, final ImportProperties importProperties,
+                             final Environment environment) {
+        this.fichierService = fichierService;
+        this.importProperties = importProperties;
+        this.shardExecutor = new ThreadPoolTaskExecutor();
+        shardExecutor.setCorePoolSize(importProperties.getShardParallelism());
+        shardExecutor.setMaxPoolSize(importProperties.getShardParallelism());
+        shardExecutor.setThreadNamePrefix("import-shard-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            shardExecutor.setThreadFactory(new VirtualThreadTaskExecutor("import-shard-").getVirtualThreadFactory());
+        }
+        shardExecutor.initialize();
+    }
+
+    /**
+     * @param filename le nom d'un fichier déposé
+     * @return {@code true} si le fichier est d'un format de données ou d'archive pris en charge
+     */
+    public static boolean isSupported(final String filename) {
+        String name = filename.toLowerCase(Locale.ROOT);
+        return ImportFormat.fromFilename(name) != null || ARCHIVE_EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    /**
+     * Importe tous les fichiers d'une tâche et attend la fin de chacun.
+     *
+     * @param job la tâche
+     * @return le nombre de fichiers en échec
+     * @throws IOException           si une archive ne peut être lue
+     * @throws CancellationException si l'annulation de la tâche a été demandée
+     */
+    public long importAll(final ImportJob job) throws IOException {
+        Semaphore permits = new Semaphore(importProperties.getShardParallelism());
+        List<Future<?>> running = new ArrayList<>();
+        List<ZipFile> zips = new ArrayList<>();
+        try {
+            for (ImportJob.Upload upload : job.getUploads()) {
+                String name = upload.fichier().toLowerCase(Locale.ROOT);
+                if (name.endsWith(".zip")) {
+                    ZipFile zip = new ZipFile(upload.spoolFile().toFile());
+                    zips.add(zip);
+                    readZip(job, upload.fichier(), zip, permits, running);
+                } else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+                    readTar(job, upload, permits, running);
+                } else {
+                    ImportShard shard = job.addShard(upload.fichier());
+                    submit(job, shard, permits, running, progress ->
+                            fichierService.importFile(upload.fichier(), upload.spoolFile(), job.getMode(), progress));
+                }
+            }
+        } finally {
+            awaitAll(running);
+            for (ZipFile zip : zips) {
+                zip.close();
+            }
+        }
+        job.getProgress().checkNotCancelled();
+        return job.getShards().stream().filter(shard -> shard.getStatus() == ImportJobStatus.FAILED).count();
+    }
+
+    /**
+     * Arrête les workers à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shardExecutor.shutdown();
+    }
+
+    private void readZip(final ImportJob job, final String archive, final ZipFile zip, final Semaphore permits,
+                         final List<Future<?>> running) {
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements() && !job.getProgress().isCancelRequested()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.isDirectory() || !isImportable(entry.getName())) {
+                continue;
+            }
+            String name = archive + ENTRY_SEPARATOR + entry.getName();
+            submit(job, job.addShard(name), permits, running, progress -> {
+                try (InputStream in = zip.getInputStream(entry)) {
+                    fichierService.importFile(name, in, job.getMode(), progress);
+                } finally {
+                    job.getProgress().addBytesRead(entry.getCompressedSize());
+                }
+            });
+        }
+    }
+
+    private void readTar(final ImportJob job, final ImportJob.Upload upload, final Semaphore permits,
+                         final List<Future<?>> running) throws IOException {
+        long maxBuffered = importProperties.getMaxBufferedEntrySize().toBytes();
+        try (InputStream raw = new ProxyInputStream(Files.newInputStream(upload.spoolFile())) {
+            @Override
+            protected void afterRead(final int n) {
+                if (n > 0) {
+                    job.getProgress().addBytesRead(n);
+                }
+            }
+        };
+             TarArchiveInputStream tar = new TarArchiveInputStream(
+                     new GZIPInputStream(new BufferedInputStream(raw)))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextEntry()) != null && !job.getProgress().isCancelRequested()) {
+                if (!entry.isFile() || !isImportable(entry.getName())) {
+                    continue;
+                }
+                String name = upload.fichier() + ENTRY_SEPARATOR + entry.getName();
+                ImportShard shard = job.addShard(name);
+                if (entry.getSize() <= maxBuffered) {
+                    acquire(permits);
+                    byte[] content;
+                    try {
+                        content = tar.readAllBytes();
+                    } catch (IOException e) {
+                        permits.release();
+                        throw e;
+                    }
+                    running.add(shardExecutor.submit(() -> runShard(job, shard, permits, progress ->
+                            fichierService.importFile(name, new ByteArrayInputStream(content), job.getMode(),
+                                    progress))));
+                } else {
+                    // Trop gros pour être lu en mémoire : importé au fil de la décompression.
+                    acquire(permits);
+                    runShard(job, shard, permits, progress ->
+                            fichierService.importFile(name, CloseShieldInputStream.wrap(tar), job.getMode(),
+                                    progress));
+                }
+            }
+        }
+    }
+
+    private void submit(final ImportJob job, final ImportShard shard, final Semaphore permits,
+                        final List<Future<?>> running, final ShardTask task) {
+        acquire(permits);
+        running.add(shardExecutor.submit(() -> runShard(job, shard, permits, task)));
+    }
+
+    private static void runShard(final ImportJob job, final ImportShard shard, final Semaphore permits,
+                                 final ShardTask task) {
+        try {
+            if (job.getProgress().isCancelRequested()) {
+                shard.markFinished(ImportJobStatus.CANCELLED, null);
+                return;
+            }
+            shard.markRunning();
+            task.run(shard.getProgress());
+            shard.markFinished(ImportJobStatus.COMPLETED, null);
+        } catch (CancellationException e) {
+            // Transaction du fichier annulée : ses lignes ne sont plus chargées.
+            shard.getProgress().discardLoaded();
+            shard.markFinished(ImportJobStatus.CANCELLED, null);
+        } catch (Exception e) {
+            log.warn("Échec de l'import de {} (import {}) : {}", shard.getFichier(), job.getId(), e.getMessage());
+            shard.getProgress().discardLoaded();
+            shard.markFinished(ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void acquire(final Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import interrompu");
+        }
+    }
+
+    private static void awaitAll(final List<Future<?>> running) {
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.error("Échec inattendu d'un fichier d'import", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Import interrompu");
+            }
+        }
+    }
+
+    /**
+     * @param entryName le chemin d'une entrée d'archive
+     * @return {@code true} pour les fichiers d'un format de données pris en charge, hors fichiers cachés et
+     *         métadonnées ajoutées par macOS
+     */
+    private static boolean isImportable(final String entryName) {
+        String basename = entryName.substring(entryName.lastIndexOf('/') + 1);
+        boolean metadata = entryName.startsWith("__MACOSX/") || basename.startsWith(".");
+        if (metadata || ImportFormat.fromFilename(basename) == null) {
+            log.debug("Entrée d'archive ignorée : {}", entryName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Import d'un fichier, ses compteurs étant ceux du fichier.
+     */
+    @FunctionalInterface
+    private interface ShardTask {
+
+        /**
+         * Importe le fichier.
+         *
+         * @param progress les compteurs du fichier
+         * @throws IOException si le fichier ne peut être lu
+         */
+        void run(ImportProgress progress) throws IOException;
+    }
+}
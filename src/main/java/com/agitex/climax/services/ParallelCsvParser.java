@@ -0,0 +1,210 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.utils.ClientCsvParser;
+import com.agitex.climax.utils.ClientValidator;
+import com.agitex.climax.utils.ClientViolation;
+import com.agitex.climax.utils.CsvTokenizer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Analyse parallèle d'un fichier CSV/TXT déposé sur disque.
+ * <p>
+ * Le fichier est découpé en plages d'octets d'au moins {@code climax.import.parallel-range-size}, chacune
+ * projetée en mémoire et analysée sur place, sans copie, sur un {@link ForkJoinPool} dédié. Une plage se
+ * termine à une fin de ligne au sens de {@link CsvTokenizer}, hors guillemets : un champ entre guillemets
+ * contenant des fins de ligne n'est jamais partagé entre deux plages, et le découpage est celui de la lecture
+ * en flux. Pour le trouver, le thread appelant relit depuis le début de la plage les seules plages contenant
+ * un guillemet ; pour les autres, la recherche d'un guillemet, huit octets à la fois, suffit. Les résultats
+ * sont restitués dans l'ordre du fichier, avec au plus deux plages par thread en vol, ce qui borne la
+ * mémoire quelle que soit la taille du fichier. Les clients lus sont contrôlés sur les threads d'analyse.
+ */
+@Component
+public class ParallelCsvParser {
+
+    private static final byte LF = '\n';
+    private static final byte QUOTE = '"';
+    /**
+     * Marge projetée au-delà de la taille de plage pour y trouver la fin de la ligne en cours.
+     */
+    private static final int BOUNDARY_MARGIN = 2 * CsvTokenizer.MAX_QUOTED_LINE_LENGTH;
+
+    private final ImportProperties importProperties;
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new parallel CSV parser.
+     *
+     * @param importProperties the import configuration
+     */
+    public ParallelCsvParser(final ImportProperties importProperties) {
+        this.importProperties = importProperties;
+        int threads = importProperties.getParserThreads() > 0
+                ? importProperties.getParserThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * @return le nombre de threads d'analyse
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Analyse le fichier, en contrôlant chaque client lu, et transmet les plages analysées, dans l'ordre, au
+     * consommateur.
+     *
+     * @param file      le fichier à analyser
+     * @param validator les règles de validité des clients
+     * @param consumer  le consommateur, appelé sur le thread appelant
+     * @throws IOException si le fichier ne peut être lu
+     */
+    public void parse(final Path file, final ClientValidator validator, final Consumer<ParsedRange> consumer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long rangeSize = importProperties.getParallelRangeSize().toBytes();
+            int maxInFlight = 2 * pool.getParallelism();
+            Deque<ForkJoinTask<ParsedRange>> inFlight = new ArrayDeque<>(maxInFlight);
+            long start = 0;
+            while (start < size || !inFlight.isEmpty()) {
+                while (start < size && inFlight.size() < maxInFlight) {
+                    ByteBuffer range = mapRange(channel, start, rangeSize, size);
+                    inFlight.addLast(pool.submit(() -> parseRange(range, validator)));
+                    start += range.limit();
+                }
+                consumer.accept(inFlight.removeFirst().join());
+            }
+        }
+    }
+
+    /**
+     * Arrête le pool d'analyse à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Projette en mémoire la plage qui commence à {@code start} : {@code rangeSize} octets, prolongés jusqu'à
+     * la fin de la ligne en cours.
+     *
+     * @param channel   le fichier
+     * @param start     le début de la plage, début d'une ligne
+     * @param rangeSize la taille minimale de la plage
+     * @param size      la taille du fichier
+     * @return la plage, de position 0 à sa limite
+     * @throws IOException si le fichier ne peut être projeté
+     */
+    private static ByteBuffer mapRange(final FileChannel channel, final long start, final long rangeSize,
+                                       final long size) throws IOException {
+        long remaining = size - start;
+        if (remaining <= rangeSize) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, remaining);
+        }
+        long window = rangeSize + BOUNDARY_MARGIN;
+        while (true) {
+            long length = Math.min(Math.min(window, remaining), Integer.MAX_VALUE);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            int end = rangeEnd(mapped, (int) rangeSize, (int) length);
+            if (end >= 0) {
+                return mapped.slice(0, end);
+            }
+            if (length == remaining || length == Integer.MAX_VALUE) {
+                return mapped;
+            }
+            // Ligne plus longue que la marge : la projection est agrandie.
+            window *= 2;
+        }
+    }
+
+    /**
+     * Début de la première ligne qui commence à partir de {@code from}. Sans guillemet avant {@code from},
+     * chaque fin de ligne précédente termine une ligne : la recherche repart de la dernière ; sinon, elle
+     * repart du début de la plage.
+     *
+     * @param buf   la plage projetée, qui commence au début d'une ligne
+     * @param from  la taille minimale de la plage
+     * @param limit la fin de la projection
+     * @return la fin de la plage, ou {@code -1} si la ligne en cours ne se termine pas avant {@code limit}
+     */
+    private static int rangeEnd(final ByteBuffer buf, final int from, final int limit) {
+        int line = containsQuote(buf, from) ? 0 : lastLineStart(buf, from);
+        while (line >= 0 && line < from) {
+            line = CsvTokenizer.nextLine(buf, line, limit);
+        }
+        return line;
+    }
+
+    private static boolean containsQuote(final ByteBuffer buf, final int to) {
+        int i = 0;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            if (CsvTokenizer.containsByte(buf.getLong(i), CsvTokenizer.QUOTES)) {
+                return true;
+            }
+        }
+        for (; i < to; i++) {
+            if (buf.get(i) == QUOTE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int lastLineStart(final ByteBuffer buf, final int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            if (buf.get(i) == LF) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static ParsedRange parseRange(final ByteBuffer buffer, final ClientValidator validator) {
+        ClientCsvParser parser = new ClientCsvParser();
+        List<Client> clients = new ArrayList<>();
+        List<ImportRejection> rejections = new ArrayList<>();
+        int[] lines = new int[1];
+        CsvTokenizer.forEachLine(buffer, 0, buffer.limit(), true, (buf, start, end) -> {
+            lines[0]++;
+            Client client = parser.parse(buf, start, end);
+            ClientViolation violation = client != null ? validator.check(client) : parser.getViolation();
+            if (violation == null) {
+                clients.add(client);
+            } else {
+                rejections.add(ImportRejection.of(lines[0], violation, CsvTokenizer.decode(buf, start, end)));
+            }
+        });
+        return new ParsedRange(clients, lines[0], rejections, buffer.limit());
+    }
+
+    /**
+     * Résultat de l'analyse d'une plage du fichier.
+     *
+     * @param clients    les clients valides, dans l'ordre du fichier
+     * @param lines      le nombre de lignes lues
+     * @param rejections les lignes rejetées, numérotées à partir du début de la plage
+     * @param bytes      la taille de la plage en octets
+     */
+    public record ParsedRange(List<Client> clients, int lines, List<ImportRejection> rejections, long bytes) {
+    }
+}
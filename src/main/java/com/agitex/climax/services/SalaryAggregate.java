@@ -0,0 +1,264 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ReplicaRoutingDataSource;
+import com.agitex.climax.dtos.ProfessionSalaireDTO;
+import com.agitex.climax.dtos.ProfessionSalaryTotals;
+import com.agitex.climax.repositories.ClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Totaux des salaires par profession, tenus en mémoire pour servir le salaire moyen sans parcourir la
+ * table des clients.
+ * <p>
+ * Les totaux sont calculés depuis la base au démarrage, puis tenus à jour par les écritures de clients :
+ * chaque écriture décrit ses variations dans un {@link Delta}, appliqué une fois sa transaction validée.
+ * Un recalcul périodique ({@code climax.statistics.reconcile-interval}) corrige tout écart dû à une
+ * écriture faite hors de l'application. Les clients supprimés et ceux sans profession ne sont pas comptés.
+ * <p>
+ * Le recalcul lit la base dans un instantané {@code REPEATABLE READ}, pris pendant qu'aucune écriture n'est
+ * entre sa validation et l'application de ses variations : une écriture validée avant l'instantané est
+ * comptée par la lecture, une écriture validée après voit ses variations mises de côté pendant la lecture
+ * puis rejouées sur les nouveaux totaux. Aucune n'est perdue ni comptée deux fois.
+ * <p>
+ * Chaque instance tient ses propres totaux et n'applique que les variations de ses écritures : celles des
+ * autres instances n'apparaissent qu'au recalcul suivant. Le salaire moyen servi par une instance peut donc
+ * être en retard d'au plus {@code climax.statistics.reconcile-interval} sur les écritures des autres.
+ */
+@Slf4j
+@Component
+public class SalaryAggregate {
+
+    private static final int SALARY_SCALE = 2;
+
+    private final ClientRepository clientRepository;
+    private final TransactionTemplate snapshotTransaction;
+    /**
+     * Tenu en lecture par chaque écriture de sa validation à l'application de ses variations, en écriture par
+     * le recalcul le temps de prendre son instantané.
+     */
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final Object applyLock = new Object();
+    private volatile Map<String, ProfessionSalaryTotals> totals;
+    /**
+     * Variations validées après l'instantané du recalcul en cours, {@code null} hors recalcul.
+     */
+    private List<Delta> pending;
+
+    /**
+     * Instantiates a new Salary aggregate.
+     *
+     * @param clientRepository   the client repository
+     * @param transactionManager the transaction manager, used to read the totals in a snapshot
+     */
+    public SalaryAggregate(final ClientRepository clientRepository,
+                           final PlatformTransactionManager transactionManager) {
+        this.clientRepository = clientRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * @return le salaire moyen de chaque profession, par ordre alphabétique
+     */
+    public List<ProfessionSalaireDTO> averages() {
+        return current().values().stream()
+                .sorted(Comparator.comparing(ProfessionSalaryTotals::profession))
+                .map(t -> new ProfessionSalaireDTO(t.profession(), t.salaried() > 0
+                        ? t.sum().divide(BigDecimal.valueOf(t.salaried()), SALARY_SCALE, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO))
+                .toList();
+    }
+
+    /**
+     * Applique des variations une fois la transaction courante validée, immédiatement hors transaction.
+     *
+     * @param delta les variations
+     */
+    public void applyAfterCommit(final Delta delta) {
+        if (delta.changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean committing;
+
+                @Override
+                public void beforeCommit(final boolean readOnly) {
+                    commitLock.readLock().lock();
+                    committing = true;
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    if (!committing) {
+                        return;
+                    }
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            apply(delta);
+                        }
+                    } finally {
+                        commitLock.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            apply(delta);
+        }
+    }
+
+    /**
+     * Recalcule les totaux depuis la base, au démarrage puis périodiquement.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${climax.statistics.reconcile-interval:PT1H}",
+            fixedDelayString = "${climax.statistics.reconcile-interval:PT1H}")
+    public synchronized void rebuild() {
+        List<ProfessionSalaryTotals> scanned;
+        try {
+            // Lus sur la base principale : le recalcul doit voir toutes les écritures dont les variations sont
+            // déjà appliquées, ce que ne garantit pas un réplica.
+            scanned = ReplicaRoutingDataSource.onPrimary(() -> snapshotTransaction.execute(status -> {
+                takeSnapshot();
+                return clientRepository.findSalaryTotalsByProfession();
+            }));
+        } catch (RuntimeException e) {
+            synchronized (applyLock) {
+                pending = null;
+            }
+            throw e;
+        }
+        Map<String, ProfessionSalaryTotals> rebuilt = new ConcurrentHashMap<>();
+        for (ProfessionSalaryTotals t : scanned) {
+            rebuilt.put(t.profession(), t);
+        }
+        synchronized (applyLock) {
+            pending.forEach(delta -> applyTo(rebuilt, delta));
+            pending = null;
+            Map<String, ProfessionSalaryTotals> previous = totals;
+            if (previous != null && drifted(previous, rebuilt)) {
+                log.warn("Écart corrigé sur les totaux de salaires par profession");
+            }
+            totals = rebuilt;
+        }
+        log.debug("Totaux de salaires recalculés pour {} professions", rebuilt.size());
+    }
+
+    /**
+     * Fixe l'instantané du recalcul et met de côté les variations validées ensuite. La connexion est déjà
+     * tenue par la transaction : les écritures mises en attente ne peuvent pas la retenir.
+     */
+    private void takeSnapshot() {
+        commitLock.writeLock().lock();
+        try {
+            clientRepository.takeSnapshot();
+            synchronized (applyLock) {
+                pending = new ArrayList<>();
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, ProfessionSalaryTotals> current() {
+        Map<String, ProfessionSalaryTotals> current = totals;
+        if (current == null) {
+            rebuild();
+            current = totals;
+        }
+        return current;
+    }
+
+    private static boolean drifted(final Map<String, ProfessionSalaryTotals> previous,
+                                   final Map<String, ProfessionSalaryTotals> rebuilt) {
+        if (!previous.keySet().equals(rebuilt.keySet())) {
+            return true;
+        }
+        return rebuilt.values().stream().anyMatch(t -> {
+            ProfessionSalaryTotals p = previous.get(t.profession());
+            return !p.clients().equals(t.clients()) || !p.salaried().equals(t.salaried())
+                    || p.sum().compareTo(t.sum()) != 0;
+        });
+    }
+
+    private void apply(final Delta delta) {
+        synchronized (applyLock) {
+            if (pending != null) {
+                pending.add(delta);
+                return;
+            }
+            Map<String, ProfessionSalaryTotals> current = totals;
+            if (current != null) {
+                applyTo(current, delta);
+            }
+            // Sinon pas encore calculés : le calcul initial tiendra compte de cette écriture validée.
+        }
+    }
+
+    private static void applyTo(final Map<String, ProfessionSalaryTotals> target, final Delta delta) {
+        delta.changes.forEach((profession, change) ->
+                target.compute(profession, (key, existing) -> existing == null
+                        ? (change.clients() > 0 ? change : null)
+                        : existing.plus(change)));
+    }
+
+    /**
+     * Variations des totaux produites par une écriture. Non thread-safe : chaque écriture utilise le sien.
+     */
+    public static final class Delta {
+
+        private final Map<String, ProfessionSalaryTotals> changes = new HashMap<>();
+
+        /**
+         * Compte un client ajouté ou restauré.
+         *
+         * @param profession la profession du client
+         * @param salaire    son salaire
+         */
+        public void add(final String profession, final BigDecimal salaire) {
+            merge(profession, salaire, 1);
+        }
+
+        /**
+         * Retire un client supprimé ou dont la profession ou le salaire change.
+         *
+         * @param profession l'ancienne profession du client
+         * @param salaire    son ancien salaire
+         */
+        public void remove(final String profession, final BigDecimal salaire) {
+            merge(profession, salaire, -1);
+        }
+
+        private void merge(final String profession, final BigDecimal salaire, final int sign) {
+            if (profession == null) {
+                return;
+            }
+            ProfessionSalaryTotals change = ProfessionSalaryTotals.of(profession, salaire, sign);
+            // Les variations qui s'annulent en nombre de clients sont conservées : un changement de salaire
+            // au sein d'une même profession ne modifie que la somme.
+            changes.merge(profession, change, (a, b) -> new ProfessionSalaryTotals(profession,
+                    a.clients() + b.clients(), a.salaried() + b.salaried(), a.sum().add(b.sum())));
+        }
+    }
+}
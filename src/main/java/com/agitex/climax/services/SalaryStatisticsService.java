@@ -0,0 +1,158 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.StatisticsProperties;
+import com.agitex.climax.dtos.SalarySample;
+import com.agitex.climax.dtos.SalaryStatisticsDTO;
+import com.agitex.climax.enums.StatisticsGrouping;
+import com.agitex.climax.repositories.ClientRepository;
+import com.agitex.climax.utils.SalarySketch;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Statistiques des salaires (nombre, extrêmes, moyenne, écart type, percentiles) par profession et/ou par
+ * tranche d'âge.
+ * <p>
+ * La table est parcourue une seule fois pour alimenter un {@link SalarySketch} par couple (profession,
+ * tranche d'âge) ; chaque regroupement demandé s'obtient ensuite en fusionnant ces résumés, sans relire la
+ * table. Les résumés sont resservis pendant {@code climax.statistics.sketch-ttl} : les écritures faites
+ * entre-temps n'y apparaissent qu'au calcul suivant. Le parcours, en lecture seule, est fait sur un réplica
+ * lorsqu'il en est déclaré ({@code climax.replicas}). Les clients supprimés et ceux sans salaire ne sont pas
+ * comptés.
+ */
+@Slf4j
+@Service
+@Timed(value = "climax.client.salary-statistics", description = "Durée du calcul des statistiques de salaires",
+        histogram = true)
+public class SalaryStatisticsService {
+
+    private static final int SALARY_SCALE = 2;
+    private static final double P50 = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+    private static final String UNKNOWN_AGE = "inconnue";
+
+    private final ClientRepository clientRepository;
+    private final StatisticsProperties statisticsProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Instantiates a new Salary statistics service.
+     *
+     * @param clientRepository     the client repository
+     * @param statisticsProperties the statistics properties
+     * @param transactionManager   the transaction manager, used to read the clients through a cursor
+     */
+    public SalaryStatisticsService(final ClientRepository clientRepository,
+                                   final StatisticsProperties statisticsProperties,
+                                   final PlatformTransactionManager transactionManager) {
+        this.clientRepository = clientRepository;
+        this.statisticsProperties = statisticsProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Statistiques des salaires selon les regroupements demandés.
+     *
+     * @param groupings les critères de regroupement ; aucun pour des statistiques globales
+     * @return une ligne par groupe non vide, par profession puis par tranche d'âge
+     */
+    public List<SalaryStatisticsDTO> statistics(final Set<StatisticsGrouping> groupings) {
+        boolean byProfession = groupings.contains(StatisticsGrouping.PROFESSION);
+        boolean byAge = groupings.contains(StatisticsGrouping.AGE_BAND);
+        Map<Cell, SalarySketch> groups = new HashMap<>();
+        current().cells().forEach((cell, sketch) -> groups
+                .computeIfAbsent(new Cell(byProfession ? cell.profession() : null, byAge ? cell.ageBand() : null,
+                        byAge && cell.ageBand() == null), key -> new SalarySketch())
+                .merge(sketch));
+        int width = statisticsProperties.getAgeBandWidth();
+        return groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(Cell::profession, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Cell::ageBand, Comparator.nullsLast(Comparator.naturalOrder()))))
+                .map(entry -> toDto(entry.getKey(), entry.getValue(), width))
+                .toList();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || isExpired(current)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || isExpired(current)) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean isExpired(final Snapshot current) {
+        return current.builtAt().plus(statisticsProperties.getSketchTtl()).isBefore(Instant.now());
+    }
+
+    private Snapshot build() {
+        int width = statisticsProperties.getAgeBandWidth();
+        Instant builtAt = Instant.now();
+        Map<Cell, SalarySketch> cells = readOnlyTransaction.execute(status -> {
+            Map<Cell, SalarySketch> result = new HashMap<>();
+            try (Stream<SalarySample> samples = clientRepository.streamSalarySamples()) {
+                samples.forEach(sample -> {
+                    Integer band = sample.age() == null ? null : Math.floorDiv(sample.age(), width) * width;
+                    result.computeIfAbsent(new Cell(sample.profession(), band, band == null),
+                            key -> new SalarySketch()).add(sample.salaire().doubleValue());
+                });
+            }
+            return result;
+        });
+        log.debug("Statistiques de salaires calculées pour {} groupes", cells.size());
+        return new Snapshot(builtAt, cells);
+    }
+
+    private static SalaryStatisticsDTO toDto(final Cell cell, final SalarySketch sketch, final int width) {
+        String band = cell.unknownAge() ? UNKNOWN_AGE
+                : cell.ageBand() == null ? null : cell.ageBand() + "-" + (cell.ageBand() + width - 1);
+        return new SalaryStatisticsDTO(cell.profession(), band, sketch.count(), salary(sketch.min()),
+                salary(sketch.max()), salary(sketch.mean()), salary(sketch.standardDeviation()),
+                salary(sketch.percentile(P50)), salary(sketch.percentile(P90)), salary(sketch.percentile(P99)));
+    }
+
+    private static BigDecimal salary(final double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(SALARY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Groupe le plus fin : une profession et une tranche d'âge, désignée par son premier âge.
+     *
+     * @param profession la profession
+     * @param ageBand    le premier âge de la tranche
+     * @param unknownAge {@code true} pour le groupe des clients sans âge
+     */
+    private record Cell(String profession, Integer ageBand, boolean unknownAge) {
+    }
+
+    /**
+     * Résumés calculés lors d'un parcours de la table.
+     *
+     * @param builtAt le début du parcours
+     * @param cells   le résumé de chaque groupe le plus fin, à ne plus modifier
+     */
+    private record Snapshot(Instant builtAt, Map<Cell, SalarySketch> cells) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.RejectionReason;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conversion d'une ligne CSV/TXT ({@code nom,prenom,age,profession,salaire}) en {@link Client}.
+ * <p>
+ * La ligne est lue directement dans le tampon d'octets du fichier à l'aide d'un {@link CsvTokenizer} :
+ * seuls les champs texte du client donnent lieu à la création d'une chaîne. Une ligne incomplète ou dont
+ * l'âge ou le salaire n'est pas un nombre n'est pas convertie ; la raison en est donnée par
+ * {@link #getViolation()}. Une instance n'est pas thread-safe : chaque thread d'analyse utilise la sienne.
+ */
+public final class ClientCsvParser {
+
+    private final CsvTokenizer tokenizer = new CsvTokenizer();
+
+    private ClientViolation violation;
+
+    /**
+     * Analyse une ligne du fichier.
+     *
+     * @param buffer le tampon contenant la ligne, lu en positions absolues
+     * @param start  le premier octet de la ligne
+     * @param end    l'octet suivant le dernier octet de la ligne, fin de ligne exclue
+     * @return le client, ou {@code null} si la ligne est incomplète ou invalide
+     */
+    public Client parse(final ByteBuffer buffer, final int start, final int end) {
+        int fields = tokenizer.tokenize(buffer, start, end);
+        if (fields < Constant.LENGTH_INDEX) {
+            violation = new ClientViolation(RejectionReason.INCOMPLETE_LINE,
+                    fields + " champ(s) sur " + Constant.LENGTH_INDEX);
+            return null;
+        }
+        Client client = new Client();
+        try {
+            client.setAge(tokenizer.getInt(Constant.AGE_INDEX));
+        } catch (NumberFormatException e) {
+            violation = new ClientViolation(RejectionReason.INVALID_NUMBER,
+                    "age \"" + tokenizer.getString(Constant.AGE_INDEX) + "\"");
+            return null;
+        }
+        try {
+            client.setSalaire(tokenizer.getDecimal(Constant.SALAIRE_INDEX));
+        } catch (NumberFormatException e) {
+            violation = new ClientViolation(RejectionReason.INVALID_NUMBER,
+                    "salaire \"" + tokenizer.getString(Constant.SALAIRE_INDEX) + "\"");
+            return null;
+        }
+        client.setNom(tokenizer.getString(Constant.NOM_INDEX));
+        client.setPrenom(tokenizer.getString(Constant.PRENOM_INDEX));
+        client.setProfession(tokenizer.getString(Constant.PROFESSION_INDEX));
+        violation = null;
+        return client;
+    }
+
+    /**
+     * @return la raison du rejet de la dernière ligne analysée, ou {@code null} si elle a été convertie
+     */
+    public ClientViolation getViolation() {
+        return violation;
+    }
+}
@@ -0,0 +1,110 @@
+package com.agitex.climax.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écriture de clients au format lu par {@link ClientCsvParser} : une ligne {@code nom,prenom,age,profession,salaire}
+ * par client, sans en-tête, un champ vide pour une valeur absente.
+ * <p>
+ * Un champ texte n'est entouré de guillemets ({@code ""} pour un guillemet littéral) que s'il contient une
+ * virgule, un guillemet, une fin de ligne ou un blanc de début ou de fin, que la lecture ignorerait sinon.
+ * Une instance n'est pas thread-safe.
+ */
+public final class ClientCsvWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    /**
+     * @param out le flux de sortie, écrit en UTF-8
+     */
+    public ClientCsvWriter(final OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Écrit un client. Les valeurs numériques sont reçues sous leur forme textuelle.
+     *
+     * @param nom        le nom
+     * @param prenom     le prénom
+     * @param age        l'âge
+     * @param profession la profession
+     * @param salaire    le salaire
+     * @throws IOException si le flux ne peut être écrit
+     */
+    public void write(final String nom, final String prenom, final String age, final String profession,
+                      final String salaire) throws IOException {
+        writeText(nom);
+        writer.write(',');
+        writeText(prenom);
+        writer.write(',');
+        if (age != null) {
+            writer.write(age);
+        }
+        writer.write(',');
+        writeText(profession);
+        writer.write(',');
+        if (salaire != null) {
+            writer.write(salaire);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Vide le tampon dans le flux, sans le fermer.
+     *
+     * @throws IOException si le flux ne peut être écrit
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeText(final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(final String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        if (Character.isWhitespace(value.charAt(0)) || Character.isSpaceChar(value.charAt(0))
+                || Character.isWhitespace(value.charAt(value.length() - 1))
+                || Character.isSpaceChar(value.charAt(value.length() - 1))) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientField;
+import com.agitex.climax.enums.RejectionReason;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Règles de validité d'un client importé : champs obligatoires renseignés, âge dans un intervalle, salaire
+ * au moins égal à un minimum. Un âge ou un salaire absent n'est contrôlé que s'il est obligatoire. Une
+ * instance est immuable et partagée entre threads d'analyse.
+ */
+public final class ClientValidator {
+
+    private final int ageMin;
+    private final int ageMax;
+    private final BigDecimal salaireMin;
+    private final List<ClientField> requiredFields;
+
+    /**
+     * @param ageMin         l'âge minimal
+     * @param ageMax         l'âge maximal
+     * @param salaireMin     le salaire minimal
+     * @param requiredFields les champs obligatoires
+     */
+    public ClientValidator(final int ageMin, final int ageMax, final BigDecimal salaireMin,
+                           final List<ClientField> requiredFields) {
+        if (ageMin > ageMax) {
+            throw new IllegalArgumentException("L'âge minimal " + ageMin + " dépasse l'âge maximal " + ageMax);
+        }
+        this.ageMin = ageMin;
+        this.ageMax = ageMax;
+        this.salaireMin = salaireMin;
+        this.requiredFields = List.copyOf(requiredFields);
+    }
+
+    /**
+     * Contrôle un client.
+     *
+     * @param client le client lu
+     * @return la première règle enfreinte, ou {@code null} si le client est valide
+     */
+    public ClientViolation check(final Client client) {
+        for (ClientField field : requiredFields) {
+            Object value = field.valueOf(client);
+            if (value == null || value instanceof String text && text.isBlank()) {
+                return new ClientViolation(RejectionReason.MISSING_FIELD, field.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        Integer age = client.getAge();
+        if (age != null && (age < ageMin || age > ageMax)) {
+            return new ClientViolation(RejectionReason.AGE_OUT_OF_RANGE,
+                    "age " + age + " hors de [" + ageMin + ", " + ageMax + "]");
+        }
+        BigDecimal salaire = client.getSalaire();
+        if (salaire != null && salaire.compareTo(salaireMin) < 0) {
+            return new ClientViolation(RejectionReason.SALARY_OUT_OF_RANGE,
+                    "salaire " + salaire.toPlainString() + " inférieur à " + salaireMin.toPlainString());
+        }
+        return null;
+    }
+}
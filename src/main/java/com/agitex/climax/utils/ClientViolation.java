@@ -0,0 +1,12 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.enums.RejectionReason;
+
+/**
+ * Raison pour laquelle une ligne importée n'est pas un client valide.
+ *
+ * @param reason le motif
+ * @param detail la précision du motif (champ et valeur en cause)
+ */
+public record ClientViolation(RejectionReason reason, String detail) {
+}
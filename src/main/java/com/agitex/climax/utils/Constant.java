@@ -7,4 +7,36 @@ public class Constant {
     public static final int PROFESSION_INDEX = 3;
     public static final int SALAIRE_INDEX = 4;
     public static final int LENGTH_INDEX = 5;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_COPY_CHUNK_SIZE = 10_000;
+    public static final int DEFAULT_IMPORT_QUEUE_CAPACITY = 20;
+    public static final int DEFAULT_PARALLEL_THRESHOLD_MB = 16;
+    public static final int DEFAULT_PARALLEL_RANGE_MB = 4;
+    public static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_CLIENT_CACHE_SIZE = 10_000;
+    public static final int DEFAULT_CLIENT_CACHE_TTL_MINUTES = 10;
+    public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 20;
+    public static final int DEFAULT_ACQUIRE_TIMEOUT_MS = 500;
+    public static final int DEFAULT_MAX_EVENT_CONSUMERS = 1_000;
+    public static final int DEFAULT_MAX_EXPORTS = 5;
+    public static final int MAX_BULK_SIZE = 10_000;
+    public static final int DEFAULT_AGE_BAND_WIDTH = 10;
+    public static final int DEFAULT_SKETCH_TTL_MINUTES = 5;
+    public static final int DEFAULT_SHARD_PARALLELISM = 4;
+    public static final int DEFAULT_MAX_BUFFERED_ENTRY_MB = 32;
+    public static final int DEFAULT_REPLICA_MAX_LAG_SECONDS = 10;
+    public static final int DEFAULT_REPLICA_CHECK_INTERVAL_SECONDS = 5;
+    public static final int DEFAULT_REPLICA_POOL_SIZE = 10;
+    public static final int DEFAULT_REPLICA_CONNECTION_TIMEOUT_SECONDS = 2;
+    public static final int EXPORT_FETCH_SIZE = 5_000;
+    public static final int DEFAULT_EVENT_BATCH_SIZE = 500;
+    public static final int DEFAULT_EVENT_MAX_WAIT_SECONDS = 30;
+    public static final int DEFAULT_EVENT_STREAM_TIMEOUT_MINUTES = 5;
+    public static final int DEFAULT_EVENT_RETENTION_DAYS = 7;
+    public static final int DEFAULT_CHANGES_SAFETY_MARGIN_SECONDS = 5;
+    public static final int DEFAULT_MAX_AGE = 150;
+    public static final int DEFAULT_LOGGED_REJECTIONS = 20;
+    public static final int DEFAULT_MAX_REPORTED_REJECTIONS = 100_000;
 }
@@ -0,0 +1,448 @@
+package com.agitex.climax.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Découpage de lignes CSV directement sur un tampon d'octets UTF-8, tableau ou fichier projeté en mémoire.
+ * <p>
+ * Une ligne est découpée en champs sans créer de chaîne intermédiaire : seules les bornes de chaque
+ * champ sont mémorisées, et les valeurs numériques sont lues directement depuis le tampon. Les champs
+ * peuvent être entourés de guillemets ({@code ""} pour un guillemet littéral) et contenir alors des fins de
+ * ligne : une ligne se termine à la première fin de ligne hors guillemets, ou à la première qui suit
+ * {@value #MAX_QUOTED_LINE_LENGTH} octets si un guillemet n'a pas été fermé. Les blancs de début et de fin,
+ * espaces insécables compris, sont ignorés. Une instance n'est pas thread-safe : chaque thread d'analyse
+ * utilise la sienne.
+ */
+public final class CsvTokenizer {
+
+    /**
+     * Longueur au-delà de laquelle une fin de ligne termine la ligne même entre guillemets : un guillemet non
+     * fermé ne peut absorber la suite du fichier.
+     */
+    public static final int MAX_QUOTED_LINE_LENGTH = 64 * 1024;
+
+    /**
+     * Guillemet répété sur huit octets, pour {@link #containsByte(long, long)}.
+     */
+    public static final long QUOTES = 0x2222222222222222L;
+
+    private static final byte SEPARATOR = ',';
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final long LFS = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final byte NBSP_LEAD = (byte) 0xC2;
+    private static final byte NBSP_TRAIL = (byte) 0xA0;
+    private static final int INITIAL_FIELDS = 8;
+    private static final int INITIAL_TEXT = 64;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_SAFE_DIGITS = 18;
+    private static final int RADIX = 10;
+
+    // États du découpage en lignes : début de champ, champ sans guillemets, champ entre guillemets, guillemet
+    // lu dans un champ entre guillemets (fermant, ou premier d'un guillemet littéral), début d'espace insécable.
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+    private static final int NBSP_STARTED = 4;
+
+    private ByteBuffer buffer;
+    private int[] starts = new int[INITIAL_FIELDS];
+    private int[] ends = new int[INITIAL_FIELDS];
+    private boolean[] escaped = new boolean[INITIAL_FIELDS];
+    private byte[] text = new byte[INITIAL_TEXT];
+    private int count;
+
+    /**
+     * Traitement d'une ligne lue, désignée par ses bornes dans un tampon réutilisé d'une ligne à l'autre.
+     */
+    @FunctionalInterface
+    public interface LineHandler {
+
+        /**
+         * Traite une ligne.
+         *
+         * @param buffer le tampon, lu en positions absolues
+         * @param start  le premier octet de la ligne
+         * @param end    l'octet suivant le dernier octet de la ligne, fin de ligne exclue
+         */
+        void onLine(ByteBuffer buffer, int start, int end);
+    }
+
+    /**
+     * Lit un flux ligne par ligne ({@code \n} ou {@code \r\n}) à travers un tampon d'octets réutilisé.
+     *
+     * @param in      le flux
+     * @param handler le traitement de chaque ligne
+     * @throws IOException si le flux ne peut être lu
+     */
+    public static void readLines(final InputStream in, final LineHandler handler) throws IOException {
+        byte[] buf = new byte[READ_BUFFER_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buf);
+        int length = 0;
+        int read;
+        while ((read = in.read(buf, length, buf.length - length)) != -1) {
+            length += read;
+            int consumed = forEachLine(view, 0, length, false, handler);
+            System.arraycopy(buf, consumed, buf, 0, length - consumed);
+            length -= consumed;
+            if (length == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+                view = ByteBuffer.wrap(buf);
+            }
+        }
+        forEachLine(view, 0, length, true, handler);
+    }
+
+    /**
+     * Parcourt les lignes complètes d'une plage du tampon, qui doit commencer au début d'une ligne.
+     *
+     * @param buf     le tampon
+     * @param from    le début de la plage
+     * @param to      la fin de la plage
+     * @param eof     {@code true} si la plage se termine avec le fichier : la dernière ligne, même sans
+     *                fin de ligne, est alors traitée
+     * @param handler le traitement de chaque ligne
+     * @return la position du premier octet non consommé (début d'une ligne incomplète)
+     */
+    public static int forEachLine(final ByteBuffer buf, final int from, final int to, final boolean eof,
+                                  final LineHandler handler) {
+        int lineStart = from;
+        int next;
+        while ((next = nextLine(buf, lineStart, to)) >= 0) {
+            int end = next - 1;
+            handler.onLine(buf, lineStart, end > lineStart && buf.get(end - 1) == CR ? end - 1 : end);
+            lineStart = next;
+        }
+        if (eof && lineStart < to) {
+            handler.onLine(buf, lineStart, buf.get(to - 1) == CR ? to - 1 : to);
+            return to;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Position du début de la ligne suivante : celle qui suit la fin de ligne terminant la ligne commencée à
+     * {@code from}, hors guillemets.
+     *
+     * @param buf  le tampon
+     * @param from le début d'une ligne
+     * @param to   la fin de la plage lisible
+     * @return le début de la ligne suivante, ou {@code -1} si la ligne ne se termine pas avant {@code to}
+     */
+    public static int nextLine(final ByteBuffer buf, final int from, final int to) {
+        // Cas courant : une ligne sans guillemet se termine à la première fin de ligne, cherchée huit octets
+        // à la fois.
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = buf.getLong(i);
+            if (containsByte(word, LFS) || containsByte(word, QUOTES)) {
+                break;
+            }
+        }
+        for (; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == LF) {
+                return i + 1;
+            }
+            if (b == QUOTE) {
+                return nextQuotedLine(buf, from, to);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param word    huit octets
+     * @param pattern l'octet recherché, répété huit fois
+     * @return {@code true} si l'un des huit octets est l'octet recherché
+     */
+    public static boolean containsByte(final long word, final long pattern) {
+        long x = word ^ pattern;
+        return ((x - LOW_BITS) & ~x & HIGH_BITS) != 0;
+    }
+
+    private static int nextQuotedLine(final ByteBuffer buf, final int from, final int to) {
+        int state = FIELD_START;
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == LF) {
+                if (state != QUOTED || i - from > MAX_QUOTED_LINE_LENGTH) {
+                    return i + 1;
+                }
+                continue;
+            }
+            state = switch (state) {
+                case QUOTED -> b == QUOTE ? QUOTE_IN_QUOTED : QUOTED;
+                case QUOTE_IN_QUOTED -> b == QUOTE ? QUOTED : afterField(b);
+                case FIELD_START -> fieldStart(b);
+                case NBSP_STARTED -> b == NBSP_TRAIL ? FIELD_START : afterField(b);
+                default -> afterField(b);
+            };
+        }
+        return -1;
+    }
+
+    private static int fieldStart(final byte b) {
+        if (b == QUOTE) {
+            return QUOTED;
+        }
+        if (b == SEPARATOR || isAsciiBlank(b)) {
+            return FIELD_START;
+        }
+        return b == NBSP_LEAD ? NBSP_STARTED : UNQUOTED;
+    }
+
+    private static int afterField(final byte b) {
+        return b == SEPARATOR ? FIELD_START : UNQUOTED;
+    }
+
+    /**
+     * @param buf   le tampon
+     * @param start le premier octet
+     * @param end   l'octet suivant le dernier octet
+     * @return les octets de la plage, décodés en UTF-8
+     */
+    public static String decode(final ByteBuffer buf, final int start, final int end) {
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Découpe une ligne en champs.
+     *
+     * @param buf   le tampon contenant la ligne
+     * @param start le premier octet de la ligne
+     * @param end   l'octet suivant le dernier octet de la ligne
+     * @return le nombre de champs
+     */
+    public int tokenize(final ByteBuffer buf, final int start, final int end) {
+        this.buffer = buf;
+        this.count = 0;
+        int position = start;
+        while (true) {
+            ensureCapacity();
+            position = skipBlanks(buf, position, end);
+            int fieldEnd;
+            if (position < end && buf.get(position) == QUOTE) {
+                position = readQuoted(buf, position + 1, end);
+                fieldEnd = ends[count];
+                while (position < end && buf.get(position) != SEPARATOR) {
+                    position++;
+                }
+            } else {
+                starts[count] = position;
+                escaped[count] = false;
+                while (position < end && buf.get(position) != SEPARATOR) {
+                    position++;
+                }
+                fieldEnd = trimEnd(buf, starts[count], position);
+            }
+            ends[count] = fieldEnd;
+            count++;
+            if (position >= end) {
+                return count;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * @return le nombre de champs de la dernière ligne découpée
+     */
+    public int fieldCount() {
+        return count;
+    }
+
+    /**
+     * @param field l'indice du champ
+     * @return {@code true} si le champ est vide (ou ne contient que des blancs)
+     */
+    public boolean isEmpty(final int field) {
+        return starts[field] >= ends[field];
+    }
+
+    /**
+     * @param field l'indice du champ
+     * @return la valeur texte du champ, ou {@code null} s'il est vide
+     */
+    public String getString(final int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        String value = decode(starts[field], ends[field]);
+        return escaped[field] ? value.replace("\"\"", "\"") : value;
+    }
+
+    private String decode(final int start, final int end) {
+        if (buffer.hasArray()) {
+            return decode(buffer, start, end);
+        }
+        // Tampon projeté : les octets du champ sont lus dans un tableau réutilisé plutôt que dans un tableau
+        // alloué pour chaque champ.
+        int length = end - start;
+        if (text.length < length) {
+            text = new byte[Math.max(length, 2 * text.length)];
+        }
+        buffer.get(start, text, 0, length);
+        return new String(text, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lit un entier directement depuis le tampon.
+     *
+     * @param field l'indice du champ
+     * @return la valeur, ou {@code null} si le champ est vide
+     * @throws NumberFormatException si le champ n'est pas un entier valide
+     */
+    public Integer getInt(final int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        int position = starts[field];
+        int end = ends[field];
+        boolean negative = buffer.get(position) == '-';
+        if (negative || buffer.get(position) == '+') {
+            position++;
+        }
+        if (position == end) {
+            throw invalidNumber(field);
+        }
+        long value = 0;
+        for (; position < end; position++) {
+            int digit = buffer.get(position) - '0';
+            if (digit < 0 || digit > RADIX - 1) {
+                throw invalidNumber(field);
+            }
+            value = value * RADIX + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw invalidNumber(field);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw invalidNumber(field);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Lit un décimal directement depuis le tampon, sans passer par un {@code double} : la valeur est
+     * exactement celle écrite dans le fichier.
+     *
+     * @param field l'indice du champ
+     * @return la valeur, ou {@code null} si le champ est vide
+     * @throws NumberFormatException si le champ n'est pas un nombre valide
+     */
+    public BigDecimal getDecimal(final int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        int position = starts[field];
+        int end = ends[field];
+        boolean negative = buffer.get(position) == '-';
+        if (negative || buffer.get(position) == '+') {
+            position++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; position < end; position++) {
+            byte b = buffer.get(position);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9' && digits < MAX_SAFE_DIGITS) {
+                unscaled = unscaled * RADIX + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                // Exposant, précision au-delà d'un long ou saisie invalide : analyse générique.
+                return new BigDecimal(getString(field));
+            }
+        }
+        if (digits == 0) {
+            throw invalidNumber(field);
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private NumberFormatException invalidNumber(final int field) {
+        return new NumberFormatException("For input string: \"" + getString(field) + "\"");
+    }
+
+    private int readQuoted(final ByteBuffer buf, final int contentStart, final int end) {
+        starts[count] = contentStart;
+        escaped[count] = false;
+        int position = contentStart;
+        while (position < end) {
+            if (buf.get(position) == QUOTE) {
+                if (position + 1 < end && buf.get(position + 1) == QUOTE) {
+                    escaped[count] = true;
+                    position += 2;
+                    continue;
+                }
+                ends[count] = position;
+                return position + 1;
+            }
+            position++;
+        }
+        // Guillemet fermant absent : le reste de la ligne constitue le champ.
+        ends[count] = end;
+        return end;
+    }
+
+    private void ensureCapacity() {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+    }
+
+    private static int skipBlanks(final ByteBuffer buf, final int from, final int end) {
+        int position = from;
+        while (position < end) {
+            if (isAsciiBlank(buf.get(position))) {
+                position++;
+            } else if (buf.get(position) == NBSP_LEAD && position + 1 < end && buf.get(position + 1) == NBSP_TRAIL) {
+                position += 2;
+            } else {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private static int trimEnd(final ByteBuffer buf, final int start, final int end) {
+        int position = end;
+        while (position > start) {
+            if (isAsciiBlank(buf.get(position - 1))) {
+                position--;
+            } else if (buf.get(position - 1) == NBSP_TRAIL && position - 1 > start
+                    && buf.get(position - 2) == NBSP_LEAD) {
+                position -= 2;
+            } else {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private static boolean isAsciiBlank(final byte b) {
+        return b == ' ' || b == '\t' || b == CR;
+    }
+}
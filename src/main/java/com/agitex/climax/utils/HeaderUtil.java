@@ -3,6 +3,7 @@ package com.agitex.climax.utils;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Utility class for HTTP headers creation.
@@ -91,4 +92,85 @@ public final class HeaderUtil {
         headers.add("X-" + APPLICATION_NAME + "-params", entityName);
         return headers;
     }
+
+    /**
+     * Création des en-têtes de pagination par curseur : lien {@code rel="next"} et curseur de la page
+     * suivante. Aucun en-tête n'est ajouté sur la dernière page.
+     *
+     * @param uriBuilder l'URI de la requête courante
+     * @param nextCursor le curseur de la page suivante, ou {@code null} s'il n'y en a pas
+     * @param size       la taille de page
+     * @return Http headers
+     */
+    public static HttpHeaders createCursorHeaders(
+            final UriComponentsBuilder uriBuilder,
+            final Long nextCursor,
+            final int size
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor == null) {
+            return headers;
+        }
+        String next = uriBuilder
+                .replaceQueryParam("after", nextCursor)
+                .replaceQueryParam("size", size)
+                .toUriString();
+        headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        headers.add("X-" + APPLICATION_NAME + "-next-cursor", nextCursor.toString());
+        return headers;
+    }
+
+    /**
+     * Création des en-têtes de pagination par curseur opaque, sous le paramètre {@code cursor}.
+     *
+     * @param uriBuilder l'URI de la requête courante
+     * @param nextCursor le curseur de la page suivante, ou {@code null} s'il n'y en a pas
+     * @param size       la taille de page
+     * @return Http headers
+     */
+    public static HttpHeaders createCursorHeaders(
+            final UriComponentsBuilder uriBuilder,
+            final String nextCursor,
+            final int size
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor == null) {
+            return headers;
+        }
+        String next = uriBuilder
+                .replaceQueryParam("cursor", nextCursor)
+                .replaceQueryParam("size", size)
+                .toUriString();
+        headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        headers.add("X-" + APPLICATION_NAME + "-next-cursor", nextCursor);
+        return headers;
+    }
+
+    /**
+     * Création des en-têtes de la synchronisation incrémentale : filigrane à conserver pour la synchronisation
+     * suivante et, si d'autres modifications suivent déjà, lien {@code rel="next"} vers la page suivante.
+     *
+     * @param uriBuilder l'URI de la requête courante
+     * @param watermark  le filigrane renvoyé
+     * @param hasMore    {@code true} si une page suivante existe
+     * @param size       la taille de page
+     * @return Http headers
+     */
+    public static HttpHeaders createWatermarkHeaders(
+            final UriComponentsBuilder uriBuilder,
+            final String watermark,
+            final boolean hasMore,
+            final int size
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-" + APPLICATION_NAME + "-watermark", watermark);
+        if (hasMore) {
+            String next = uriBuilder
+                    .replaceQueryParam("since", watermark)
+                    .replaceQueryParam("size", size)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
 }
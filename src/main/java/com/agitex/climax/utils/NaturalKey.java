@@ -0,0 +1,54 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientField;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Calcul de la clé naturelle d'un client : empreinte (UUID de type 3, MD5) des champs configurés,
+ * normalisés pour que deux saisies équivalentes donnent la même clé (blancs de début et de fin, casse,
+ * zéros non significatifs des décimaux). Changer la liste des champs change toutes les clés : les clients
+ * déjà importés ne sont alors plus reconnus.
+ */
+public final class NaturalKey {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final char NULL_MARKER = '\u0000';
+
+    private final List<ClientField> fields;
+
+    /**
+     * @param fields les champs composant la clé, dans l'ordre
+     */
+    public NaturalKey(final List<ClientField> fields) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("La clé naturelle doit comporter au moins un champ");
+        }
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * @param client le client
+     * @return la clé naturelle du client
+     */
+    public UUID of(final Client client) {
+        StringBuilder key = new StringBuilder();
+        for (ClientField field : fields) {
+            Object value = field.valueOf(client);
+            if (value == null) {
+                key.append(NULL_MARKER);
+            } else if (value instanceof BigDecimal decimal) {
+                key.append(decimal.stripTrailingZeros().toPlainString());
+            } else {
+                key.append(value.toString().strip().toLowerCase(Locale.ROOT));
+            }
+            key.append(SEPARATOR);
+        }
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
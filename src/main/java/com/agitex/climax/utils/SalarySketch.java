@@ -0,0 +1,172 @@
+package com.agitex.climax.utils;
+
+import org.HdrHistogram.DoubleHistogram;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * Résumé fusionnable d'une série de salaires, alimenté en une passe.
+ * <p>
+ * Nombre, minimum, maximum, moyenne et variance sont exacts à l'arrondi près (algorithme de Welford, fusion
+ * de Chan et al.) ; les percentiles proviennent d'un histogramme HDR à trois chiffres significatifs, soit une
+ * erreur relative d'au plus 0,1 %. Deux résumés se fusionnent sans perte supplémentaire : les résumés fins
+ * (profession et tranche d'âge) se combinent en regroupements plus larges, et un résumé encodé par
+ * {@link #encode()} peut être transmis puis fusionné par une autre instance. Les salaires négatifs entrent
+ * dans les moments mais pas dans l'histogramme. Non thread-safe.
+ */
+public final class SalarySketch {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int HEADER_BYTES = Long.BYTES + 4 * Double.BYTES;
+    private static final long MIN_VALUE_RATIO = 2;
+
+    private final DoubleHistogram histogram;
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Crée un résumé vide.
+     */
+    public SalarySketch() {
+        this(new DoubleHistogram(SIGNIFICANT_DIGITS));
+    }
+
+    private SalarySketch(final DoubleHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    /**
+     * Ajoute un salaire.
+     *
+     * @param value le salaire
+     */
+    public void add(final double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value >= 0) {
+            histogram.recordValue(value);
+        }
+    }
+
+    /**
+     * Ajoute à ce résumé les salaires d'un autre.
+     *
+     * @param other le résumé à fusionner, inchangé
+     * @return ce résumé
+     */
+    public SalarySketch merge(final SalarySketch other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        histogram.add(other.histogram);
+        return this;
+    }
+
+    /**
+     * @return le nombre de salaires
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return le plus petit salaire, {@code NaN} si le résumé est vide
+     */
+    public double min() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    /**
+     * @return le plus grand salaire, {@code NaN} si le résumé est vide
+     */
+    public double max() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * @return la moyenne, {@code NaN} si le résumé est vide
+     */
+    public double mean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * @return l'écart type de l'échantillon (0 pour un seul salaire), {@code NaN} si le résumé est vide
+     */
+    public double standardDeviation() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+    }
+
+    /**
+     * @param percentile le percentile voulu, entre 0 et 100
+     * @return la valeur approchée du percentile, ramenée entre le minimum et le maximum, {@code NaN} si aucun
+     * salaire positif n'a été ajouté
+     */
+    public double percentile(final double percentile) {
+        if (histogram.getTotalCount() == 0) {
+            return Double.NaN;
+        }
+        return Math.min(Math.max(histogram.getValueAtPercentile(percentile), min), max);
+    }
+
+    /**
+     * Encode le résumé pour le transmettre ou le conserver hors de la mémoire de l'instance.
+     *
+     * @return le résumé encodé
+     */
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + histogram.getNeededByteBufferCapacity());
+        buffer.putLong(count).putDouble(mean).putDouble(m2).putDouble(min).putDouble(max);
+        histogram.encodeIntoCompressedByteBuffer(buffer, Deflater.DEFAULT_COMPRESSION);
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Décode un résumé produit par {@link #encode()}.
+     *
+     * @param bytes le résumé encodé
+     * @return le résumé
+     * @throws IllegalArgumentException si les octets ne sont pas un résumé valide
+     */
+    public static SalarySketch decode(final byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long count = buffer.getLong();
+        double mean = buffer.getDouble();
+        double m2 = buffer.getDouble();
+        double min = buffer.getDouble();
+        double max = buffer.getDouble();
+        SalarySketch sketch;
+        try {
+            sketch = new SalarySketch(DoubleHistogram.decodeFromCompressedByteBuffer(buffer, MIN_VALUE_RATIO));
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Résumé de salaires invalide", e);
+        }
+        sketch.count = count;
+        sketch.mean = mean;
+        sketch.m2 = m2;
+        sketch.min = min;
+        sketch.max = max;
+        return sketch;
+    }
+}
@@ -0,0 +1,22 @@
+-- ================================================================
+-- Schéma initial, tel que généré jusqu'ici par ddl-auto: update.
+-- Les bases existantes sont marquées à cette version sans l'exécuter
+-- (spring.flyway.baseline-on-migrate, baseline-version: 1).
+-- ================================================================
+
+CREATE SEQUENCE sequence_generator START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE clients (
+    id                 BIGINT                      NOT NULL,
+    nom                VARCHAR(255),
+    prenom             VARCHAR(255),
+    age                INTEGER,
+    profession         VARCHAR(255),
+    salaire            NUMERIC(38, 2),
+    created_by         VARCHAR(50)                 NOT NULL,
+    created_date       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_modified_by   VARCHAR(50),
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE,
+    deleted            BOOLEAN,
+    CONSTRAINT clients_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,38 @@
+-- ================================================================
+-- Index des requêtes fréquentes sur les clients non supprimés et clé
+-- naturelle des imports idempotents.
+-- ================================================================
+
+-- Un client est supprimé ou non : plus de valeur indéterminée, que les index partiels ignoreraient.
+UPDATE clients SET deleted = FALSE WHERE deleted IS NULL;
+ALTER TABLE clients
+    ALTER COLUMN deleted SET DEFAULT FALSE,
+    ALTER COLUMN deleted SET NOT NULL;
+
+-- Pages par curseur (id > ? ORDER BY id LIMIT ?) et parcours en flux ordonnés par id. La recherche
+-- par identifiant (findByIdAndDeletedFalse) reste servie par la clé primaire.
+CREATE INDEX idx_clients_active_id ON clients (id) WHERE deleted = FALSE;
+
+-- Totaux de salaires par profession : parcours d'index seul (index-only scan), déjà trié pour le GROUP BY.
+CREATE INDEX idx_clients_active_profession_salaire ON clients (profession, salaire) WHERE deleted = FALSE;
+
+-- Séquence propre à la table, au pas de l'allocationSize de Client (optimiseur pooled d'Hibernate).
+ALTER SEQUENCE sequence_generator RENAME TO clients_seq;
+ALTER SEQUENCE clients_seq INCREMENT BY 50;
+
+-- Clé naturelle des imports en mode UPSERT. Une base créée par ddl-auto après son ajout a déjà la colonne et
+-- une contrainte d'unicité au nom généré : elles sont conservées.
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS natural_key UUID;
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_index i
+                            JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+                   WHERE i.indrelid = 'clients'::regclass
+                     AND i.indisunique
+                     AND i.indnatts = 1
+                     AND a.attname = 'natural_key') THEN
+        ALTER TABLE clients ADD CONSTRAINT uk_clients_natural_key UNIQUE (natural_key);
+    END IF;
+END
+$$;
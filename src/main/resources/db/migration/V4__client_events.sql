@@ -0,0 +1,25 @@
+-- ================================================================
+-- Journal des modifications de clients (outbox), lu par le flux
+-- GET /clients/events : une ligne par création, mise à jour ou
+-- suppression, écrite dans la transaction de la modification.
+-- ================================================================
+
+CREATE TABLE client_events (
+    -- Transaction de la modification : les événements sont lus dans l'ordre (tx_id, id), et seulement
+    -- ceux des transactions terminées, pour qu'une transaction validée après une autre plus récente ne
+    -- soit jamais sautée par un consommateur.
+    tx_id       BIGINT                      NOT NULL DEFAULT txid_current(),
+    id          BIGINT GENERATED ALWAYS AS IDENTITY,
+    type        VARCHAR(16)                 NOT NULL,
+    client_id   BIGINT                      NOT NULL,
+    nom         VARCHAR(255),
+    prenom      VARCHAR(255),
+    age         INTEGER,
+    profession  VARCHAR(255),
+    salaire     NUMERIC(38, 2),
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT client_events_pkey PRIMARY KEY (tx_id, id)
+);
+
+-- Purge des événements expirés : table en ajout seul, un index BRIN de quelques pages suffit.
+CREATE INDEX idx_client_events_occurred_at ON client_events USING brin (occurred_at);
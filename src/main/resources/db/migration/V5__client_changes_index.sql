@@ -0,0 +1,12 @@
+-- ================================================================
+-- Synchronisation incrémentale (GET /clients/changes) : clients modifiés après un filigrane
+-- (last_modified_date, id), suppressions logiques comprises.
+-- ================================================================
+
+-- La date de modification fait foi : toute ligne en a une. Les lignes qui n'en avaient pas reçoivent leur
+-- date de création.
+UPDATE clients SET last_modified_date = created_date WHERE last_modified_date IS NULL;
+ALTER TABLE clients ALTER COLUMN last_modified_date SET NOT NULL;
+
+-- Index complet (et non limité aux clients actifs) : les clients supprimés sont renvoyés comme tels.
+CREATE INDEX idx_clients_last_modified ON clients (last_modified_date, id);
@@ -0,0 +1,84 @@
+package com.agitex.climax.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final FilterChain START_ASYNC = (request, response) -> request.startAsync();
+
+    private static final FilterChain ANSWER = (request, response) -> { };
+
+    private static ConcurrencyLimitFilter filter(final int maxInFlight, final List<String> excludedPaths) {
+        return new ConcurrencyLimitFilter("test", maxInFlight, Duration.ZERO, excludedPaths,
+                new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request(final String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static MockHttpServletResponse run(final ConcurrencyLimitFilter filter,
+                                               final MockHttpServletRequest request,
+                                               final FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void waitingEventReadsDoNotHoldApiPlaces() throws Exception {
+        ConcurrencyLimitFilter api = filter(1, List.of(ConcurrencyLimitConfig.EVENTS_PATH));
+
+        for (String path : new String[] {"/v1/api/clients/events", "/v1/api/clients/events/stream"}) {
+            assertThat(run(api, request(path), START_ASYNC).getStatus()).isEqualTo(200);
+        }
+        assertThat(run(api, request("/v1/api/clients"), ANSWER).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void downloadsAndUploadsDoNotHoldApiPlaces() throws Exception {
+        ConcurrencyLimitFilter api = filter(1, ConcurrencyLimitConfig.apiExcludedPaths());
+
+        for (String path : new String[] {"/v1/api/clients/stream", "/v1/api/clients/export",
+                "/v1/api/clients/upload-save-clients", "/v1/api/clients/upload-batch"}) {
+            assertThat(run(api, request(path), START_ASYNC).getStatus()).isEqualTo(200);
+        }
+        assertThat(run(api, request("/v1/api/clients"), ANSWER).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void platformThreadsLeaveRequestsUnlimited() {
+        new ApplicationContextRunner()
+                .withPropertyValues("spring.threads.virtual.enabled=false")
+                .withUserConfiguration(ConcurrencyLimitConfig.class)
+                .run(context -> assertThat(context).doesNotHaveBean(FilterRegistrationBean.class));
+    }
+
+    @Test
+    void asyncRequestKeepsItsPlaceUntilItCompletes() throws Exception {
+        ConcurrencyLimitFilter events = filter(1, List.of());
+        MockHttpServletRequest waiting = request("/v1/api/clients/events");
+        run(events, waiting, START_ASYNC);
+
+        MockHttpServletResponse rejected = run(events, request("/v1/api/clients/events"), START_ASYNC);
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        waiting.getAsyncContext().complete();
+        assertThat(run(events, request("/v1/api/clients/events"), START_ASYNC).getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,73 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientField;
+import com.agitex.climax.utils.NaturalKey;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class NaturalKeyBackfillTests {
+
+    private static final String INSERT_SQL = "INSERT INTO clients (id, nom, prenom, age, profession, salaire, "
+            + "natural_key, created_by, created_date, last_modified_by, last_modified_date, deleted) "
+            + "VALUES (?, ?, 'Adrien', 25, 'informaticien', 35, ?, 'system', now(), 'system', now(), ?)";
+
+    private static final NaturalKey NATURAL_KEY = new NaturalKey(
+            List.of(ClientField.NOM, ClientField.PRENOM, ClientField.PROFESSION));
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Test
+    void backfillsOneKeyPerClientAndLeavesLegacyDuplicatesWithout() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+        Flyway flyway = Flyway.configure().dataSource(dataSource)
+                .javaMigrations(new NaturalKeyBackfill(NATURAL_KEY)).load();
+        Flyway.configure().dataSource(dataSource).target("5").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // Doublon supprimé de plus petit identifiant : la clé revient au client non supprimé.
+        jdbcTemplate.update(INSERT_SQL, 1, "Zous", null, true);
+        jdbcTemplate.update(INSERT_SQL, 2, "zous ", null, false);
+        jdbcTemplate.update(INSERT_SQL, 3, "Ducroc", null, false);
+        jdbcTemplate.update(INSERT_SQL, 4, "Ducroc", null, false);
+        jdbcTemplate.update(INSERT_SQL, 5, "Supprime", null, true);
+        // Clé déjà attribuée par un import UPSERT : conservée.
+        jdbcTemplate.update(INSERT_SQL, 6, "Joy", null, false);
+        jdbcTemplate.update(INSERT_SQL, 7, "Joy", key("Joy"), false);
+
+        flyway.migrate();
+
+        assertThat(keyOf(jdbcTemplate, 1)).isNull();
+        assertThat(keyOf(jdbcTemplate, 2)).isEqualTo(key("Zous"));
+        assertThat(keyOf(jdbcTemplate, 3)).isEqualTo(key("Ducroc"));
+        assertThat(keyOf(jdbcTemplate, 4)).isNull();
+        assertThat(keyOf(jdbcTemplate, 5)).isEqualTo(key("Supprime"));
+        assertThat(keyOf(jdbcTemplate, 6)).isNull();
+        assertThat(keyOf(jdbcTemplate, 7)).isEqualTo(key("Joy"));
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("6");
+    }
+
+    private static UUID keyOf(final JdbcTemplate jdbcTemplate, final long id) {
+        return jdbcTemplate.queryForObject("SELECT natural_key FROM clients WHERE id = ?", UUID.class, id);
+    }
+
+    private static UUID key(final String nom) {
+        Client client = new Client();
+        client.setNom(nom);
+        client.setPrenom("Adrien");
+        client.setProfession("informaticien");
+        return NATURAL_KEY.of(client);
+    }
+}
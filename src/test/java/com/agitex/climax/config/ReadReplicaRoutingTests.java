@@ -0,0 +1,100 @@
+package com.agitex.climax.config;
+
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.services.ClientService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deux bases indépendantes, de même schéma et de contenus différents, tiennent lieu de base principale et de
+ * réplica : la base qui a répondu se lit dans le résultat.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingTests {
+
+    private static final long EXTERNAL_ID = 1_000_000L;
+
+    private static final String INSERT_SQL = "INSERT INTO clients (id, nom, prenom, age, profession, salaire, "
+            + "created_by, created_date, last_modified_by, last_modified_date, deleted) "
+            + "VALUES (?, ?, 'Test', 30, 'testeur', 1000, 'system', now(), 'system', now(), false)";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:12");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void replicaProperties(final DynamicPropertyRegistry registry) {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(replica.getJdbcUrl(),
+                replica.getUsername(), replica.getPassword());
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        new JdbcTemplate(replicaDataSource).update(INSERT_SQL, EXTERNAL_ID, "Replica");
+        registry.add("climax.replicas.endpoints[0].url", replica::getJdbcUrl);
+        registry.add("climax.replicas.endpoints[0].username", replica::getUsername);
+        registry.add("climax.replicas.endpoints[0].password", replica::getPassword);
+        registry.add("climax.replicas.connection-timeout", () -> "1s");
+    }
+
+    @Test
+    @Order(1)
+    void writesGoToThePrimaryAndReadOnlyTransactionsToTheReplica() {
+        jdbcTemplate.update(INSERT_SQL, EXTERNAL_ID, "Primaire");
+
+        assertThat(clientService.findAll()).extracting(ClientView::nom).containsExactly("Replica");
+        assertThat(clientService.findPage(null, 10).getContent()).extracting(ClientView::nom)
+                .containsExactly("Replica");
+        assertThat(ReplicaRoutingDataSource.onPrimary(clientService::findAll)).extracting(ClientView::nom)
+                .containsExactly("Primaire");
+    }
+
+    @Test
+    @Order(2)
+    void cacheMissesAreLoadedFromThePrimary() {
+        ClientDTO client = new ClientDTO();
+        client.setNom("Nouveau");
+        client.setPrenom("Client");
+        client.setSalaire(BigDecimal.TEN);
+        Long id = clientService.save(client).getId();
+
+        assertThat(clientService.findOne(id)).map(ClientDTO::getNom).contains("Nouveau");
+    }
+
+    @Test
+    @Order(3)
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        replica.stop();
+
+        List<ClientView> clients = clientService.findAll();
+
+        assertThat(clients).extracting(ClientView::nom).contains("Primaire").doesNotContain("Replica");
+    }
+}
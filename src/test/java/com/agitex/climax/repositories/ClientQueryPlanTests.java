@@ -0,0 +1,97 @@
+package com.agitex.climax.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie, sur le schéma issu des migrations Flyway, que les requêtes fréquentes du {@link ClientRepository}
+ * utilisent les index prévus. Les requêtes sont celles générées par Hibernate, à l'alias près ; la base est
+ * configurée comme dans docker-compose.yml (random_page_cost pour stockage SSD).
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Testcontainers(disabledWithoutDocker = true)
+class ClientQueryPlanTests {
+
+    private static final int CLIENTS = 100_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12")
+            .withCommand("postgres", "-c", "random_page_cost=1.1");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // Un client sur dix supprimé, cinq professions, quelques salaires inconnus, modifications étalées sur
+        // 100 jours ; noms et prénoms de la largeur de données réelles, la taille relative de la table et des
+        // index guidant le planificateur.
+        jdbcTemplate.update("INSERT INTO clients (id, nom, prenom, age, profession, salaire, created_by, created_date,"
+                + " last_modified_date, deleted) SELECT i, md5('n' || i), md5('p' || i), 20 + i % 50,"
+                + " (ARRAY['informaticien', 'comptable', 'medecin', 'enseignant', 'boulanger'])[1 + i % 5],"
+                + " CASE WHEN i % 97 = 0 THEN NULL ELSE 1000 + i % 9000 END, 'system', now(),"
+                + " now() - (i % 100) * interval '1 day' - i * interval '1 second', i % 10 = 0"
+                + " FROM generate_series(1, ?) AS i", CLIENTS);
+        jdbcTemplate.execute("VACUUM ANALYZE clients");
+    }
+
+    private String plan(final String sql, final Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    @Test
+    void keysetPageUsesPartialIdIndex() {
+        // findViewsAfter(after, PageRequest.ofSize(size))
+        assertThat(plan("SELECT * FROM clients c WHERE c.deleted = false AND c.id > ? ORDER BY c.id"
+                + " OFFSET 0 ROWS FETCH FIRST 101 ROWS ONLY", CLIENTS / 2))
+                .contains("Index Scan using idx_clients_active_id")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void orderedStreamUsesPartialIdIndex() {
+        // streamAllViews()
+        assertThat(plan("SELECT * FROM clients c WHERE c.deleted = false ORDER BY c.id"))
+                .contains("Index Scan using idx_clients_active_id")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void findByIdAndDeletedFalseUsesAnIndex() {
+        assertThat(plan("SELECT * FROM clients c WHERE c.id = ? AND c.deleted = false", CLIENTS / 3))
+                .contains("Index Scan")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void salaryTotalsUseCoveringIndexOnly() {
+        // findSalaryTotalsByProfession()
+        assertThat(plan("SELECT c.profession, count(*), count(c.salaire), coalesce(sum(c.salaire), 0)"
+                + " FROM clients c WHERE c.deleted = false AND c.profession IS NOT NULL GROUP BY c.profession"))
+                .contains("Index Only Scan using idx_clients_active_profession_salaire")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void changesPageUsesLastModifiedIndex() {
+        // findChangesAfter(since, after, until, PageRequest.ofSize(size)) : modifications de la veille
+        assertThat(plan("SELECT * FROM clients c WHERE c.last_modified_date >= now() - interval '1 day'"
+                + " AND c.last_modified_date <= now() AND (c.last_modified_date > now() - interval '1 day'"
+                + " OR c.id > ?) ORDER BY c.last_modified_date, c.id OFFSET 0 ROWS FETCH FIRST 1001 ROWS ONLY", 0))
+                .contains("Index Scan using idx_clients_last_modified")
+                .doesNotContain("Seq Scan")
+                .doesNotContain("Sort");
+    }
+}
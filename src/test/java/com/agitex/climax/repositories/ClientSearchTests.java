@@ -0,0 +1,145 @@
+package com.agitex.climax.repositories;
+
+import com.agitex.climax.dtos.ClientSearchCriteria;
+import com.agitex.climax.dtos.ClientSearchCursor;
+import com.agitex.climax.dtos.ClientView;
+import com.agitex.climax.enums.ClientSortField;
+import com.agitex.climax.services.ClientService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recherche de clients sur deux millions de lignes : enchaînement des pages par curseur, et budget de latence
+ * de chaque forme de recherche, première page comme page lointaine. La base est configurée comme dans
+ * docker-compose.yml (random_page_cost pour stockage SSD).
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Testcontainers(disabledWithoutDocker = true)
+class ClientSearchTests {
+
+    private static final int CLIENTS = 2_000_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARM_UP = 20;
+    private static final int RUNS = 40;
+    private static final Duration BUDGET = Duration.ofMillis(50);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12")
+            .withCommand("postgres", "-c", "random_page_cost=1.1");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // Un client sur dix supprimé, vingt professions, quelques âges et salaires inconnus ; noms et prénoms
+        // de la largeur de données réelles.
+        jdbcTemplate.update("INSERT INTO clients (id, nom, prenom, age, profession, salaire, created_by, created_date,"
+                + " last_modified_date, deleted) SELECT i, initcap(md5('n' || i)), initcap(md5('p' || i)),"
+                + " CASE WHEN i % 89 = 0 THEN NULL ELSE 20 + i % 50 END, 'profession' || (i % 20),"
+                + " CASE WHEN i % 97 = 0 THEN NULL ELSE 1000 + (i * 7) % 9000 END, 'system', now(), now(),"
+                + " i % 10 = 0 FROM generate_series(1, ?) AS i",
+                CLIENTS);
+        jdbcTemplate.execute("VACUUM ANALYZE clients");
+    }
+
+    @Test
+    void pagesFollowEachOtherWithoutGapNorDuplicate() {
+        ClientSearchCriteria criteria = new ClientSearchCriteria("A", null, "profession3", null, null, null, null);
+
+        String matching = "SELECT id FROM clients WHERE NOT deleted AND nom COLLATE \"C\" LIKE 'A%'"
+                + " AND profession = 'profession3' ORDER BY ";
+
+        assertThat(allPages(criteria, ClientSortField.AGE, true)).containsExactlyElementsOf(
+                jdbcTemplate.queryForList(matching + "age NULLS LAST, id", Long.class));
+        assertThat(allPages(criteria, ClientSortField.SALAIRE, false)).containsExactlyElementsOf(
+                jdbcTemplate.queryForList(matching + "salaire DESC NULLS LAST, id DESC", Long.class));
+        assertThat(allPages(criteria, ClientSortField.PRENOM, true)).containsExactlyElementsOf(
+                jdbcTemplate.queryForList(matching + "prenom COLLATE \"C\", id", Long.class));
+    }
+
+    @Test
+    void searchesStayWithinLatencyBudget() {
+        ClientView middle = clientService.search(new ClientSearchCriteria(null, null, null, null, null, null, null),
+                ClientSortField.ID, true, new ClientSearchCursor((long) CLIENTS / 2, null), 1).getContent().get(0);
+        List<Search> searches = List.of(
+                new Search("tous, par id", criteria(null, null, null), ClientSortField.ID, null),
+                new Search("début de nom, par nom", criteria("Ab", null, null), ClientSortField.NOM, null),
+                new Search("début de nom, par id", criteria("Ab", null, null), ClientSortField.ID, null),
+                new Search("début de prénom rare, par id", criteria(null, "Abcd", null), ClientSortField.ID, null),
+                new Search("profession, par id", criteria(null, null, "profession7"), ClientSortField.ID, null),
+                new Search("profession, par salaire", criteria(null, null, "profession7"), ClientSortField.SALAIRE,
+                        null),
+                new Search("tranche d'âge, par âge", new ClientSearchCriteria(null, null, null, 30, 35, null, null),
+                        ClientSortField.AGE, null),
+                new Search("tranche de salaire, par salaire", new ClientSearchCriteria(null, null, null, null, null,
+                        BigDecimal.valueOf(5000), BigDecimal.valueOf(6000)), ClientSortField.SALAIRE, null),
+                new Search("page lointaine, par nom", criteria(null, null, null), ClientSortField.NOM,
+                        ClientSearchCursor.after(middle, ClientSortField.NOM)),
+                new Search("page lointaine, par salaire", criteria(null, null, null), ClientSortField.SALAIRE,
+                        ClientSearchCursor.after(middle, ClientSortField.SALAIRE)));
+
+        for (Search search : searches) {
+            assertThat(p95(search)).as(search.name()).isLessThan(BUDGET);
+        }
+    }
+
+    private List<Long> allPages(final ClientSearchCriteria criteria, final ClientSortField sort,
+                                final boolean ascending) {
+        List<Long> ids = new ArrayList<>();
+        ClientSearchCursor cursor = null;
+        Slice<ClientView> page;
+        do {
+            page = clientService.search(criteria, sort, ascending, cursor, PAGE_SIZE);
+            page.forEach(client -> ids.add(client.id()));
+            cursor = page.hasNext() ? ClientSearchCursor.after(page.getContent().get(PAGE_SIZE - 1), sort) : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Duration p95(final Search search) {
+        long[] nanos = new long[RUNS];
+        for (int i = -WARM_UP; i < RUNS; i++) {
+            long start = System.nanoTime();
+            Slice<ClientView> page = clientService.search(search.criteria(), search.sort(), true, search.after(),
+                    PAGE_SIZE);
+            long elapsed = System.nanoTime() - start;
+            assertThat(page.getContent()).as(search.name()).isNotEmpty();
+            if (i >= 0) {
+                nanos[i] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[(int) Math.ceil(RUNS * 0.95) - 1]);
+    }
+
+    private static ClientSearchCriteria criteria(final String nom, final String prenom, final String profession) {
+        return new ClientSearchCriteria(nom, prenom, profession, null, null, null, null);
+    }
+
+    private record Search(String name, ClientSearchCriteria criteria, ClientSortField sort,
+                          ClientSearchCursor after) {
+    }
+}
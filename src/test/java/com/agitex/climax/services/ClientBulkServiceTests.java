@@ -0,0 +1,159 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.BulkItemResultDTO;
+import com.agitex.climax.dtos.BulkOperationDTO;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientEventBatchDTO;
+import com.agitex.climax.dtos.ClientEventDTO;
+import com.agitex.climax.dtos.ClientEventOffset;
+import com.agitex.climax.dtos.ProfessionSalaireDTO;
+import com.agitex.climax.enums.BulkAction;
+import com.agitex.climax.enums.ClientEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ClientBulkServiceTests {
+
+    private static final String PROFESSION = "actuaire";
+    private static final int LIMIT = 100;
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private ClientBulkService clientBulkService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientEventFeed clientEventFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE client_events");
+    }
+
+    @Test
+    void executesMixedOperationsWithOneResultEach() throws Exception {
+        ClientDTO updated = clientService.save(client("Zous", "100"));
+        ClientDTO deleted = clientService.save(client("Ducroc", "200"));
+        ClientDTO alsoDeleted = clientService.save(client("Joy", "300"));
+        ClientDTO alreadyDeleted = clientService.save(client("Absent", "400"));
+        clientService.delete(alreadyDeleted.getId());
+        // Met le client en cache : la mise à jour du lot doit l'en retirer.
+        assertThat(clientService.findOne(updated.getId())).map(ClientDTO::getNom).contains("Zous");
+        jdbcTemplate.execute("TRUNCATE client_events");
+
+        List<BulkItemResultDTO> results = clientBulkService.execute(List.of(
+                new BulkOperationDTO(BulkAction.CREATE, null, client("Nouveau", "500")),
+                new BulkOperationDTO(BulkAction.UPDATE, updated.getId(), client("Zous-Modifié", "150")),
+                new BulkOperationDTO(BulkAction.DELETE, deleted.getId(), null),
+                new BulkOperationDTO(BulkAction.DELETE, alsoDeleted.getId(), null),
+                new BulkOperationDTO(BulkAction.DELETE, alreadyDeleted.getId(), null),
+                new BulkOperationDTO(BulkAction.UPDATE, Long.MAX_VALUE, client("Inconnu", "1")),
+                new BulkOperationDTO(BulkAction.DELETE, null, null),
+                new BulkOperationDTO(BulkAction.DELETE, updated.getId(), null)));
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus)
+                .containsExactly(201, 200, 204, 204, 404, 404, 400, 400);
+        assertThat(results.get(6).getErreur()).isEqualTo("Identifiant manquant");
+        assertThat(results.get(7).getErreur()).isEqualTo("Client visé par plusieurs opérations du lot");
+        Long created = results.get(0).getId();
+        assertThat(created).isNotNull();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM clients WHERE deleted = true AND id IN (?, ?, ?)",
+                Long.class, deleted.getId(), alsoDeleted.getId(), alreadyDeleted.getId())).hasSize(3);
+        assertThat(clientService.findOne(updated.getId())).map(ClientDTO::getNom).contains("Zous-Modifié");
+
+        // Restent Zous-Modifié (150) et Nouveau (500).
+        assertThat(clientService.averageSalaireByProfession()).filteredOn(p -> PROFESSION.equals(p.getProfession()))
+                .extracting(ProfessionSalaireDTO::getSalaireMoyen).singleElement()
+                .satisfies(average -> assertThat(average).isEqualByComparingTo("325"));
+
+        List<ClientEventDTO> events = poll().events();
+        assertThat(events).extracting(ClientEventDTO::type).containsExactly(ClientEventType.CREATED,
+                ClientEventType.UPDATED, ClientEventType.DELETED, ClientEventType.DELETED);
+        assertThat(events).extracting(ClientEventDTO::clientId).containsExactlyInAnyOrder(created,
+                updated.getId(), deleted.getId(), alsoDeleted.getId());
+        assertThat(events.get(1).nom()).isEqualTo("Zous-Modifié");
+    }
+
+    @Test
+    void rejectsInvalidOperationsWithoutWriting() throws Exception {
+        List<BulkItemResultDTO> results = clientBulkService.execute(List.of(
+                new BulkOperationDTO(BulkAction.CREATE, 1L, client("Avec-Id", "10")),
+                new BulkOperationDTO(BulkAction.UPDATE, Long.MAX_VALUE - 1, null),
+                new BulkOperationDTO(null, null, null)));
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsOnly(400);
+        assertThat(results).extracting(BulkItemResultDTO::getErreur).containsExactly(
+                "Un nouveau client ne peut pas avoir d'identifiant", "Client manquant", "Action manquante");
+        assertThat(poll().events()).isEmpty();
+    }
+
+    @Test
+    void refusesOperationsGivingAClientAnotherClientsKey() throws Exception {
+        ClientDTO existing = clientService.save(client("Cle", "100", "notaire"));
+        ClientDTO other = clientService.save(client("Autre", "200", "notaire"));
+        jdbcTemplate.execute("TRUNCATE client_events");
+
+        List<BulkItemResultDTO> results = clientBulkService.execute(List.of(
+                new BulkOperationDTO(BulkAction.CREATE, null, client("CLE ", "300", "notaire")),
+                new BulkOperationDTO(BulkAction.CREATE, null, client("Double", "400", "notaire")),
+                new BulkOperationDTO(BulkAction.CREATE, null, client("double", "500", "notaire")),
+                new BulkOperationDTO(BulkAction.UPDATE, other.getId(), client("Cle", "600", "notaire"))));
+
+        assertThat(results).extracting(BulkItemResultDTO::getStatus).containsExactly(409, 201, 409, 409);
+        assertThat(results.get(0).getErreur()).isEqualTo("Un autre client a déjà la même clé naturelle");
+        assertThat(clientService.findOne(other.getId())).map(ClientDTO::getNom).contains("Autre");
+        assertThat(clientService.findOne(existing.getId())).map(ClientDTO::getNom).contains("Cle");
+        assertThat(poll().events()).extracting(ClientEventDTO::type).containsExactly(ClientEventType.CREATED);
+    }
+
+    private ClientEventBatchDTO poll() throws Exception {
+        DeferredResult<ClientEventBatchDTO> result = clientEventFeed.poll(ClientEventOffset.START, LIMIT,
+                Duration.ZERO);
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.hasResult()).isTrue();
+        return (ClientEventBatchDTO) result.getResult();
+    }
+
+    private static ClientDTO client(final String nom, final String salaire) {
+        return client(nom, salaire, PROFESSION);
+    }
+
+    private static ClientDTO client(final String nom, final String salaire, final String profession) {
+        ClientDTO client = new ClientDTO();
+        client.setNom(nom);
+        client.setPrenom("Adrien");
+        client.setAge(25);
+        client.setProfession(profession);
+        client.setSalaire(new BigDecimal(salaire));
+        return client;
+    }
+}
@@ -0,0 +1,132 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ClientChangeWatermark;
+import com.agitex.climax.dtos.ClientChanges;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "climax.changes.safety-margin=3s")
+@Testcontainers(disabledWithoutDocker = true)
+class ClientChangesTests {
+
+    private static final Instant T0 = Instant.parse("2001-01-01T00:00:00Z");
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("DELETE FROM clients");
+    }
+
+    private void insert(final long id, final Instant modifiedAt, final boolean deleted) {
+        jdbcTemplate.update("INSERT INTO clients (id, nom, prenom, age, profession, salaire, created_by, "
+                + "created_date, last_modified_by, last_modified_date, deleted) "
+                + "VALUES (?, ?, 'Adrien', 25, 'informaticien', 35, 'system', ?, 'system', ?, ?)",
+                id, "Client" + id, Timestamp.from(T0), Timestamp.from(modifiedAt), deleted);
+    }
+
+    @Test
+    void pagesThroughChangesByDateThenId() {
+        // Insérés dans le désordre : trois clients à la même date, départagés par leur identifiant.
+        insert(103, T0, false);
+        insert(101, T0, false);
+        insert(104, T0.plusSeconds(1), false);
+        insert(102, T0, false);
+        insert(105, T0.plusSeconds(2), true);
+
+        ClientChanges first = clientService.findChanges(ClientChangeWatermark.START, 2);
+        ClientChanges second = clientService.findChanges(first.watermark(), 2);
+        ClientChanges third = clientService.findChanges(second.watermark(), 2);
+        ClientChanges fourth = clientService.findChanges(third.watermark(), 2);
+
+        assertThat(first.clients()).extracting(ClientView::id).containsExactly(101L, 102L);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.watermark()).isEqualTo(new ClientChangeWatermark(T0, 102L));
+        assertThat(second.clients()).extracting(ClientView::id).containsExactly(103L, 104L);
+        assertThat(second.hasMore()).isTrue();
+        // La suppression logique est renvoyée comme une modification.
+        assertThat(third.clients()).extracting(ClientView::id).containsExactly(105L);
+        assertThat(third.clients().get(0).deleted()).isTrue();
+        assertThat(third.hasMore()).isFalse();
+        assertThat(third.watermark().id()).isNull();
+        assertThat(third.watermark().modifiedAt()).isAfter(T0.plusSeconds(2));
+        assertThat(fourth.clients()).isEmpty();
+        assertThat(fourth.hasMore()).isFalse();
+        assertThat(fourth.watermark().modifiedAt()).isAfterOrEqualTo(third.watermark().modifiedAt());
+    }
+
+    @Test
+    void watermarkPastTheHorizonReturnsAnEmptyPageAndIsKept() {
+        insert(101, T0, false);
+        ClientChangeWatermark ahead = new ClientChangeWatermark(Instant.now().plus(Duration.ofHours(1)), 7L);
+
+        ClientChanges changes = clientService.findChanges(ahead, 10);
+
+        assertThat(changes.clients()).isEmpty();
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(changes.watermark()).isEqualTo(ahead);
+    }
+
+    @Test
+    void recentChangesAreHeldBackForTheSafetyMargin() throws Exception {
+        ClientChangeWatermark synced = clientService.findChanges(ClientChangeWatermark.START, 10).watermark();
+        ClientDTO kept = clientService.save(client("Zous"));
+        ClientDTO deleted = clientService.save(client("Ducroc"));
+        clientService.delete(deleted.getId());
+
+        // Datées par l'application il y a moins d'une marge : pas encore renvoyées.
+        ClientChanges early = clientService.findChanges(synced, 10);
+        assertThat(early.clients()).isEmpty();
+        assertThat(early.watermark().modifiedAt()).isAfterOrEqualTo(synced.modifiedAt());
+
+        List<ClientView> received = new ArrayList<>();
+        ClientChangeWatermark watermark = early.watermark();
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (received.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            ClientChanges page = clientService.findChanges(watermark, 10);
+            assertThat(page.watermark().modifiedAt()).isAfterOrEqualTo(watermark.modifiedAt());
+            received.addAll(page.clients());
+            watermark = page.watermark();
+        }
+        assertThat(received).extracting(ClientView::id).containsExactly(kept.getId(), deleted.getId());
+        assertThat(received).extracting(ClientView::deleted).containsExactly(false, true);
+    }
+
+    private static ClientDTO client(final String nom) {
+        ClientDTO client = new ClientDTO();
+        client.setNom(nom);
+        client.setPrenom("Adrien");
+        client.setAge(25);
+        client.setProfession("informaticien");
+        client.setSalaire(BigDecimal.valueOf(35));
+        return client;
+    }
+}
@@ -0,0 +1,134 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ClientEventBatchDTO;
+import com.agitex.climax.dtos.ClientEventDTO;
+import com.agitex.climax.dtos.ClientEventOffset;
+import com.agitex.climax.enums.ClientEventType;
+import com.agitex.climax.enums.ImportMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ClientEventFeedTests {
+
+    private static final int LIMIT = 100;
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private FichierService fichierService;
+
+    @Autowired
+    private ClientEventFeed clientEventFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE client_events");
+    }
+
+    @Test
+    void publishesEveryChangeOnceAndResumesFromTheOffset() throws Exception {
+        ClientDTO client = clientService.save(client("Zous"));
+        client.setSalaire(BigDecimal.valueOf(40));
+        clientService.save(client);
+        clientService.delete(client.getId());
+        fichierService.saveClientData(new MockMultipartFile("file", "clients.csv", "text/csv",
+                "Ducroc,Mathilde,32,informaticien,38.5\nJoy,Bruno,29,comptable,33\n"
+                        .getBytes(StandardCharsets.UTF_8)), ImportMode.COPY);
+
+        ClientEventBatchDTO first = poll(ClientEventOffset.START, Duration.ZERO);
+        assertThat(first.events()).extracting(ClientEventDTO::type).containsExactly(ClientEventType.CREATED,
+                ClientEventType.UPDATED, ClientEventType.DELETED, ClientEventType.CREATED, ClientEventType.CREATED);
+        assertThat(first.events().get(1).salaire()).isEqualByComparingTo("40");
+        assertThat(first.events()).extracting(ClientEventDTO::nom).endsWith("Ducroc", "Joy");
+
+        assertThat(poll(ClientEventOffset.decode(first.offset()), Duration.ZERO).events()).isEmpty();
+    }
+
+    @Test
+    void holdsBackChangesCommittedAfterAnUnfinishedTransaction() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> longTransaction = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    clientService.save(client("Lent"));
+                    written.countDown();
+                    await(release);
+                }));
+        await(written);
+        clientService.save(client("Rapide"));
+
+        assertThat(poll(ClientEventOffset.START, Duration.ZERO).events()).isEmpty();
+        DeferredResult<ClientEventBatchDTO> waiting = clientEventFeed.poll(ClientEventOffset.START, LIMIT, WAIT);
+        release.countDown();
+        longTransaction.get(WAIT.toSeconds(), TimeUnit.SECONDS);
+
+        assertThat(result(waiting).events()).extracting(ClientEventDTO::nom).containsExactly("Lent", "Rapide");
+    }
+
+    private ClientEventBatchDTO poll(final ClientEventOffset after, final Duration wait) throws Exception {
+        return result(clientEventFeed.poll(after, LIMIT, wait));
+    }
+
+    private static ClientEventBatchDTO result(final DeferredResult<ClientEventBatchDTO> result) throws Exception {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.hasResult()).isTrue();
+        return (ClientEventBatchDTO) result.getResult();
+    }
+
+    private static ClientDTO client(final String nom) {
+        ClientDTO client = new ClientDTO();
+        client.setNom(nom);
+        client.setPrenom("Adrien");
+        client.setAge(25);
+        client.setProfession("informaticien");
+        client.setSalaire(BigDecimal.valueOf(35));
+        return client;
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(WAIT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
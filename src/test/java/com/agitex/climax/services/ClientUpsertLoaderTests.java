@@ -0,0 +1,235 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.BulkOperationDTO;
+import com.agitex.climax.dtos.ClientDTO;
+import com.agitex.climax.dtos.ImportReportDTO;
+import com.agitex.climax.dtos.ProfessionSalaireDTO;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.BulkAction;
+import com.agitex.climax.enums.ClientField;
+import com.agitex.climax.enums.ImportMode;
+import com.agitex.climax.utils.NaturalKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ClientUpsertLoaderTests {
+
+    private static final long WAIT_SECONDS = 30;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private FichierService fichierService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientUpsertLoader clientUpsertLoader;
+
+    @Autowired
+    private ClientBulkService clientBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reimportingAFileWritesNothingAndConsumesNoIds() throws Exception {
+        String profession = "archiviste";
+        clientService.save(client("Existant", profession, "1000"));
+        // La dernière ligne reprend la clé naturelle (nom, prénom, profession) de la première et l'emporte.
+        MockMultipartFile file = csv("Zous,Adrien,25," + profession + ",100\n"
+                + "Ducroc,Mathilde,32," + profession + ",200\n"
+                + "Joy,Bruno,29," + profession + ",300\n"
+                + "Zous,Adrien,52," + profession + ",999\n");
+
+        ImportReportDTO first = fichierService.saveClientData(file, ImportMode.UPSERT);
+        long sequence = sequencePosition();
+        ImportReportDTO second = fichierService.saveClientData(file, ImportMode.UPSERT);
+
+        assertThat(first.getLignesChargees()).isEqualTo(3);
+        assertThat(first.getLignesIgnorees()).isEqualTo(1);
+        assertThat(second.getLignesChargees()).isZero();
+        assertThat(second.getLignesIgnorees()).isEqualTo(4);
+        assertThat(sequencePosition()).isEqualTo(sequence);
+        assertThat(count(profession)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForMap("SELECT age, salaire FROM clients WHERE nom = 'Zous' AND profession = ?",
+                profession)).containsEntry("age", 52).hasEntrySatisfying("salaire",
+                salaire -> assertThat((BigDecimal) salaire).isEqualByComparingTo("999"));
+        // (1000 + 999 + 200 + 300) / 4
+        assertThat(average(profession)).isEqualByComparingTo("624.75");
+    }
+
+    @Test
+    void reimportingChangedValuesUpdatesTheClients() throws Exception {
+        String profession = "bibliothecaire";
+        fichierService.saveClientData(csv("Zous,Adrien,25," + profession + ",100\n"
+                + "Ducroc,Mathilde,32," + profession + ",200\n"), ImportMode.UPSERT);
+        Long zous = jdbcTemplate.queryForObject("SELECT id FROM clients WHERE nom = 'Zous' AND profession = ?",
+                Long.class, profession);
+        long sequence = sequencePosition();
+
+        // Même clé, casse et blancs compris : seuls l'âge et le salaire de Zous changent.
+        ImportReportDTO report = fichierService.saveClientData(csv(" zous ,ADRIEN,26," + profession + ",300\n"
+                + "Ducroc,Mathilde,32," + profession + ",200.00\n"), ImportMode.UPSERT);
+
+        assertThat(report.getLignesChargees()).isEqualTo(1);
+        assertThat(report.getLignesIgnorees()).isEqualTo(1);
+        assertThat(sequencePosition()).isEqualTo(sequence);
+        assertThat(count(profession)).isEqualTo(2);
+        assertThat(clientService.findOne(zous)).hasValueSatisfying(client -> {
+            assertThat(client.getAge()).isEqualTo(26);
+            assertThat(client.getSalaire()).isEqualByComparingTo("300");
+        });
+        // (300 + 200) / 2 : l'ancien salaire de Zous est retiré des totaux.
+        assertThat(average(profession)).isEqualByComparingTo("250");
+        assertThat(jdbcTemplate.queryForList("SELECT type FROM client_events WHERE client_id = ? ORDER BY tx_id, id",
+                String.class, zous)).containsExactly("CREATED", "UPDATED");
+    }
+
+    @Test
+    void everyWritePathSetsTheNaturalKey() throws Exception {
+        String profession = "horloger";
+        ClientDTO saved = clientService.save(client("Api", profession, "100"));
+        fichierService.saveClientData(csv("Standard,Adrien,25," + profession + ",200\n"), ImportMode.STANDARD);
+        fichierService.saveClientData(csv("Copie,Adrien,25," + profession + ",300\n"
+                + "Standard,Adrien,25," + profession + ",999\n"), ImportMode.COPY);
+        clientBulkService.execute(List.of(new BulkOperationDTO(BulkAction.CREATE, null,
+                client("Lot", profession, "400"))));
+
+        ImportReportDTO report = fichierService.saveClientData(csv("Api,Adrien,25," + profession + ",100\n"
+                + "Standard,Adrien,25," + profession + ",200\n"
+                + "Copie,Adrien,25," + profession + ",300\n"
+                + "Lot,Adrien,25," + profession + ",400\n"), ImportMode.UPSERT);
+
+        assertThat(report.getLignesChargees()).isZero();
+        assertThat(report.getLignesIgnorees()).isEqualTo(4);
+        assertThat(count(profession)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM clients WHERE profession = ? "
+                + "AND natural_key IS NULL", Long.class, profession)).isZero();
+        assertThatThrownBy(() -> clientService.save(client(" api", profession, "1")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        // Une modification qui change la clé la recalcule.
+        saved.setNom("Api-Renomme");
+        clientService.save(saved);
+        assertThat(clientService.save(client("Api", profession, "100")).getId()).isNotEqualTo(saved.getId());
+    }
+
+    @Test
+    void upsertReportsInsertedAndUpdatedClients() {
+        NaturalKey naturalKey = new NaturalKey(List.of(ClientField.NOM, ClientField.PRENOM, ClientField.PROFESSION));
+        SalaryAggregate.Delta salaries = new SalaryAggregate.Delta();
+
+        ClientUpsertLoader.Result created = clientUpsertLoader.upsert(
+                List.of(entity("Conflit", "geologue", "100", naturalKey)), salaries);
+        ClientUpsertLoader.Result changed = clientUpsertLoader.upsert(
+                List.of(entity("Conflit", "geologue", "200", naturalKey)), salaries);
+        ClientUpsertLoader.Result unchanged = clientUpsertLoader.upsert(
+                List.of(entity("Conflit", "geologue", "200", naturalKey)), salaries);
+
+        assertThat(created.inserted()).hasSize(1);
+        assertThat(created.updated()).isEmpty();
+        assertThat(changed.inserted()).isEmpty();
+        assertThat(changed.updated()).isEqualTo(created.inserted());
+        assertThat(unchanged.inserted()).isEmpty();
+        assertThat(unchanged.updated()).isEmpty();
+        assertThat(count("geologue")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT salaire FROM clients WHERE profession = 'geologue'",
+                BigDecimal.class)).isEqualByComparingTo("200");
+    }
+
+    @Test
+    void concurrentImportsOfTheSameFileInsertEachClientOnce() throws Exception {
+        String profession = "cartographe";
+        clientService.save(client("Existant", profession, "1000"));
+        MockMultipartFile file = csv("Zous,Adrien,25," + profession + ",100\n"
+                + "Ducroc,Mathilde,32," + profession + ",200\n"
+                + "Joy,Bruno,29," + profession + ",300\n");
+        CyclicBarrier start = new CyclicBarrier(2);
+        CompletableFuture<ImportReportDTO> a = CompletableFuture.supplyAsync(() -> importAfter(start, file));
+        CompletableFuture<ImportReportDTO> b = CompletableFuture.supplyAsync(() -> importAfter(start, file));
+
+        ImportReportDTO reportA = a.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        ImportReportDTO reportB = b.get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(reportA.getLignesChargees() + reportB.getLignesChargees()).isEqualTo(3);
+        assertThat(reportA.getLignesIgnorees() + reportB.getLignesIgnorees()).isEqualTo(3);
+        assertThat(count(profession)).isEqualTo(4);
+        assertThat(average(profession)).isEqualByComparingTo("400");
+    }
+
+    private ImportReportDTO importAfter(final CyclicBarrier start, final MockMultipartFile file) {
+        try {
+            start.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            return fichierService.saveClientData(file, ImportMode.UPSERT);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long sequencePosition() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM clients_seq", Long.class);
+    }
+
+    private long count(final String profession) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM clients WHERE profession = ? AND deleted = false",
+                Long.class, profession);
+    }
+
+    private BigDecimal average(final String profession) {
+        return clientService.averageSalaireByProfession().stream()
+                .filter(p -> profession.equals(p.getProfession()))
+                .map(ProfessionSalaireDTO::getSalaireMoyen)
+                .findFirst().orElseThrow();
+    }
+
+    private static MockMultipartFile csv(final String content) {
+        return new MockMultipartFile("file", "clients.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ClientDTO client(final String nom, final String profession, final String salaire) {
+        ClientDTO client = new ClientDTO();
+        client.setNom(nom);
+        client.setPrenom("Adrien");
+        client.setAge(25);
+        client.setProfession(profession);
+        client.setSalaire(new BigDecimal(salaire));
+        return client;
+    }
+
+    private static Client entity(final String nom, final String profession, final String salaire,
+                                 final NaturalKey naturalKey) {
+        Client client = new Client();
+        client.setNom(nom);
+        client.setPrenom("Adrien");
+        client.setAge(25);
+        client.setProfession(profession);
+        client.setSalaire(new BigDecimal(salaire));
+        client.setNaturalKey(naturalKey.of(client));
+        return client;
+    }
+}
@@ -0,0 +1,56 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ImportReportDTO;
+import com.agitex.climax.enums.ImportMode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.mock.web.MockMultipartFile;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "climax.import.batch-size=500")
+@Testcontainers(disabledWithoutDocker = true)
+class FichierServiceBatchingTests {
+
+    private static final int ROWS = 1200;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private FichierService fichierService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void standardModeSendsInsertsInJdbcBatches() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Lot").append(i).append(",Client,30,informaticien,35\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "clients.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportReportDTO report = fichierService.saveClientData(file, ImportMode.STANDARD);
+
+        assertThat(report.getLignesChargees()).isEqualTo(ROWS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // Sans lots JDBC, chaque insertion prépare sa propre instruction ; avec des lots de 500, il en reste
+        // une par lot (3) et une par allocation de la séquence (24)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS / 10);
+    }
+}
@@ -0,0 +1,50 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ImportReportDTO;
+import com.agitex.climax.enums.ImportMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class FichierServiceCopyTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private FichierService fichierService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void copyModeLoadsValidRowsAndReportsRejectedOnes() throws Exception {
+        String csv = "Zous,Adrien,25,informaticien,35\n"
+                + "Ducroc,Mathilde,32,informaticien,38.5\n"
+                + "Incomplet,Ligne\n"
+                + "Joy,Bruno,vingt,comptable,33\n";
+        MockMultipartFile file = new MockMultipartFile("file", "clients.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        ImportReportDTO report = fichierService.saveClientData(file, ImportMode.COPY);
+
+        assertThat(report.getLignesChargees()).isEqualTo(2);
+        assertThat(report.getLignesRejetees()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM clients WHERE created_by IS NOT NULL AND created_date IS NOT NULL "
+                        + "AND deleted = false AND nom IN ('Zous', 'Ducroc')", Long.class)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,110 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.dtos.ImportReportDTO;
+import com.agitex.climax.enums.ImportMode;
+import com.agitex.climax.repositories.ClientRepository;
+import com.agitex.climax.utils.NaturalKey;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+class FichierServiceFormatTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FichierService fichierService = fichierService();
+
+    private FichierService fichierService() {
+        ClientRepository clientRepository = Mockito.mock(ClientRepository.class);
+        ImportProperties importProperties = new ImportProperties();
+        // Aucun client en base : tous les clients lus sont à insérer.
+        ClientUpsertLoader clientUpsertLoader = Mockito.mock(ClientUpsertLoader.class);
+        when(clientUpsertLoader.absent(anyList())).thenAnswer(returnsFirstArg());
+        return new FichierService(clientRepository, importProperties, Mockito.mock(EntityManager.class), null,
+                clientUpsertLoader, new ParallelCsvParser(importProperties),
+                new SalaryAggregate(clientRepository, Mockito.mock(PlatformTransactionManager.class)),
+                new ImportMetrics(meterRegistry), Mockito.mock(ClientEventOutbox.class), Mockito.mock(ClientCache.class),
+                new NaturalKey(importProperties.getNaturalKey()));
+    }
+
+    private static InputStream content(final String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsUnsupportedNamesBeforeRegisteringMeters() {
+        for (String filename : new String[] {"clients.exe", "clients", "lot.zip!/README", "lot.tgz!/docs/notes.md"}) {
+            assertThatThrownBy(() -> fichierService.importFile(filename, content("Zous,Adrien,25,informaticien,35\n"),
+                    ImportMode.STANDARD, new ImportProgress()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining(filename);
+        }
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @Test
+    void tagsMetersWithTheFormatWhateverTheCaseOfTheExtension() throws Exception {
+        ImportReportDTO report = fichierService.importFile("lot.zip!/2024/CLIENTS.CSV",
+                content("Zous,Adrien,25,informaticien,35\n"), ImportMode.STANDARD, new ImportProgress());
+
+        assertThat(report.getLignesChargees()).isEqualTo(1);
+        assertThat(meterRegistry.getMeters()).extracting(meter -> meter.getId().getTag("format"))
+                .containsOnly("csv");
+        assertThat(meterRegistry.getMeters()).extracting(Meter::getId)
+                .allSatisfy(id -> assertThat(id.getTag("mode")).isEqualTo("STANDARD"));
+    }
+
+    @Test
+    void rejectsJsonElementsWithInvalidValuesAndImportsTheOthers(@TempDir final Path dir) throws Exception {
+        ImportRejections rejections = new ImportRejections(dir.resolve("rejets.csv"), 10, 0);
+        ImportReportDTO report = fichierService.importFile("clients.json", content("""
+                [
+                  {"nom": "Zous", "prenom": "Adrien", "age": 25, "profession": "informaticien", "salaire": 35},
+                  {"nom": "Ducroc", "prenom": "Mathilde", "age": "trente",
+                   "profession": "comptable", "salaire": 40},
+                  {"nom": "Joy", "prenom": "Bruno", "age": 29, "profession": "medecin", "salaire": 50}
+                ]
+                """), ImportMode.STANDARD, new ImportProgress(rejections));
+        rejections.close();
+
+        assertThat(report.getLignesChargees()).isEqualTo(2);
+        assertThat(report.getLignesRejetees()).isEqualTo(1);
+        assertThat(rejections.report().getContentAsString(StandardCharsets.UTF_8))
+                .contains("\"clients.json\",3,INVALID_VALUE,\"age \"\"trente\"\"\"");
+    }
+
+    @Test
+    void rejectsXmlElementsWithInvalidValuesAndImportsTheOthers(@TempDir final Path dir) throws Exception {
+        ImportRejections rejections = new ImportRejections(dir.resolve("rejets.csv"), 10, 0);
+        ImportReportDTO report = fichierService.importFile("clients.xml", content("""
+                <clients>
+                  <row><nom>Zous</nom><prenom>Adrien</prenom><age>25</age>
+                    <profession>informaticien</profession><salaire>35</salaire></row>
+                  <row><nom>Ducroc</nom><prenom>Mathilde</prenom><age>32</age>
+                    <profession>comptable</profession><salaire>beaucoup</salaire></row>
+                </clients>
+                """), ImportMode.STANDARD, new ImportProgress(rejections));
+        rejections.close();
+
+        assertThat(report.getLignesChargees()).isEqualTo(1);
+        assertThat(report.getLignesRejetees()).isEqualTo(1);
+        assertThat(rejections.report().getContentAsString(StandardCharsets.UTF_8))
+                .contains("\"clients.xml\",4,INVALID_VALUE,\"salaire \"\"beaucoup\"\"\"");
+    }
+}
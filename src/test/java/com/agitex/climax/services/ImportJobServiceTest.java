@@ -0,0 +1,204 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.dtos.ImportJobDTO;
+import com.agitex.climax.enums.ImportJobStatus;
+import com.agitex.climax.enums.ImportMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportJobServiceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private final FichierService fichierService = Mockito.mock(FichierService.class);
+
+    private ImportJobService importJobService;
+
+    private ImportJobService importJobService(final int maxConcurrentJobs, final int queueCapacity) {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setMaxConcurrentJobs(maxConcurrentJobs);
+        importProperties.setQueueCapacity(queueCapacity);
+        importProperties.setSpoolDirectory(spoolDirectory.toString());
+        importJobService = new ImportJobService(fichierService, Mockito.mock(MultiFileImporter.class),
+                importProperties, new MockEnvironment(), new ImportMetrics(new SimpleMeterRegistry()));
+        return importJobService;
+    }
+
+    private static MockMultipartFile file(final String filename) {
+        return new MockMultipartFile("file", filename, "text/csv",
+                "Zous,Adrien,25,informaticien,35\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobDTO awaitFinished(final UUID id) throws InterruptedException {
+        Instant deadline = Instant.now().plus(WAIT);
+        ImportJobDTO job = importJobService.findOne(id).orElseThrow();
+        while (job.getDateFin() == null && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+            job = importJobService.findOne(id).orElseThrow();
+        }
+        return job;
+    }
+
+    private long spoolFiles() throws Exception {
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("climax-import-")).count();
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (importJobService != null) {
+            importJobService.shutdown();
+        }
+    }
+
+    @Test
+    void runsTheImportInTheBackgroundAndReportsItsProgress() throws Exception {
+        ImportJobService service = importJobService(1, 1);
+        when(fichierService.importFile(eq("clients.csv"), any(Path.class), eq(ImportMode.COPY),
+                any(ImportProgress.class))).thenAnswer(invocation -> {
+                    ImportProgress progress = invocation.getArgument(3);
+                    progress.addParsed(1);
+                    progress.addLoaded(1);
+                    return null;
+                });
+
+        ImportJobDTO submitted = service.submit(file("clients.csv"), ImportMode.COPY);
+        ImportJobDTO finished = awaitFinished(submitted.getId());
+
+        assertThat(submitted.getFichier()).isEqualTo("clients.csv");
+        assertThat(submitted.getOctetsTotal()).isPositive();
+        assertThat(finished.getStatut()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(finished.getLignesChargees()).isEqualTo(1);
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void reportsTheFailureOfTheImport() throws Exception {
+        ImportJobService service = importJobService(1, 1);
+        when(fichierService.importFile(anyString(), any(Path.class), any(), any()))
+                .thenThrow(new IllegalArgumentException("Le fichier JSON doit contenir un tableau de clients"));
+
+        ImportJobDTO job = awaitFinished(service.submit(file("clients.json"), ImportMode.STANDARD).getId());
+
+        assertThat(job.getStatut()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getErreur()).contains("tableau de clients");
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void reportsNoLoadedRowsWhenTheImportIsRolledBack() throws Exception {
+        ImportJobService service = importJobService(1, 1);
+        when(fichierService.importFile(anyString(), any(Path.class), any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(3);
+            progress.addParsed(3);
+            progress.addLoaded(3);
+            throw new IllegalStateException("Connexion perdue");
+        });
+
+        ImportJobDTO job = awaitFinished(service.submit(file("clients.csv"), ImportMode.STANDARD).getId());
+
+        assertThat(job.getStatut()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getLignesLues()).isEqualTo(3);
+        assertThat(job.getLignesChargees()).isZero();
+        assertThat(job.getLignesParSeconde()).isZero();
+    }
+
+    @Test
+    void rejectsUnsupportedFilesBeforeCreatingAJob() throws Exception {
+        ImportJobService service = importJobService(1, 1);
+
+        assertThatThrownBy(() -> service.submit(file("clients.zip"), ImportMode.STANDARD))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("clients.zip");
+        assertThat(spoolFiles()).isZero();
+        verify(fichierService, never()).importFile(anyString(), any(Path.class), any(), any());
+    }
+
+    @Test
+    void cancelsAPendingJobAtOnceAndARunningOneAtItsNextBatch() throws Exception {
+        ImportJobService service = importJobService(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(fichierService.importFile(eq("running.csv"), any(Path.class), any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(3);
+            started.countDown();
+            while (true) {
+                progress.checkNotCancelled();
+                Thread.sleep(5);
+            }
+        });
+        UUID running = service.submit(file("running.csv"), ImportMode.STANDARD).getId();
+        assertThat(started.await(WAIT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+        UUID pending = service.submit(file("pending.csv"), ImportMode.STANDARD).getId();
+
+        assertThat(service.cancel(pending).orElseThrow().getStatut()).isEqualTo(ImportJobStatus.CANCELLED);
+        service.cancel(running);
+
+        assertThat(awaitFinished(running).getStatut()).isEqualTo(ImportJobStatus.CANCELLED);
+        verify(fichierService, timeout(WAIT.toMillis()).times(1)).importFile(anyString(), any(Path.class), any(),
+                any());
+        verify(fichierService, never()).importFile(eq("pending.csv"), any(Path.class), any(), any());
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void refusesJobsBeyondTheQueueCapacity() throws Exception {
+        ImportJobService service = importJobService(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(fichierService.importFile(anyString(), any(Path.class), any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        UUID running = service.submit(file("a.csv"), ImportMode.STANDARD).getId();
+        UUID queued = service.submit(file("b.csv"), ImportMode.STANDARD).getId();
+
+        assertThatThrownBy(() -> service.submit(file("c.csv"), ImportMode.STANDARD))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("503");
+        release.countDown();
+
+        assertThat(awaitFinished(running).getStatut()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(awaitFinished(queued).getStatut()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void ignoresUnknownJobs() {
+        ImportJobService service = importJobService(1, 1);
+        UUID unknown = UUID.randomUUID();
+
+        assertThat(service.findOne(unknown)).isEmpty();
+        assertThat(service.cancel(unknown)).isEmpty();
+        assertThat(service.findRejections(unknown)).isEmpty();
+    }
+}
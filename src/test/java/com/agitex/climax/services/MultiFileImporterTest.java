@@ -0,0 +1,225 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.enums.ImportJobStatus;
+import com.agitex.climax.enums.ImportMode;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MultiFileImporterTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+    private static final String LINE = "Zous,Adrien,25,informaticien,35\n";
+    private static final int MAX_BUFFERED = 100;
+
+    @TempDir
+    private Path directory;
+
+    private final FichierService fichierService = Mockito.mock(FichierService.class);
+
+    /**
+     * Contenu lu et thread de lecture de chaque fichier importé.
+     */
+    private final Map<String, String> contents = new ConcurrentHashMap<>();
+    private final Map<String, String> threads = new ConcurrentHashMap<>();
+
+    private MultiFileImporter importer;
+
+    private MultiFileImporter importer(final int shardParallelism) throws IOException {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setShardParallelism(shardParallelism);
+        importProperties.setMaxBufferedEntrySize(DataSize.ofBytes(MAX_BUFFERED));
+        importer = new MultiFileImporter(fichierService, importProperties, new MockEnvironment());
+        // Les fichiers dont le nom contient « illisible » échouent après avoir été lus et chargés.
+        when(fichierService.importFile(anyString(), any(InputStream.class), any(), any())).thenAnswer(call -> {
+            String name = call.getArgument(0);
+            String content = new String(call.<InputStream>getArgument(1).readAllBytes(), StandardCharsets.UTF_8);
+            contents.put(name, content);
+            threads.put(name, Thread.currentThread().getName());
+            call.<ImportProgress>getArgument(3).addLoaded(1);
+            if (name.contains("illisible")) {
+                throw new IOException("Fichier illisible");
+            }
+            return null;
+        });
+        return importer;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (importer != null) {
+            importer.shutdown();
+        }
+    }
+
+    private Path zip(final String name, final Map<String, String> entries) throws IOException {
+        Path file = directory.resolve(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private Path tarGz(final String name, final Map<String, String> entries) throws IOException {
+        Path file = directory.resolve(name);
+        try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(file));
+             TarArchiveOutputStream out = new TarArchiveOutputStream(gzip)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                byte[] content = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                TarArchiveEntry tarEntry = new TarArchiveEntry(entry.getKey());
+                tarEntry.setSize(content.length);
+                out.putArchiveEntry(tarEntry);
+                out.write(content);
+                out.closeArchiveEntry();
+            }
+        }
+        return file;
+    }
+
+    private static ImportJob job(final Path... archives) {
+        List<ImportJob.Upload> uploads = Arrays.stream(archives)
+                .map(archive -> new ImportJob.Upload(archive.getFileName().toString(), archive))
+                .toList();
+        return new ImportJob(ImportMode.STANDARD, uploads, 0, new ImportRejections(null, 0, 0));
+    }
+
+    private static Map<String, ImportJobStatus> statuses(final ImportJob job) {
+        Map<String, ImportJobStatus> statuses = new LinkedHashMap<>();
+        job.getShards().forEach(shard -> statuses.put(shard.getFichier(), shard.getStatus()));
+        return statuses;
+    }
+
+    @Test
+    void zipImportsDataEntriesOnlyAndIsolatesFailures() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("clients/a.csv", LINE);
+        entries.put("clients/illisible.csv", LINE);
+        entries.put("README.md", "# Clients\n");
+        entries.put("logo.png", "\u0089PNG");
+        entries.put("__MACOSX/clients/._a.csv", "meta");
+        entries.put("clients/b.json", "[]");
+        ImportJob job = job(zip("clients.zip", entries));
+
+        long failed = importer(2).importAll(job);
+
+        assertThat(failed).isEqualTo(1);
+        assertThat(statuses(job)).containsOnly(
+                Map.entry("clients.zip!/clients/a.csv", ImportJobStatus.COMPLETED),
+                Map.entry("clients.zip!/clients/illisible.csv", ImportJobStatus.FAILED),
+                Map.entry("clients.zip!/clients/b.json", ImportJobStatus.COMPLETED));
+        assertThat(job.getShards()).filteredOn(shard -> shard.getStatus() == ImportJobStatus.FAILED)
+                .extracting(ImportShard::getError).containsExactly("Fichier illisible");
+        // Transaction du fichier en échec annulée : seules les lignes des deux autres restent chargées.
+        assertThat(job.getShards()).filteredOn(shard -> shard.getStatus() == ImportJobStatus.FAILED)
+                .allMatch(shard -> shard.toDto().getLignesChargees() == 0);
+        assertThat(job.toDto().getLignesChargees()).isEqualTo(2);
+        assertThat(contents).containsEntry("clients.zip!/clients/a.csv", LINE)
+                .containsEntry("clients.zip!/clients/b.json", "[]");
+    }
+
+    @Test
+    void tarBuffersSmallEntriesAndStreamsLargeOnes() throws IOException {
+        String large = LINE.repeat(MAX_BUFFERED);
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("petit.csv", LINE);
+        entries.put("grand.csv", large);
+        entries.put("illisible.txt", LINE);
+        entries.put("grand-illisible.csv", large);
+        entries.put("notes.pdf", "%PDF");
+        entries.put("dernier.xml", "<clients/>");
+        ImportJob job = job(tarGz("clients.tar.gz", entries));
+
+        long failed = importer(2).importAll(job);
+
+        assertThat(failed).isEqualTo(2);
+        assertThat(statuses(job)).containsExactly(
+                Map.entry("clients.tar.gz!/petit.csv", ImportJobStatus.COMPLETED),
+                Map.entry("clients.tar.gz!/grand.csv", ImportJobStatus.COMPLETED),
+                Map.entry("clients.tar.gz!/illisible.txt", ImportJobStatus.FAILED),
+                Map.entry("clients.tar.gz!/grand-illisible.csv", ImportJobStatus.FAILED),
+                Map.entry("clients.tar.gz!/dernier.xml", ImportJobStatus.COMPLETED));
+        assertThat(contents).containsEntry("clients.tar.gz!/petit.csv", LINE)
+                .containsEntry("clients.tar.gz!/grand.csv", large)
+                .containsEntry("clients.tar.gz!/dernier.xml", "<clients/>");
+        String caller = Thread.currentThread().getName();
+        assertThat(threads.get("clients.tar.gz!/grand.csv")).isEqualTo(caller);
+        assertThat(threads.get("clients.tar.gz!/petit.csv")).startsWith("import-shard-");
+        assertThat(threads.get("clients.tar.gz!/dernier.xml")).startsWith("import-shard-");
+    }
+
+    @Test
+    void failedShardsReleaseTheirPermits() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            entries.put("illisible-" + i + ".csv", LINE);
+            entries.put("grand-illisible-" + i + ".csv", LINE.repeat(MAX_BUFFERED));
+        }
+        entries.put("a.csv", LINE);
+        ImportJob job = job(zip("clients.zip", entries), tarGz("clients.tgz", entries));
+        MultiFileImporter singleShard = importer(1);
+
+        long failed = assertTimeoutPreemptively(WAIT, () -> singleShard.importAll(job));
+
+        assertThat(failed).isEqualTo(16);
+        assertThat(job.getShards()).hasSize(18);
+        assertThat(statuses(job)).containsEntry("clients.zip!/a.csv", ImportJobStatus.COMPLETED)
+                .containsEntry("clients.tgz!/a.csv", ImportJobStatus.COMPLETED);
+    }
+
+    @Test
+    void cancellationStopsReadingTheArchive() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            entries.put("fichier-" + i + ".csv", LINE);
+        }
+        ImportJob job = job(zip("clients.zip", entries));
+        MultiFileImporter singleShard = importer(1);
+        when(fichierService.importFile(anyString(), any(InputStream.class), any(), any())).thenAnswer(call -> {
+            job.getProgress().requestCancel();
+            return null;
+        });
+
+        assertThatThrownBy(() -> singleShard.importAll(job)).isInstanceOf(CancellationException.class);
+
+        verify(fichierService, times(1)).importFile(anyString(), any(InputStream.class), any(), any());
+        assertThat(job.getShards().get(0).getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getShards().subList(1, job.getShards().size()))
+                .allMatch(shard -> shard.getStatus() == ImportJobStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,129 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.config.ImportProperties;
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientField;
+import com.agitex.climax.utils.ClientCsvParser;
+import com.agitex.climax.utils.ClientCsvWriter;
+import com.agitex.climax.utils.ClientValidator;
+import com.agitex.climax.utils.ClientViolation;
+import com.agitex.climax.utils.CsvTokenizer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelCsvParserTest {
+
+    private static final ClientValidator VALIDATOR = new ClientValidator(18, 99, BigDecimal.ZERO,
+            List.of(ClientField.NOM, ClientField.PRENOM));
+
+    private static final int LONG_LINE = 300_000;
+
+    @TempDir
+    static Path directory;
+
+    private static Path file;
+
+    private static Result expected;
+
+    @BeforeAll
+    static void writeFile() throws IOException {
+        file = directory.resolve("clients.csv");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < 300; i++) {
+                switch (i % 6) {
+                    case 0 -> {
+                        ClientCsvWriter writer = new ClientCsvWriter(out);
+                        writer.write("Dupont " + i, "Jean\nMarie", "40", "géomètre\r\n\"expert\"", "1234.50");
+                        writer.flush();
+                    }
+                    case 1 -> out.write(("Zous,Adrien," + (i % 80 + 18) + ",informaticien,35\r\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    case 2 -> out.write((" Diallo , \"Awa, \"\"A\"\"\" ,12,\"\n\n\",10\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    case 3 -> out.write("Traore,,30,,\n".getBytes(StandardCharsets.UTF_8));
+                    case 4 -> out.write("Kone,Ali,trente,comptable,5\n".getBytes(StandardCharsets.UTF_8));
+                    default -> out.write(("Ba,\"Oumar\n" + i + "\",25,\"\",1\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            // Ligne plus longue que la marge de projection, puis guillemet jamais fermé.
+            out.write(("Niang,Moussa,30," + "x".repeat(LONG_LINE) + ",1\n").getBytes(StandardCharsets.UTF_8));
+            out.write(("Fall,\"Binta,30,comptable,1\n" + "yyyyyyy\n".repeat(CsvTokenizer.MAX_QUOTED_LINE_LENGTH / 4))
+                    .getBytes(StandardCharsets.UTF_8));
+            out.write("Sow,Fatou,33,\"sans fin de ligne\",12".getBytes(StandardCharsets.UTF_8));
+        }
+        expected = readSequentially();
+    }
+
+    private static Result readSequentially() throws IOException {
+        ClientCsvParser parser = new ClientCsvParser();
+        Result result = new Result();
+        try (InputStream in = Files.newInputStream(file)) {
+            CsvTokenizer.readLines(in, (buffer, start, end) -> {
+                result.lines++;
+                Client client = parser.parse(buffer, start, end);
+                ClientViolation violation = client != null ? VALIDATOR.check(client) : parser.getViolation();
+                if (violation == null) {
+                    result.clients.add(describe(client));
+                } else {
+                    result.rejections.add(result.lines + ":" + CsvTokenizer.decode(buffer, start, end));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static String describe(final Client client) {
+        return String.join("|", client.getNom(), client.getPrenom(), String.valueOf(client.getAge()),
+                String.valueOf(client.getProfession()), String.valueOf(client.getSalaire()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "7, 2", "64, 3", "1000, 4", "4096, 2", "1048576, 4"})
+    void matchesTheSequentialParserWhateverTheRangeSize(final long rangeSize, final int threads)
+            throws IOException {
+        ImportProperties properties = new ImportProperties();
+        properties.setParallelRangeSize(DataSize.ofBytes(rangeSize));
+        properties.setParserThreads(threads);
+        ParallelCsvParser parallelParser = new ParallelCsvParser(properties);
+        Result result = new Result();
+        long[] bytes = new long[1];
+        try {
+            parallelParser.parse(file, VALIDATOR, range -> {
+                range.clients().forEach(client -> result.clients.add(describe(client)));
+                range.rejections().forEach(rejection ->
+                        result.rejections.add(result.lines + rejection.line() + ":" + rejection.content()));
+                result.lines += range.lines();
+                bytes[0] += range.bytes();
+            });
+        } finally {
+            parallelParser.shutdown();
+        }
+
+        assertThat(expected.clients).hasSize(152);
+        assertThat(result.lines).isEqualTo(expected.lines);
+        assertThat(result.clients).containsExactlyElementsOf(expected.clients);
+        assertThat(result.rejections).containsExactlyElementsOf(expected.rejections);
+        assertThat(bytes[0]).isEqualTo(Files.size(file));
+    }
+
+    private static final class Result {
+        private final List<String> clients = new ArrayList<>();
+        private final List<String> rejections = new ArrayList<>();
+        private long lines;
+    }
+}
@@ -0,0 +1,94 @@
+package com.agitex.climax.services;
+
+import com.agitex.climax.dtos.ProfessionSalaireDTO;
+import com.agitex.climax.dtos.ProfessionSalaryTotals;
+import com.agitex.climax.repositories.ClientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SalaryAggregateTest {
+
+    private static final String PROFESSION = "informaticien";
+
+    private final ClientRepository clientRepository = Mockito.mock(ClientRepository.class);
+
+    private final SalaryAggregate aggregate = new SalaryAggregate(clientRepository,
+            Mockito.mock(PlatformTransactionManager.class));
+
+    private static List<ProfessionSalaryTotals> totals(final long clients, final String sum) {
+        return List.of(new ProfessionSalaryTotals(PROFESSION, clients, clients, new BigDecimal(sum)));
+    }
+
+    private static SalaryAggregate.Delta hire(final String salaire) {
+        SalaryAggregate.Delta delta = new SalaryAggregate.Delta();
+        delta.add(PROFESSION, new BigDecimal(salaire));
+        return delta;
+    }
+
+    private BigDecimal average() {
+        return aggregate.averages().stream().map(ProfessionSalaireDTO::getSalaireMoyen).findFirst().orElseThrow();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void replaysChangesAppliedWhileTheTotalsAreRead() {
+        when(clientRepository.findSalaryTotalsByProfession())
+                .thenReturn(totals(1, "100"))
+                .thenAnswer(invocation -> {
+                    // Validée après l'instantané : absente de la lecture
+                    aggregate.applyAfterCommit(hire("50"));
+                    return totals(1, "100");
+                });
+        aggregate.rebuild();
+
+        aggregate.rebuild();
+
+        assertThat(average()).isEqualByComparingTo("75");
+    }
+
+    @Test
+    void takesTheSnapshotOnceCommittingWritesHaveAppliedTheirChanges() throws Exception {
+        when(clientRepository.findSalaryTotalsByProfession())
+                .thenReturn(totals(1, "100"))
+                // Validée avant l'instantané : comptée par la lecture
+                .thenReturn(totals(2, "150"));
+        aggregate.rebuild();
+        Mockito.clearInvocations(clientRepository);
+        TransactionSynchronizationManager.initSynchronization();
+        aggregate.applyAfterCommit(hire("50"));
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(aggregate::rebuild);
+        verify(clientRepository, after(200).never()).takeSnapshot();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_COMMITTED);
+        verify(clientRepository, timeout(2000)).takeSnapshot();
+        rebuild.get(2, TimeUnit.SECONDS);
+
+        assertThat(average()).isEqualByComparingTo("75");
+    }
+}
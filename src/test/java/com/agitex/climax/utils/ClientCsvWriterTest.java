@@ -0,0 +1,60 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.entities.Client;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientCsvWriterTest {
+
+    private String write(final String nom, final String prenom, final String age, final String profession,
+                         final String salaire) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ClientCsvWriter writer = new ClientCsvWriter(out)) {
+            writer.write(nom, prenom, age, profession, salaire);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Client read(final String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return new ClientCsvParser().parse(ByteBuffer.wrap(bytes), 0, bytes.length - 1);
+    }
+
+    @Test
+    void writesPlainFieldsUnquoted() throws IOException {
+        assertThat(write("Zous", "Adrien", "25", "informaticien", "35.00"))
+                .isEqualTo("Zous,Adrien,25,informaticien,35.00\n");
+        assertThat(write("Zous", null, null, "", null)).isEqualTo("Zous,,,,\n");
+    }
+
+    @Test
+    void quotedFieldsAreReadBackByTheImport() throws IOException {
+        String line = write("Dupont, fils", "Jean \"JJ\"", "40", " géomètre ", "1234.50");
+        assertThat(line).isEqualTo("\"Dupont, fils\",\"Jean \"\"JJ\"\"\",40,\" géomètre \",1234.50\n");
+
+        Client client = read(line);
+        assertThat(client.getNom()).isEqualTo("Dupont, fils");
+        assertThat(client.getPrenom()).isEqualTo("Jean \"JJ\"");
+        assertThat(client.getAge()).isEqualTo(40);
+        assertThat(client.getProfession()).isEqualTo(" géomètre ");
+        assertThat(client.getSalaire()).isEqualByComparingTo("1234.50");
+    }
+
+    @Test
+    void lineBreaksInFieldsAreReadBackByTheImport() throws IOException {
+        String line = write("Dupont", "Jean\r\nMarie", "40", "géomètre\nexpert", "1234.50");
+        assertThat(line).isEqualTo("Dupont,\"Jean\r\nMarie\",40,\"géomètre\nexpert\",1234.50\n");
+
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        assertThat(CsvTokenizer.nextLine(ByteBuffer.wrap(bytes), 0, bytes.length)).isEqualTo(bytes.length);
+        Client client = read(line);
+        assertThat(client.getPrenom()).isEqualTo("Jean\r\nMarie");
+        assertThat(client.getProfession()).isEqualTo("géomètre\nexpert");
+    }
+}
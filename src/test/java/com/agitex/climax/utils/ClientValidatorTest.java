@@ -0,0 +1,64 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientField;
+import com.agitex.climax.enums.RejectionReason;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientValidatorTest {
+
+    private final ClientValidator validator = new ClientValidator(18, 99, BigDecimal.ZERO,
+            List.of(ClientField.NOM, ClientField.PRENOM));
+
+    private static Client client(final String nom, final String prenom, final Integer age, final String salaire) {
+        Client client = new Client();
+        client.setNom(nom);
+        client.setPrenom(prenom);
+        client.setAge(age);
+        client.setSalaire(salaire != null ? new BigDecimal(salaire) : null);
+        return client;
+    }
+
+    private static ClientViolation parse(final String line) {
+        ClientCsvParser parser = new ClientCsvParser();
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        assertThat(parser.parse(ByteBuffer.wrap(bytes), 0, bytes.length)).isNull();
+        return parser.getViolation();
+    }
+
+    @Test
+    void acceptsBoundsAndAbsentOptionalFields() {
+        assertThat(validator.check(client("Zous", "Adrien", 18, "0"))).isNull();
+        assertThat(validator.check(client("Zous", "Adrien", 99, null))).isNull();
+        assertThat(validator.check(client("Zous", "Adrien", null, "10.5"))).isNull();
+    }
+
+    @Test
+    void rejectsEachRuleWithItsReason() {
+        assertThat(validator.check(client(" ", "Adrien", 30, "1")).reason()).isEqualTo(RejectionReason.MISSING_FIELD);
+        assertThat(validator.check(client("Zous", null, 30, "1")).detail()).isEqualTo("prenom");
+        assertThat(validator.check(client("Zous", "Adrien", 17, "1")).reason())
+                .isEqualTo(RejectionReason.AGE_OUT_OF_RANGE);
+        assertThat(validator.check(client("Zous", "Adrien", 100, "1")).reason())
+                .isEqualTo(RejectionReason.AGE_OUT_OF_RANGE);
+        assertThat(validator.check(client("Zous", "Adrien", 30, "-0.01")).reason())
+                .isEqualTo(RejectionReason.SALARY_OUT_OF_RANGE);
+    }
+
+    @Test
+    void parserReportsIncompleteLinesAndInvalidNumbers() {
+        assertThat(parse("Zous,Adrien,25")).isEqualTo(
+                new ClientViolation(RejectionReason.INCOMPLETE_LINE, "3 champ(s) sur 5"));
+        assertThat(parse("Zous,Adrien,vingt,informaticien,35")).isEqualTo(
+                new ClientViolation(RejectionReason.INVALID_NUMBER, "age \"vingt\""));
+        assertThat(parse("Zous,Adrien,25,informaticien,3x")).isEqualTo(
+                new ClientViolation(RejectionReason.INVALID_NUMBER, "salaire \"3x\""));
+    }
+}
@@ -0,0 +1,106 @@
+package com.agitex.climax.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvTokenizerTest {
+
+    private final CsvTokenizer tokenizer = new CsvTokenizer();
+
+    private int tokenize(final String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return tokenizer.tokenize(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    private static List<String> readLines(final String content) throws Exception {
+        List<String> lines = new ArrayList<>();
+        CsvTokenizer.readLines(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                (buffer, start, end) -> lines.add(CsvTokenizer.decode(buffer, start, end)));
+        return lines;
+    }
+
+    @Test
+    void splitsAndTrimsFieldsIncludingNonBreakingSpaces() {
+        assertThat(tokenize("Zous, Adrien, 25, informaticien, 35 ")).isEqualTo(5);
+        assertThat(tokenizer.getString(0)).isEqualTo("Zous");
+        assertThat(tokenizer.getString(1)).isEqualTo("Adrien");
+        assertThat(tokenizer.getInt(2)).isEqualTo(25);
+        assertThat(tokenizer.getString(3)).isEqualTo("informaticien");
+        assertThat(tokenizer.getDecimal(4)).isEqualByComparingTo("35");
+    }
+
+    @Test
+    void handlesQuotedFieldsWithSeparatorsAndEscapedQuotes() {
+        assertThat(tokenize("\"Dupont, fils\",\"Jean \"\"JJ\"\"\",40,\"\",1")).isEqualTo(5);
+        assertThat(tokenizer.getString(0)).isEqualTo("Dupont, fils");
+        assertThat(tokenizer.getString(1)).isEqualTo("Jean \"JJ\"");
+        assertThat(tokenizer.isEmpty(3)).isTrue();
+    }
+
+    @Test
+    void parsesDecimalsExactly() {
+        tokenize("0.1,-12.50,123456789012345678901.5,1e3,");
+        assertThat(tokenizer.getDecimal(0)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(tokenizer.getDecimal(1)).isEqualTo(new BigDecimal("-12.50"));
+        assertThat(tokenizer.getDecimal(2)).isEqualTo(new BigDecimal("123456789012345678901.5"));
+        assertThat(tokenizer.getDecimal(3)).isEqualByComparingTo("1000");
+        assertThat(tokenizer.getDecimal(4)).isNull();
+    }
+
+    @Test
+    void rejectsInvalidNumbers() {
+        tokenize("vingt,2147483648,-,12.3.4");
+        assertThatThrownBy(() -> tokenizer.getInt(0)).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> tokenizer.getInt(1)).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> tokenizer.getInt(2)).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> tokenizer.getDecimal(3)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void readsLinesAcrossBufferBoundaries() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            content.append("ligne").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        content.append("derniere");
+        List<String> lines = readLines(content.toString());
+        assertThat(lines).hasSize(10_001);
+        assertThat(lines.get(9_999)).isEqualTo("ligne9999");
+        assertThat(lines.get(10_000)).isEqualTo("derniere");
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotedFields() throws Exception {
+        String multiline = "\"Dupont\",\"Jean\r\nMarie\",40,\"ligne 1\nligne \"\"2\"\"\",1\n";
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            content.append(multiline).append("ligne").append(i).append('\n');
+        }
+        List<String> lines = readLines(content.toString());
+        assertThat(lines).hasSize(10_000);
+        assertThat(lines.get(9_998)).isEqualTo(multiline.substring(0, multiline.length() - 1));
+
+        assertThat(tokenize(lines.get(0))).isEqualTo(5);
+        assertThat(tokenizer.getString(1)).isEqualTo("Jean\r\nMarie");
+        assertThat(tokenizer.getString(3)).isEqualTo("ligne 1\nligne \"2\"");
+    }
+
+    @Test
+    void unclosedQuoteEndsAtTheFirstLineBreakPastTheLimit() throws Exception {
+        String unclosed = "\"Dupont," + "x".repeat(CsvTokenizer.MAX_QUOTED_LINE_LENGTH) + "\nsuite\n";
+        List<String> lines = readLines("\"a\nb\",1\n" + unclosed + "Zous,Adrien\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("\"a\nb\",1");
+        assertThat(lines.get(2)).isEqualTo("suite");
+        assertThat(lines.get(3)).isEqualTo("Zous,Adrien");
+    }
+}
@@ -0,0 +1,40 @@
+package com.agitex.climax.utils;
+
+import com.agitex.climax.entities.Client;
+import com.agitex.climax.enums.ClientField;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NaturalKeyTest {
+
+    private static Client client(final String nom, final String prenom, final String profession,
+                                 final String salaire) {
+        Client client = new Client();
+        client.setNom(nom);
+        client.setPrenom(prenom);
+        client.setProfession(profession);
+        client.setSalaire(salaire != null ? new BigDecimal(salaire) : null);
+        return client;
+    }
+
+    @Test
+    void ignoresCaseSurroundingBlanksAndFieldsOutsideTheKey() {
+        NaturalKey key = new NaturalKey(List.of(ClientField.NOM, ClientField.PRENOM, ClientField.PROFESSION));
+        assertThat(key.of(client(" Zous ", "ADRIEN", "informaticien", "10")))
+                .isEqualTo(key.of(client("zous", "Adrien", "Informaticien", "20")));
+        assertThat(key.of(client("Zous", "Adrien", "informaticien", null)))
+                .isNotEqualTo(key.of(client("Zous", "Adrienne", "informaticien", null)));
+    }
+
+    @Test
+    void distinguishesNullFromEmptyAndShiftedValues() {
+        NaturalKey key = new NaturalKey(List.of(ClientField.NOM, ClientField.PRENOM, ClientField.SALAIRE));
+        assertThat(key.of(client(null, "a", null, "1.50"))).isNotEqualTo(key.of(client("", "a", null, "1.50")));
+        assertThat(key.of(client("ab", "c", null, null))).isNotEqualTo(key.of(client("a", "bc", null, null)));
+        assertThat(key.of(client("a", "b", null, "1.50"))).isEqualTo(key.of(client("a", "b", null, "1.5")));
+    }
+}
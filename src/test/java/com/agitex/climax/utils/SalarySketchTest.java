@@ -0,0 +1,70 @@
+package com.agitex.climax.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SalarySketchTest {
+
+    @Test
+    void computesExactMomentsAndApproximatePercentiles() {
+        SalarySketch sketch = new SalarySketch();
+        for (int salary = 1; salary <= 1000; salary++) {
+            sketch.add(salary * 100.0);
+        }
+        assertThat(sketch.count()).isEqualTo(1000);
+        assertThat(sketch.min()).isEqualTo(100.0);
+        assertThat(sketch.max()).isEqualTo(100_000.0);
+        assertThat(sketch.mean()).isCloseTo(50_050.0, within(1e-6));
+        assertThat(sketch.standardDeviation()).isCloseTo(28_881.9436, within(1e-3));
+        assertThat(sketch.percentile(50)).isCloseTo(50_000.0, within(50.0));
+        assertThat(sketch.percentile(99)).isCloseTo(99_000.0, within(99.0));
+    }
+
+    @Test
+    void mergeMatchesASingleSketchOfTheUnion() {
+        Random random = new Random(42);
+        SalarySketch all = new SalarySketch();
+        SalarySketch left = new SalarySketch();
+        SalarySketch right = new SalarySketch();
+        for (int i = 0; i < 10_000; i++) {
+            double salary = Math.round(random.nextGaussian() * 20_000 + 300_000) / 100.0;
+            all.add(salary);
+            (i % 3 == 0 ? left : right).add(salary);
+        }
+        SalarySketch merged = new SalarySketch().merge(left).merge(right);
+        assertThat(merged.count()).isEqualTo(all.count());
+        assertThat(merged.min()).isEqualTo(all.min());
+        assertThat(merged.max()).isEqualTo(all.max());
+        assertThat(merged.mean()).isCloseTo(all.mean(), within(1e-6));
+        assertThat(merged.standardDeviation()).isCloseTo(all.standardDeviation(), within(1e-6));
+        assertThat(merged.percentile(90)).isEqualTo(all.percentile(90));
+        assertThat(left.count() + right.count()).isEqualTo(all.count());
+    }
+
+    @Test
+    void decodesWhatItEncodes() {
+        SalarySketch sketch = new SalarySketch();
+        sketch.add(1500.50);
+        sketch.add(2400.00);
+        sketch.add(980.25);
+        SalarySketch decoded = SalarySketch.decode(sketch.encode());
+        assertThat(decoded.count()).isEqualTo(3);
+        assertThat(decoded.min()).isEqualTo(980.25);
+        assertThat(decoded.max()).isEqualTo(2400.00);
+        assertThat(decoded.standardDeviation()).isEqualTo(sketch.standardDeviation());
+        assertThat(decoded.percentile(50)).isEqualTo(sketch.percentile(50));
+        assertThat(new SalarySketch().merge(decoded).merge(sketch).count()).isEqualTo(6);
+    }
+
+    @Test
+    void emptySketchHasNoValues() {
+        SalarySketch empty = SalarySketch.decode(new SalarySketch().encode());
+        assertThat(empty.count()).isZero();
+        assertThat(empty.mean()).isNaN();
+        assertThat(empty.percentile(50)).isNaN();
+    }
+}